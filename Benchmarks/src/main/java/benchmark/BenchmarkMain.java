@@ -0,0 +1,41 @@
+package benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Entry point of the benchmark jar. Accepts the usual JMH command line 
+ * options, and always attaches the GC profiler so every result reports the 
+ * allocation rate alongside the throughput. Unless other JVM arguments are 
+ * appended on the command line, the forked JVMs are given the 
+ * jdk.incubator.vector module so the SIMD kernels are used.
+ * 
+ * @author Simon Dicken
+ * @version 2015-02-22
+ */
+public class BenchmarkMain {
+
+	public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+		
+		CommandLineOptions cmdOptions = new CommandLineOptions(args);
+		ChainedOptionsBuilder builder = new OptionsBuilder()
+				.parent(cmdOptions)
+				.addProfiler(GCProfiler.class);
+		
+		if (!cmdOptions.getJvmArgsAppend().hasValue()) {
+			builder.jvmArgsAppend("--add-modules=jdk.incubator.vector");
+		}
+		
+		if (cmdOptions.getIncludes().isEmpty()) {
+			builder.include("benchmark\\..*");
+		}
+		
+		new Runner(builder.build()).run();
+	}
+	
+}
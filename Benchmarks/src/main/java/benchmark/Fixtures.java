@@ -0,0 +1,78 @@
+package benchmark;
+
+import geneticAlgorithm.core.Individual;
+import geneticAlgorithm.core.Population;
+import geneticAlgorithm.core.PopulationCircleArrays;
+import geneticAlgorithm.core.PopulationRankTree;
+import geneticAlgorithm.core.PopulationTreeSet;
+import geometry.Circle;
+import geometry.CircleLimits;
+import geometry.PointXY;
+import geometry.ShapeChecker;
+import geometry.WorldLimits;
+import utils.RandomStream;
+
+/**
+ * Shared set-up code for the benchmarks: the same world as GAMainTest and
+ * helpers to create random, valid circles and populations.
+ * 
+ * @author Simon Dicken
+ * @version 2015-02-22
+ */
+final class Fixtures {
+
+	static final long SEED = 20150222L;
+	
+	private Fixtures() {
+	}
+	
+	static WorldLimits worldLimits() {
+		return new WorldLimits(0, 0, 320, 240);
+	}
+	
+	static CircleLimits circleLimits() {
+		return new CircleLimits(5, 30);
+	}
+	
+	static Circle randomCircle(RandomStream r, WorldLimits wLimits, CircleLimits cLimits) {
+		ShapeChecker checker = new ShapeChecker();
+		Circle c;
+		do {
+			double x = r.nextDouble(wLimits.getMinX(), wLimits.getMaxX());
+			double y = r.nextDouble(wLimits.getMinY(), wLimits.getMaxY());
+			double radius = r.nextDouble(cLimits.getMinR(), cLimits.getMaxR());
+			c = new Circle(new PointXY(x, y), radius);
+		} while (!checker.checkCircle(c, cLimits, wLimits));
+		return c;
+	}
+	
+	static Individual<Circle> randomIndividual(RandomStream r, WorldLimits wLimits, 
+			CircleLimits cLimits) {
+		Individual<Circle> ind = new Individual<Circle>(randomCircle(r, wLimits, cLimits));
+		ind.setFitness(r.nextDouble());
+		return ind;
+	}
+	
+	static Population<Individual<Circle>> newPopulation(String impl) {
+		if ("TreeSet".equals(impl)) {
+			return new PopulationTreeSet<Individual<Circle>>();
+		} else if ("RankTree".equals(impl)) {
+			return new PopulationRankTree<Individual<Circle>>();
+		} else if ("CircleArrays".equals(impl)) {
+			return new PopulationCircleArrays();
+		}
+		throw new IllegalArgumentException("Unknown population: " + impl);
+	}
+	
+	static Population<Individual<Circle>> randomPopulation(String impl, int size, 
+			RandomStream r) {
+		WorldLimits wLimits = worldLimits();
+		CircleLimits cLimits = circleLimits();
+		Population<Individual<Circle>> pop = newPopulation(impl);
+		for (int i=0; i<size; ++i) {
+			pop.insert(randomIndividual(r, wLimits, cLimits));
+		}
+		return pop;
+	}
+	
+}
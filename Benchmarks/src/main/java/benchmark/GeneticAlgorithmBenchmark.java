@@ -0,0 +1,105 @@
+package benchmark;
+
+import geneticAlgorithm.core.CircleCopier;
+import geneticAlgorithm.core.EvoParams;
+import geneticAlgorithm.core.GenerationalParams;
+import geneticAlgorithm.core.GeneticAlgorithm;
+import geneticAlgorithm.core.HeatGeneticAlgorithm;
+import geneticAlgorithm.core.Individual;
+import geneticAlgorithm.core.Population;
+import geneticAlgorithm.crossover.CircleBreederBLXAlpha;
+import geneticAlgorithm.function.HeatFunction;
+import geneticAlgorithm.mutation.CircleMutatorNonUniform;
+import geneticAlgorithm.selection.SelectorTournament;
+import geometry.Circle;
+import geometry.CircleLimits;
+import geometry.WorldLimits;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import utils.RandomProvider;
+import utils.RandomStream;
+
+/**
+ * One full generation (GeneticAlgorithm.nextIteration) at several 
+ * population sizes, with the same operators and parameters as GAMainTest.
+ * 
+ * The 'heat' engine is HeatGeneticAlgorithm (with no StatsRecorder, so it
+ * prints nothing). The 'plain' engine is the base GeneticAlgorithm.
+ * With recycle set, offspring are bred into recycled Individuals (see
+ * GeneticAlgorithm.setOffspringCopier(...)).
+ * 
+ * @author Simon Dicken
+ * @version 2015-02-22
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GeneticAlgorithmBenchmark {
+
+	@Param({"10", "1000", "10000"})
+	public int popSize;
+	
+	@Param({"plain", "heat"})
+	public String engine;
+	
+	@Param({"false", "true"})
+	public boolean recycle;
+	
+	private GeneticAlgorithm<Circle> ga;
+	
+	@Setup(Level.Trial)
+	public void setUp() {
+		RandomProvider rand = new RandomProvider(Fixtures.SEED);
+		RandomProvider.setDefault(rand);
+		
+		WorldLimits wLimits = Fixtures.worldLimits();
+		CircleLimits cLimits = Fixtures.circleLimits();
+		
+		// Run 'forever'; the benchmark decides how many generations to run.
+		GenerationalParams genParams = new GenerationalParams(Integer.MAX_VALUE, 
+				popSize, Math.max(2, popSize / 5 * 2), 1.0, 0.5);
+		EvoParams<Circle> evoParams = new EvoParams<Circle>(
+				new SelectorTournament<Circle>(2, rand),
+				new CircleMutatorNonUniform(wLimits, cLimits, rand, 0.5, 10000),
+				new CircleBreederBLXAlpha(wLimits, cLimits, rand, 0.5));
+		
+		RandomStream r = rand.newStream();
+		Population<Individual<Circle>> pop = Fixtures.randomPopulation("RankTree", popSize, r);
+		HeatFunction<Circle> func = new HeatFunction<Circle>(0, 38, pop);
+		
+		if ("heat".equals(engine)) {
+			ga = new HeatGeneticAlgorithm<Circle>(pop, evoParams, genParams, func, -100.0, 30.0);
+		} else {
+			ga = new GeneticAlgorithm<Circle>(pop, evoParams, genParams, func) {
+			};
+		}
+		
+		if (recycle) {
+			ga.setOffspringCopier(new CircleCopier());
+		}
+	}
+	
+	@Benchmark
+	public GeneticAlgorithm<Circle> nextIteration() {
+		ga.nextIteration();
+		return ga;
+	}
+	
+}
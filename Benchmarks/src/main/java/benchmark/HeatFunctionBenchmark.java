@@ -0,0 +1,89 @@
+package benchmark;
+
+import geneticAlgorithm.core.Individual;
+import geneticAlgorithm.core.Population;
+import geneticAlgorithm.function.HeatFunction;
+import geometry.Circle;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import utils.RandomStream;
+
+/**
+ * HeatFunction.evaluate over a fixed set of Individuals; the score is the 
+ * number of evaluations per unit time. evaluate calls the function once per 
+ * Individual and evaluateBatch once for the whole list. A cutoff of 0 ignores the heat from
+ * neighbouring Individuals; otherwise neighbours within the cutoff are found
+ * with the function's spatial index. rebuild measures updating the function
+ * (and so its index) for a new generation.
+ * 
+ * @author Simon Dicken
+ * @version 2015-02-22
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HeatFunctionBenchmark {
+
+	static final int BATCH = 1024;
+	
+	@Param({"0", "30", "60"})
+	public double cutoff;
+	
+	private HeatFunction<Circle> func;
+	private Population<Individual<Circle>> pop;
+	private List<Individual<Circle>> inds;
+	
+	@Setup
+	public void setUp() {
+		RandomStream r = new RandomStream(Fixtures.SEED);
+		pop = Fixtures.randomPopulation("RankTree", BATCH, r);
+		inds = new ArrayList<Individual<Circle>>();
+		for (Individual<Circle> ind : pop) {
+			inds.add(ind);
+		}
+		if (cutoff > 0) {
+			func = new HeatFunction<Circle>(0, 38, pop, Fixtures.worldLimits(), cutoff, 0.5);
+		} else {
+			func = new HeatFunction<Circle>(0, 38, pop);
+		}
+	}
+	
+	@Benchmark
+	@OperationsPerInvocation(BATCH)
+	public void evaluate() {
+		for (int i=0; i<BATCH; ++i) {
+			func.evaluate(inds.get(i));
+		}
+	}
+	
+	@Benchmark
+	@OperationsPerInvocation(BATCH)
+	public void evaluateBatch() {
+		func.evaluate(inds, 0, BATCH);
+	}
+	
+	@Benchmark
+	public void rebuild() {
+		func.update(0, pop);
+	}
+	
+}
@@ -0,0 +1,125 @@
+package benchmark;
+
+import geneticAlgorithm.core.PopulationCircleArrays;
+import geneticAlgorithm.function.HeatKernel;
+import geneticAlgorithm.function.HeatKernelScalar;
+import geometry.BoundsKernel;
+import geometry.BoundsKernelScalar;
+import geometry.CircleLimits;
+import geometry.WorldLimits;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import utils.RandomStream;
+import utils.VectorSupport;
+
+/**
+ * The primitive-array kernels, scalar against SIMD, run straight over the 
+ * columns of a PopulationCircleArrays; the score is the number of circles 
+ * processed per unit time. The vector kernels need the jdk.incubator.vector
+ * module, which BenchmarkMain adds to the forked JVMs.
+ * 
+ * @author Simon Dicken
+ * @version 2015-02-22
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class KernelBenchmark {
+
+	static final int BATCH = 1024;
+	
+	@Param({"scalar", "vector"})
+	public String kernel;
+	
+	private HeatKernel heatKernel;
+	private BoundsKernel boundsKernel;
+	
+	private double[] xs;
+	private double[] ys;
+	private double[] radii;
+	private double[] heat;
+	private double[] fitness;
+	private boolean[] valid;
+	
+	private WorldLimits wLimits;
+	private CircleLimits cLimits;
+	
+	@Setup
+	public void setUp() {
+		
+		if ("vector".equals(kernel)) {
+			heatKernel = VectorSupport.load(HeatKernel.class, 
+					"geneticAlgorithm.function.HeatKernelVector", null);
+			boundsKernel = VectorSupport.load(BoundsKernel.class, 
+					"geometry.BoundsKernelVector", null);
+			if (heatKernel == null || boundsKernel == null) {
+				throw new IllegalStateException("The vector kernels are not available.");
+			}
+		} else {
+			heatKernel = new HeatKernelScalar();
+			boundsKernel = new BoundsKernelScalar();
+		}
+		
+		RandomStream r = new RandomStream(Fixtures.SEED);
+		PopulationCircleArrays pop = (PopulationCircleArrays) 
+				Fixtures.randomPopulation("CircleArrays", BATCH, r);
+		xs = pop.getXColumn();
+		ys = pop.getYColumn();
+		radii = pop.getRadiusColumn();
+		
+		// Move some of the circles out of bounds, so not every check passes.
+		for (int i=0; i<BATCH; i+=3) {
+			xs[i] += 100;
+		}
+		
+		heat = new double[BATCH];
+		for (int i=0; i<BATCH; ++i) {
+			heat[i] = Math.PI * (radii[i] * radii[i]);
+		}
+		fitness = new double[BATCH];
+		valid = new boolean[BATCH];
+		
+		wLimits = Fixtures.worldLimits();
+		cLimits = Fixtures.circleLimits();
+	}
+	
+	@Benchmark
+	@OperationsPerInvocation(BATCH)
+	public double[] heatFitness() {
+		heatKernel.fitness(heat, fitness, 0, BATCH, 0, 38);
+		return fitness;
+	}
+	
+	@Benchmark
+	@OperationsPerInvocation(BATCH)
+	public double[] radiiFitness() {
+		heatKernel.fitnessFromRadii(radii, fitness, 0, BATCH, 0, 38);
+		return fitness;
+	}
+	
+	@Benchmark
+	@OperationsPerInvocation(BATCH)
+	public int bounds() {
+		return boundsKernel.check(xs, ys, radii, BATCH, 
+				wLimits.getMinX(), wLimits.getMinY(), wLimits.getMaxX(), wLimits.getMaxY(), 
+				cLimits.getMinR(), cLimits.getMaxR(), valid);
+	}
+	
+}
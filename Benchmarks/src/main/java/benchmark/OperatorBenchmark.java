@@ -0,0 +1,104 @@
+package benchmark;
+
+import geneticAlgorithm.crossover.CircleBreederBLXAlpha;
+import geneticAlgorithm.crossover.CircleBreederFlat;
+import geneticAlgorithm.mutation.CircleMutatorNonUniform;
+import geometry.Circle;
+import geometry.CircleLimits;
+import geometry.ShapeChecker;
+import geometry.WorldLimits;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import utils.RandomProvider;
+import utils.RandomStream;
+
+/**
+ * The circle crossover and mutation operators, and the bounds check they
+ * rely on. Each invocation works on a pair of parents picked from a fixed 
+ * pool of random circles.
+ * 
+ * @author Simon Dicken
+ * @version 2015-02-22
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OperatorBenchmark {
+
+	private static final int POOL = 256;
+	
+	private WorldLimits wLimits;
+	private CircleLimits cLimits;
+	private Circle[] circles;
+	private Circle mutant;
+	private int next;
+	
+	private CircleBreederBLXAlpha blxAlpha;
+	private CircleBreederFlat flat;
+	private CircleMutatorNonUniform nonUniform;
+	private ShapeChecker checker;
+	
+	@Setup
+	public void setUp() {
+		RandomProvider rand = new RandomProvider(Fixtures.SEED);
+		RandomProvider.setDefault(rand);
+		RandomStream r = rand.newStream();
+		
+		wLimits = Fixtures.worldLimits();
+		cLimits = Fixtures.circleLimits();
+		circles = new Circle[POOL];
+		for (int i=0; i<POOL; ++i) {
+			circles[i] = Fixtures.randomCircle(r, wLimits, cLimits);
+		}
+		mutant = Fixtures.randomCircle(r, wLimits, cLimits);
+		
+		blxAlpha = new CircleBreederBLXAlpha(wLimits, cLimits, rand, 0.5);
+		flat = new CircleBreederFlat(wLimits, cLimits, rand);
+		nonUniform = new CircleMutatorNonUniform(wLimits, cLimits, rand, 0.5, 10000);
+		nonUniform.setCurrentGen(100);
+		checker = new ShapeChecker();
+	}
+	
+	private Circle nextCircle() {
+		next = (next + 1) & (POOL - 1);
+		return circles[next];
+	}
+	
+	@Benchmark
+	public List<Circle> crossoverBLXAlpha() {
+		return blxAlpha.crossover(nextCircle(), nextCircle());
+	}
+	
+	@Benchmark
+	public List<Circle> crossoverFlat() {
+		return flat.crossover(nextCircle(), nextCircle());
+	}
+	
+	@Benchmark
+	public Circle mutateNonUniform() {
+		nonUniform.mutate(mutant);
+		return mutant;
+	}
+	
+	@Benchmark
+	public boolean checkCircle() {
+		return checker.checkCircle(nextCircle(), cLimits, wLimits);
+	}
+	
+}
@@ -0,0 +1,85 @@
+package benchmark;
+
+import geneticAlgorithm.core.Individual;
+import geneticAlgorithm.core.Population;
+import geometry.Circle;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import utils.RandomStream;
+
+/**
+ * The basic Population operations, for each implementation and a range of 
+ * population sizes. Every benchmark leaves the population at its original 
+ * size, so the state does not drift during a measurement.
+ * 
+ * @author Simon Dicken
+ * @version 2015-02-22
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PopulationBenchmark {
+
+	@Param({"TreeSet", "RankTree", "CircleArrays"})
+	public String impl;
+	
+	@Param({"100", "10000"})
+	public int size;
+	
+	private Population<Individual<Circle>> pop;
+	private RandomStream r;
+	private Individual<Circle> spare;
+	
+	@Setup(Level.Iteration)
+	public void setUp() {
+		r = new RandomStream(Fixtures.SEED);
+		pop = Fixtures.randomPopulation(impl, size, r);
+		spare = Fixtures.randomIndividual(r, Fixtures.worldLimits(), Fixtures.circleLimits());
+	}
+	
+	/**
+	 * Insert an Individual with a random fitness, then remove the weakest.
+	 */
+	@Benchmark
+	public Individual<Circle> insert() {
+		spare.setFitness(r.nextDouble());
+		pop.insert(spare);
+		spare = pop.removeMin();
+		return spare;
+	}
+	
+	/**
+	 * Look up a uniformly random rank.
+	 */
+	@Benchmark
+	public Individual<Circle> getNthMax() {
+		return pop.getNthMax(r.nextInt(size));
+	}
+	
+	/**
+	 * Remove the weakest Individual and put it back.
+	 */
+	@Benchmark
+	public boolean removeMin() {
+		Individual<Circle> ind = pop.removeMin();
+		return pop.insert(ind);
+	}
+	
+}
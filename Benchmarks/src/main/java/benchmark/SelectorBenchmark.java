@@ -0,0 +1,88 @@
+package benchmark;
+
+import geneticAlgorithm.core.Individual;
+import geneticAlgorithm.core.Population;
+import geneticAlgorithm.selection.Selector;
+import geneticAlgorithm.selection.SelectorRank;
+import geneticAlgorithm.selection.SelectorRoulette;
+import geneticAlgorithm.selection.SelectorStochasticUniversal;
+import geneticAlgorithm.selection.SelectorTournament;
+import geometry.Circle;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import utils.RandomProvider;
+
+/**
+ * Choosing a generation's parents (two fifths of the population, as in
+ * GAMainTest) with each Selector: one prepare(...) of the snapshot followed
+ * by the selections.
+ *
+ * @author Simon Dicken
+ * @version 2015-02-22
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SelectorBenchmark {
+
+	@Param({"1000", "10000"})
+	public int popSize;
+
+	@Param({"TreeSet", "RankTree"})
+	public String impl;
+
+	@Param({"tournament", "roulette", "rank", "sus"})
+	public String selector;
+
+	private Population<Individual<Circle>> pop;
+	private Selector<Circle> s;
+	private List<Individual<Circle>> parents;
+	private int numParents;
+
+	@Setup
+	public void setUp() {
+		RandomProvider rand = new RandomProvider(Fixtures.SEED);
+		RandomProvider.setDefault(rand);
+
+		pop = Fixtures.randomPopulation(impl, popSize, rand.newStream());
+		numParents = Math.max(2, popSize / 5 * 2);
+		parents = new ArrayList<Individual<Circle>>(numParents);
+
+		if ("tournament".equals(selector)) {
+			s = new SelectorTournament<Circle>(3, rand);
+		} else if ("roulette".equals(selector)) {
+			s = new SelectorRoulette<Circle>(rand);
+		} else if ("rank".equals(selector)) {
+			s = new SelectorRank<Circle>(1.5, rand);
+		} else {
+			s = new SelectorStochasticUniversal<Circle>(rand);
+		}
+	}
+
+	@Benchmark
+	public List<Individual<Circle>> selectParents() {
+		parents.clear();
+		s.prepare(pop);
+		s.select(numParents, parents);
+		return parents;
+	}
+
+}
@@ -1,27 +1,46 @@
 package control;
 
-import java.util.Random;
+import java.awt.GraphicsEnvironment;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 
 import utils.NumberUtils;
+import utils.RandomProvider;
+import geneticAlgorithm.core.Checkpoint;
+import geneticAlgorithm.core.Checkpointer;
+import geneticAlgorithm.core.CircleCodec;
+import geneticAlgorithm.core.CircleCopier;
 import geneticAlgorithm.core.EvoParams;
 import geneticAlgorithm.core.GenerationalParams;
 import geneticAlgorithm.core.GeneticAlgorithm;
 import geneticAlgorithm.core.HeatGeneticAlgorithm;
 import geneticAlgorithm.core.Individual;
 import geneticAlgorithm.core.Population;
-import geneticAlgorithm.core.PopulationTreeSet;
+import geneticAlgorithm.core.PopulationRankTree;
 import geneticAlgorithm.crossover.Breeder;
 import geneticAlgorithm.crossover.CircleBreederBLXAlpha;
 import geneticAlgorithm.function.HeatFunction;
+import geneticAlgorithm.metrics.MetricsRecorder;
+import geneticAlgorithm.metrics.MetricsSummary;
 import geneticAlgorithm.mutation.CircleMutatorNonUniform;
 import geneticAlgorithm.mutation.Mutator;
+import geneticAlgorithm.stats.ConsoleSink;
+import geneticAlgorithm.stats.StatsRecorder;
 import geneticAlgorithm.selection.Selector;
 import geneticAlgorithm.selection.SelectorTournament;
+import geneticAlgorithm.termination.AnyCondition;
+import geneticAlgorithm.termination.StagnationCondition;
+import geneticAlgorithm.termination.TerminationCondition;
+import geneticAlgorithm.termination.TimeLimit;
 import geometry.Circle;
 import geometry.CircleLimits;
 import geometry.PointXY;
 import geometry.ShapeChecker;
 import geometry.WorldLimits;
+import gui.FrameExporter;
+import gui.GenerationHistory;
 import gui.Renderer;
 
 /**
@@ -32,10 +51,16 @@ import gui.Renderer;
  */
 public class GAMainTest {
 
-	public static void main(String[] args) {
+	public static void main(String[] args) throws IOException, InterruptedException {
 		
 		long t0 = System.currentTimeMillis();
 		
+		// Pass a seed as the first argument to reproduce a previous run.
+		long seed = (args.length > 0) ? Long.parseLong(args[0]) : System.nanoTime();
+		System.out.println("Seed = " + seed);
+		RandomProvider rand = new RandomProvider(seed);
+		RandomProvider.setDefault(rand);
+		
 		int pixelWidth = 640;
 		int pixelHeight= 480;
 		double unitsToPixels = 2;
@@ -45,15 +70,15 @@ public class GAMainTest {
 		
 		GenerationalParams genParams = new GenerationalParams(10000, 10, 2, 1.0, 0.5);
 		
-		Selector<Circle> s = new SelectorTournament<Circle>(2);
-		Mutator<Circle> m = new CircleMutatorNonUniform(wLimits, cLimits, new Random(), 0.5, genParams.getMaxIteration());
-		//Breeder<Circle> b = new CircleBreederFlat(wLimits, cLimits, new Random());
-		Breeder<Circle> b = new CircleBreederBLXAlpha(wLimits, cLimits, new Random(), 0.5);
+		Selector<Circle> s = new SelectorTournament<Circle>(2, rand);
+		Mutator<Circle> m = new CircleMutatorNonUniform(wLimits, cLimits, rand, 0.5, genParams.getMaxIteration());
+		//Breeder<Circle> b = new CircleBreederFlat(wLimits, cLimits, rand);
+		Breeder<Circle> b = new CircleBreederBLXAlpha(wLimits, cLimits, rand, 0.5);
 		EvoParams<Circle> evoParams = new EvoParams<Circle>(s, m, b);
 		
 		
 		//List<Individual> initialPop = new ArrayList<Individual>();
-		Population<Individual<Circle>> pop = new PopulationTreeSet<Individual<Circle>>();
+		Population<Individual<Circle>> pop = new PopulationRankTree<Individual<Circle>>();
 		
 		for (int i=0; i<genParams.getPopSize(); ++i) {
 
@@ -76,13 +101,69 @@ public class GAMainTest {
 		HeatFunction<Circle> func = new HeatFunction<Circle>(0, 38, pop);
 		
 		GeneticAlgorithm<Circle> ga = new HeatGeneticAlgorithm<Circle>(pop, evoParams, genParams, func, -100.0, 30.0);
-		Renderer rend = new Renderer(pixelWidth, pixelHeight, unitsToPixels);
+		// The display, history and exporter only see copies of the circles,
+		// so the Individuals which die out can be reused for offspring.
+		ga.setOffspringCopier(new CircleCopier());
+		
+		// Stop early once the best circle has not improved for 2000 
+		// generations, or after ten minutes.
+		ga.setTerminationCondition(new AnyCondition<Circle>(
+				new StagnationCondition<Circle>(2000, 1e-9),
+				new TimeLimit<Circle>(10 * 60 * 1000)));
+		
+		MetricsSummary metrics = new MetricsSummary();
+		ga.setMetricsRecorder(new MetricsRecorder(metrics));
+		
+		// Print the whole population every 100 generations.
+		StatsRecorder stats = new StatsRecorder(100, genParams.getPopSize(), new ConsoleSink(System.out));
+		ga.setStatsRecorder(stats);
+		
+		// Pass a checkpoint file as the second argument to save the run every 
+		// 500 generations, and to resume it from that file if it exists.
+		Checkpointer<Circle> checkpointer = null;
+		if (args.length > 1) {
+			Path file = Paths.get(args[1]);
+			if (Files.exists(file)) {
+				Checkpoint.restore(ga, new CircleCodec(), file);
+				System.out.println("Resumed from generation " + ga.getCurrentGen());
+			}
+			checkpointer = new Checkpointer<Circle>(file, 500, new CircleCodec());
+			ga.setCheckpointer(checkpointer);
+		}
+		
+		// Without a display, the run can still be watched through the frames.
+		Renderer rend = null;
+		if (!GraphicsEnvironment.isHeadless()) {
+			rend = new Renderer(pixelWidth, pixelHeight, unitsToPixels);
+		}
 		
 		GeneticController<Circle> gc = new GeneticController<Circle>(ga, rend);
+		// Keep up to 8MB of past generations for replay, a keyframe every 32.
+		gc.setHistory(new GenerationHistory(8 << 20, 100000, 32, 1.0 / 64));
+		
+		// Pass a directory as the third argument to write a PNG of every 
+		// 100th generation to it.
+		FrameExporter exporter = null;
+		if (args.length > 2) {
+			exporter = new FrameExporter(Paths.get(args[2]), pixelWidth, pixelHeight, unitsToPixels);
+			gc.setFrameExporter(exporter, 100);
+		}
 		gc.start();
 		
+		if (exporter != null) {
+			exporter.close();
+		}
+		if (checkpointer != null) {
+			checkpointer.close();
+		}
+		stats.close();
+		
 		long t1 = System.currentTimeMillis();
 		
+		TerminationCondition<Circle> reason = ga.getTerminatedBy();
+		System.out.println("Stopped at generation " + ga.getCurrentGen() + ": " 
+				+ ((reason != null) ? reason : "reached maxIteration"));
+		System.out.print(metrics);
 		System.out.println("Run time = " + (t1-t0) + "ms");
 		
 	}
@@ -1,15 +1,11 @@
 package control;
 
-import geneticAlgorithm.core.GenerationalParams;
 import geneticAlgorithm.core.GeneticAlgorithm;
-import geneticAlgorithm.core.Individual;
-import geneticAlgorithm.core.Population;
 import geometry.Shape;
+import gui.FrameExporter;
+import gui.GenerationHistory;
 import gui.Renderer;
 
-import java.util.ArrayList;
-import java.util.List;
-
 /**
  * 
  * @author Simon Dicken
@@ -17,42 +13,91 @@ import java.util.List;
  */
 public class GeneticController<T extends Shape> {
 
+	private static final double DEFAULT_FRAME_RATE = 30;
+	
 	private GeneticAlgorithm<T> genAlg;
 	private Renderer rend;
+	private double frameRate;
+	private double targetRate;
+	private GenerationHistory history;
+	private FrameExporter exporter;
+	private int exportInterval;
 	
 	public GeneticController(GeneticAlgorithm<T> genAlg, Renderer rend) {
 		this.genAlg = genAlg;
 		this.rend = rend;
+		this.frameRate = DEFAULT_FRAME_RATE;
+		this.targetRate = 0;
+		this.history = null;
+		this.exporter = null;
+		this.exportInterval = 0;
+	}
+	
+	/**
+	 * Set the number of frames per second published to the Renderer.
+	 * 
+	 * @param frameRate - the display rate.
+	 */
+	public void setFrameRate(double frameRate) {
+		this.frameRate = frameRate;
+	}
+	
+	/**
+	 * Limit the number of generations run per second.
+	 * 
+	 * @param targetRate - generations per second, or 0 to run at full speed.
+	 */
+	public void setTargetRate(double targetRate) {
+		this.targetRate = targetRate;
+	}
+	
+	/**
+	 * Record every generation, so that the run can be replayed from the 
+	 * display's playback controls.
+	 * 
+	 * @param history - the history to record to, or null to keep none.
+	 */
+	public void setHistory(GenerationHistory history) {
+		this.history = history;
 	}
 	
+	/**
+	 * Write every interval-th generation to PNG files, e.g. for a run 
+	 * without a display. The exporter is not closed.
+	 * 
+	 * @param exporter - the exporter, or null to export nothing.
+	 * @param interval - the number of generations between frames.
+	 */
+	public void setFrameExporter(FrameExporter exporter, int interval) {
+		this.exporter = exporter;
+		this.exportInterval = interval;
+	}
+	
+	/**
+	 * Run the algorithm to completion. The algorithm runs on its own thread, 
+	 * decoupled from the display (see SimulationScheduler); this method 
+	 * blocks until it has finished.
+	 * 
+	 * @throws IllegalStateException - if the algorithm threw an exception, 
+	 * which is given as the cause.
+	 */
 	public void start() {
 		
-		GenerationalParams genParams = genAlg.getGenParams();
-		int maxIteration = genParams.getMaxIteration();
-		
-		for (int i=0; i<maxIteration; ++i) {
-			genAlg.nextIteration();
-			List<Shape> shapes = new ArrayList<Shape>();
-			fillShapes(shapes);
-			
-			try {
-				Thread.sleep(100);
-			} catch(InterruptedException e) {
-				
-			}
-			
-			rend.renderShapes(shapes);
+		SimulationScheduler<T> scheduler = new SimulationScheduler<T>(genAlg, rend, frameRate);
+		scheduler.setTargetRate(targetRate);
+		scheduler.setHistory(history);
+		scheduler.setFrameExporter(exporter, exportInterval);
+		if (rend != null) {
+			rend.setPlayback(history, scheduler);
 		}
+		scheduler.start();
 		
-	}
-	
-	private void fillShapes(List<Shape> shapes) {
-		Population<Individual<T>> pop = genAlg.getPop();
-		int size = pop.size();
-		
-		for (int i=0; i<size; ++i) {
-			Shape s = pop.getNthMax(i).getRepresentation();
-			shapes.add(s);
+		try {
+			scheduler.awaitCompletion();
+		} catch (InterruptedException e) {
+			scheduler.stop();
+			Thread.currentThread().interrupt();
 		}
+		
 	}
 }
@@ -0,0 +1,380 @@
+package control;
+
+import geneticAlgorithm.core.GeneticAlgorithm;
+import geneticAlgorithm.core.Individual;
+import geometry.Circle;
+import geometry.Shape;
+import gui.FrameExporter;
+import gui.GenerationHistory;
+import gui.PlaybackControl;
+import gui.PopulationSnapshot;
+import gui.Renderer;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Runs a GeneticAlgorithm on its own thread, independently of the display.
+ *
+ * The engine thread runs generations back to back (or paced to a target
+ * number of generations per second), while a frame timer asks for a frame
+ * at a fixed rate. The engine only copies the population out for the
+ * Renderer when a frame has been asked for, so when the algorithm runs
+ * faster than the display the intermediate generations are simply not
+ * drawn; when it runs slower, frames are not repeated.
+ *
+ * Without a display, a FrameExporter can be given to write every few
+ * generations to PNG files instead.
+ *
+ * @author Simon Dicken
+ * @version 2015-02-22
+ */
+public class SimulationScheduler<T extends Shape> implements PlaybackControl {
+
+	private final GeneticAlgorithm<T> genAlg;
+	private final Renderer rend;
+
+	private double framesPerSecond;
+	private double generationsPerSecond;
+
+	private final AtomicBoolean frameRequested;
+	private volatile boolean stopRequested;
+	private Thread engineThread;
+	// Whatever the engine thread threw, if it ended abnormally.
+	private volatile Throwable failure;
+	private ScheduledExecutorService frameTimer;
+	
+	private final Object pauseLock;
+	private boolean paused;
+	
+	private GenerationHistory history;
+	private FrameExporter exporter;
+	private int exportInterval;
+	
+	// The circles of the current generation, copied out for the history and
+	// the exporter.
+	private double[] circleX;
+	private double[] circleY;
+	private double[] circleR;
+	private int circleCount;
+	private int circleGeneration;
+	private int lastExported;
+
+	/**
+	 * Creates a scheduler which runs the algorithm as fast as possible and
+	 * renders at the given frame rate.
+	 *
+	 * @param genAlg - the algorithm to run.
+	 * @param rend - the Renderer to publish frames to, or null to run without
+	 * a display.
+	 * @param framesPerSecond - the display rate.
+	 */
+	public SimulationScheduler(GeneticAlgorithm<T> genAlg, Renderer rend,
+			double framesPerSecond) {
+		this.genAlg = genAlg;
+		this.rend = rend;
+		this.framesPerSecond = framesPerSecond;
+		this.generationsPerSecond = 0;
+		this.frameRequested = new AtomicBoolean(true);
+		this.stopRequested = false;
+		this.failure = null;
+		this.pauseLock = new Object();
+		this.paused = false;
+		this.history = null;
+		this.exporter = null;
+		this.exportInterval = 0;
+		this.circleGeneration = -1;
+		this.lastExported = -1;
+	}
+
+	/**
+	 * Limit the algorithm to (roughly) the given number of generations per
+	 * second. Must be called before start().
+	 *
+	 * @param generationsPerSecond - the target rate; 0 (the default) means
+	 * run at full speed.
+	 */
+	public void setTargetRate(double generationsPerSecond) {
+		this.generationsPerSecond = generationsPerSecond;
+	}
+
+	public double getTargetRate() {
+		return generationsPerSecond;
+	}
+
+	public double getFrameRate() {
+		return framesPerSecond;
+	}
+	
+	/**
+	 * Record every generation in the given history. Must be called before 
+	 * start().
+	 * 
+	 * @param history - the history to record to, or null to keep none.
+	 */
+	public void setHistory(GenerationHistory history) {
+		this.history = history;
+	}
+	
+	public GenerationHistory getHistory() {
+		return history;
+	}
+	
+	/**
+	 * Write every interval-th generation (and the last) to the given 
+	 * exporter. Must be called before start(). The exporter is not closed 
+	 * by the scheduler.
+	 * 
+	 * @param exporter - the exporter, or null to export nothing.
+	 * @param interval - the number of generations between frames.
+	 */
+	public void setFrameExporter(FrameExporter exporter, int interval) {
+		if (exporter != null && interval < 1) {
+			throw new IllegalArgumentException("Interval must be at least 1.");
+		}
+		this.exporter = exporter;
+		this.exportInterval = interval;
+	}
+	
+	/**
+	 * Pause the engine after the current generation, or let it carry on.
+	 * 
+	 * @param paused - whether the engine should be paused.
+	 */
+	@Override
+	public void setPaused(boolean paused) {
+		synchronized (pauseLock) {
+			this.paused = paused;
+			pauseLock.notifyAll();
+		}
+	}
+	
+	@Override
+	public boolean isPaused() {
+		synchronized (pauseLock) {
+			return paused;
+		}
+	}
+
+	/**
+	 * Start the engine thread and the frame timer. Returns immediately.
+	 */
+	public synchronized void start() {
+
+		if (engineThread != null) {
+			throw new IllegalStateException("The scheduler has already been started.");
+		}
+
+		if (rend != null && framesPerSecond > 0) {
+			frameTimer = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+				@Override
+				public Thread newThread(Runnable r) {
+					Thread t = new Thread(r, "frame-timer");
+					t.setDaemon(true);
+					return t;
+				}
+			});
+			long periodNanos = (long) (1e9 / framesPerSecond);
+			frameTimer.scheduleAtFixedRate(new Runnable() {
+				@Override
+				public void run() {
+					frameRequested.set(true);
+				}
+			}, periodNanos, periodNanos, TimeUnit.NANOSECONDS);
+		}
+
+		engineThread = new Thread(new Runnable() {
+			@Override
+			public void run() {
+				runEngine();
+			}
+		}, "genetic-algorithm");
+		engineThread.start();
+	}
+
+	/**
+	 * Ask the engine to stop after the current generation.
+	 */
+	public void stop() {
+		stopRequested = true;
+		synchronized (pauseLock) {
+			pauseLock.notifyAll();
+		}
+	}
+
+	/**
+	 * Wait for the engine thread to finish.
+	 *
+	 * @throws InterruptedException - if the calling thread is interrupted.
+	 * @throws IllegalStateException - if the algorithm threw an exception, 
+	 * which is given as the cause.
+	 */
+	public void awaitCompletion() throws InterruptedException {
+		Thread t;
+		synchronized (this) {
+			t = engineThread;
+		}
+		if (t != null) {
+			t.join();
+		}
+		Throwable f = failure;
+		if (f != null) {
+			throw new IllegalStateException("The genetic algorithm failed.", f);
+		}
+	}
+
+	private void runEngine() {
+
+		long periodNanos = (generationsPerSecond > 0) ? (long) (1e9 / generationsPerSecond) : 0;
+		long nextDeadline = System.nanoTime();
+
+		try {
+			captureGeneration();
+			
+			while (!stopRequested && !genAlg.isFinished()) {
+
+				if (awaitResume()) {
+					// Don't try to make up for the time spent paused.
+					nextDeadline = System.nanoTime();
+					continue;
+				}
+				
+				genAlg.nextIteration();
+				captureGeneration();
+
+				if (frameRequested.compareAndSet(true, false)) {
+					publishFrame();
+				}
+
+				if (periodNanos > 0) {
+					nextDeadline += periodNanos;
+					long wait = nextDeadline - System.nanoTime();
+					if (wait > 0) {
+						LockSupport.parkNanos(wait);
+					} else {
+						// Running behind; don't try to catch up.
+						nextDeadline = System.nanoTime();
+					}
+				}
+			}
+
+			// Always show and export the final generation.
+			publishFrame();
+			if (exporter != null && genAlg.getCurrentGen() != lastExported) {
+				copyCircles();
+				exporter.submit(circleGeneration, circleX, circleY, circleR, circleCount);
+			}
+
+		} catch (Throwable t) {
+			// Reported to the caller by awaitCompletion().
+			failure = t;
+		} finally {
+			if (frameTimer != null) {
+				frameTimer.shutdownNow();
+			}
+		}
+	}
+
+	/**
+	 * Wait whilst the engine is paused.
+	 * 
+	 * @return true if the engine was paused.
+	 */
+	private boolean awaitResume() {
+		synchronized (pauseLock) {
+			if (!paused) {
+				return false;
+			}
+			while (paused && !stopRequested) {
+				try {
+					pauseLock.wait();
+				} catch (InterruptedException e) {
+					stopRequested = true;
+					Thread.currentThread().interrupt();
+				}
+			}
+			return true;
+		}
+	}
+	
+	/**
+	 * Record the current generation in the history and pass it to the 
+	 * exporter, if they are due.
+	 */
+	private void captureGeneration() {
+		
+		int generation = genAlg.getCurrentGen();
+		boolean record = history != null && generation > history.getLastGeneration();
+		boolean export = exporter != null && generation % exportInterval == 0;
+		if (!record && !export) {
+			return;
+		}
+		
+		copyCircles();
+		if (record) {
+			history.record(generation, circleX, circleY, circleR, circleCount);
+		}
+		if (export) {
+			exporter.submit(generation, circleX, circleY, circleR, circleCount);
+			lastExported = generation;
+		}
+	}
+	
+	/**
+	 * Copy the circles of the current generation into the reusable arrays.
+	 */
+	private void copyCircles() {
+		
+		int generation = genAlg.getCurrentGen();
+		if (generation == circleGeneration) {
+			return;
+		}
+		
+		int size = genAlg.getPop().size();
+		if (circleX == null || circleX.length < size) {
+			circleX = new double[size];
+			circleY = new double[size];
+			circleR = new double[size];
+		}
+		
+		int count = 0;
+		for (Individual<T> ind : genAlg.getPop()) {
+			T shape = ind.getRepresentation();
+			if (shape instanceof Circle) {
+				Circle c = (Circle) shape;
+				circleX[count] = c.getReference().getX();
+				circleY[count] = c.getReference().getY();
+				circleR[count] = c.getRadius();
+				++count;
+			}
+		}
+		circleCount = count;
+		circleGeneration = generation;
+	}
+	
+	/**
+	 * Copy the circles of the current generation into the Renderer's next 
+	 * frame, so the display never reads the algorithm's own Shapes.
+	 */
+	private void publishFrame() {
+		if (rend == null) {
+			return;
+		}
+
+		PopulationSnapshot frame = rend.beginFrame();
+		frame.clear(genAlg.getCurrentGen());
+		for (Individual<T> ind : genAlg.getPop()) {
+			T shape = ind.getRepresentation();
+			if (shape instanceof Circle) {
+				Circle c = (Circle) shape;
+				frame.add(c.getReference().getX(), c.getReference().getY(), c.getRadius());
+			}
+		}
+		rend.publishFrame();
+	}
+
+}
@@ -0,0 +1,71 @@
+package experiment;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Sweeps a grid of parameters around GAMainTest's configuration, with 
+ * several seeds each, and prints the results ranked by fitness.
+ * 
+ * Arguments (all optional): the number of generations per run (default 
+ * 2000), the number of runs at once (default: one per processor) and a CSV
+ * file to write every run to. If the first argument is "race", the grid is
+ * raced with SuccessiveHalving instead of being run in full, and the CSV 
+ * holds the finalists.
+ * 
+ * @author Simon Dicken
+ * @version 2015-02-22
+ */
+public class ExperimentMain {
+
+	public static void main(String[] args) throws IOException, InterruptedException {
+		
+		boolean race = (args.length > 0) && args[0].equals("race");
+		if (race) {
+			args = Arrays.copyOfRange(args, 1, args.length);
+		}
+		
+		int generations = (args.length > 0) ? Integer.parseInt(args[0]) : 2000;
+		ExperimentRunner runner = (args.length > 1) 
+				? new ExperimentRunner(Integer.parseInt(args[1])) : new ExperimentRunner();
+		runner.setProgress(System.out);
+		
+		RunSettings base = new RunSettings().withMaxIteration(generations);
+		List<RunSettings> settings = new ParameterGrid(base)
+				.popSize(10, 50)
+				.tournSize(2, 4)
+				.blxAlpha(0.1, 0.5)
+				.mutationB(0.5, 2.0)
+				.expand();
+		long[] seeds = { 1, 2, 3, 4, 5 };
+		
+		System.out.println(settings.size() + " settings x " + seeds.length + " seeds on " 
+				+ runner.getParallelism() + " workers");
+		
+		long t0 = System.currentTimeMillis();
+		ResultTable table;
+		if (race) {
+			SuccessiveHalving halving = new SuccessiveHalving(runner, 
+					Math.max(1, generations / 8), 2, 0.05);
+			halving.setProgress(System.out);
+			RaceResult result = halving.run(settings, seeds);
+			table = result.getFinalists();
+			System.out.println();
+			System.out.print(result);
+		} else {
+			table = runner.run(settings, seeds);
+			System.out.println();
+			System.out.print(table);
+		}
+		long t1 = System.currentTimeMillis();
+		
+		System.out.println("Run time = " + (t1-t0) + "ms");
+		
+		if (args.length > 2) {
+			table.writeCsv(Paths.get(args[2]));
+		}
+	}
+	
+}
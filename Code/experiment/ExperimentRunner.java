@@ -0,0 +1,254 @@
+package experiment;
+
+import geneticAlgorithm.core.EvoParams;
+import geneticAlgorithm.core.GenerationalParams;
+import geneticAlgorithm.core.GeneticAlgorithm;
+import geneticAlgorithm.core.HeatGeneticAlgorithm;
+import geneticAlgorithm.core.Individual;
+import geneticAlgorithm.core.Population;
+import geneticAlgorithm.core.PopulationRankTree;
+import geneticAlgorithm.crossover.CircleBreederBLXAlpha;
+import geneticAlgorithm.function.HeatFunction;
+import geneticAlgorithm.mutation.CircleMutatorNonUniform;
+import geneticAlgorithm.selection.SelectorTournament;
+import geometry.Circle;
+import geometry.CircleLimits;
+import geometry.ShapeChecker;
+import geometry.WorldLimits;
+
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import utils.RandomProvider;
+import utils.RandomStream;
+
+/**
+ * Runs every RunSettings with every seed, several runs at once and without
+ * a display, and collects the results into a ResultTable.
+ *
+ * The runs themselves are CPU-bound, so they are executed on a fixed pool
+ * of 'parallelism' worker threads, and reported by the calling thread as 
+ * they finish (through an ExecutorCompletionService), so no more than 
+ * 'parallelism' threads are started however many runs there are.
+ *
+ * Each run has its own RandomProvider, which is made the default of the
+ * worker thread running it (see Trial), so the same settings and seed
+ * always give the same result however many runs share the JVM.
+ * Sub-classes can override createAlgorithm(...) to run something other than
+ * GAMainTest's heat-seeking circles.
+ *
+ * @author Simon Dicken
+ * @version 2015-02-22
+ */
+public class ExperimentRunner {
+
+	// GAMainTest's world: a 640x480 window at 2 pixels per unit.
+	public static final WorldLimits WORLD = new WorldLimits(0, 0, 320, 240);
+	public static final CircleLimits CIRCLES = new CircleLimits(5, 30);
+
+	private final int parallelism;
+	private PrintStream progress;
+
+	/**
+	 * Constructor for ExperimentRunner which uses one worker per processor.
+	 */
+	public ExperimentRunner() {
+		this(Runtime.getRuntime().availableProcessors());
+	}
+
+	/**
+	 * Constructor for ExperimentRunner.
+	 *
+	 * @param parallelism - the maximum number of runs at once.
+	 */
+	public ExperimentRunner(int parallelism) {
+		if (parallelism < 1) {
+			throw new IllegalArgumentException("Parallelism must be at least 1.");
+		}
+		this.parallelism = parallelism;
+		this.progress = null;
+	}
+
+	/**
+	 * Print a line as each run finishes.
+	 *
+	 * @param progress - where to print, or null to print nothing.
+	 */
+	public void setProgress(PrintStream progress) {
+		this.progress = progress;
+	}
+
+	public int getParallelism() {
+		return parallelism;
+	}
+
+	/**
+	 * Run every combination of settings and seed, and wait for them all.
+	 * A run which throws an exception is recorded as failed; the others
+	 * carry on.
+	 *
+	 * @param settings - the settings to run.
+	 * @param seeds - the seeds to run each of the settings with.
+	 * @return the results, in the order of the settings, then the seeds.
+	 * @throws InterruptedException - if interrupted whilst waiting; the runs
+	 * still in progress are abandoned.
+	 */
+	public ResultTable run(List<RunSettings> settings, long... seeds) throws InterruptedException {
+		return new ResultTable(advance(createTrials(settings, seeds), Integer.MAX_VALUE));
+	}
+
+	/**
+	 * Build and run one algorithm to completion, on the calling thread.
+	 *
+	 * @param settings - the settings of the run.
+	 * @param seed - the seed of the run.
+	 * @return the result; failed if the run threw an exception.
+	 */
+	public RunResult runOne(RunSettings settings, long seed) {
+		return new Trial(this, settings, seed).advance(settings.getMaxIteration());
+	}
+
+	/**
+	 * @return a Trial for every combination of settings and seed, in the
+	 * order of the settings, then the seeds.
+	 */
+	List<Trial> createTrials(List<RunSettings> settings, long[] seeds) {
+		List<Trial> trials = new ArrayList<Trial>(settings.size() * seeds.length);
+		for (RunSettings s : settings) {
+			for (long seed : seeds) {
+				trials.add(new Trial(this, s, seed));
+			}
+		}
+		return trials;
+	}
+
+	/**
+	 * Advance every Trial to the given generation, several at once, and
+	 * wait for them all.
+	 *
+	 * @param trials - the trials.
+	 * @param generation - the generation to stop at.
+	 * @return the results, in the order of the trials.
+	 * @throws InterruptedException - if interrupted whilst waiting; the runs
+	 * still in progress are abandoned.
+	 */
+	List<RunResult> advance(List<Trial> trials, final int generation) throws InterruptedException {
+
+		int total = trials.size();
+		final RunResult[] results = new RunResult[total];
+
+		ExecutorService workers = Executors.newFixedThreadPool(parallelism,
+				daemonThreads("experiment-worker"));
+		CompletionService<Integer> done = new ExecutorCompletionService<Integer>(workers);
+
+		try {
+			for (int i=0; i<total; ++i) {
+				final int index = i;
+				final Trial trial = trials.get(i);
+				done.submit(new Callable<Integer>() {
+					@Override
+					public Integer call() {
+						try {
+							results[index] = trial.advance(generation);
+						} catch (Error e) {
+							// A Trial catches RuntimeExceptions itself.
+							results[index] = new RunResult(trial.getSettings(), trial.getSeed(), e);
+						}
+						return index;
+					}
+				});
+			}
+
+			for (int finished=1; finished<=total; ++finished) {
+				int index;
+				try {
+					index = done.take().get();
+				} catch (ExecutionException e) {
+					throw new IllegalStateException("A run could not be reported.", e.getCause());
+				}
+				report(results[index], finished, total);
+			}
+			return new ArrayList<RunResult>(Arrays.asList(results));
+
+		} finally {
+			workers.shutdownNow();
+		}
+	}
+
+	/**
+	 * Create the algorithm for a run, as GAMainTest does: a random initial
+	 * population of valid circles, tournament selection, BLX-alpha
+	 * crossover, non-uniform mutation and a HeatFunction.
+	 *
+	 * @param settings - the settings of the run.
+	 * @param rand - the run's own source of random numbers.
+	 * @return the algorithm, ready to run.
+	 */
+	protected GeneticAlgorithm<Circle> createAlgorithm(RunSettings settings, RandomProvider rand) {
+
+		GenerationalParams genParams = settings.getGenParams();
+		EvoParams<Circle> evoParams = new EvoParams<Circle>(
+				new SelectorTournament<Circle>(settings.getTournSize(), rand),
+				new CircleMutatorNonUniform(WORLD, CIRCLES, rand, settings.getMutationB(),
+						genParams.getMaxIteration()),
+				new CircleBreederBLXAlpha(WORLD, CIRCLES, rand, settings.getBlxAlpha()));
+
+		Population<Individual<Circle>> pop = new PopulationRankTree<Individual<Circle>>();
+		RandomStream r = rand.current();
+		ShapeChecker checker = new ShapeChecker();
+		for (int i=0; i<genParams.getPopSize(); ++i) {
+			double x;
+			double y;
+			double radius;
+			do {
+				x = r.nextDouble(WORLD.getMinX(), WORLD.getMaxX());
+				y = r.nextDouble(WORLD.getMinY(), WORLD.getMaxY());
+				radius = r.nextDouble(CIRCLES.getMinR(), CIRCLES.getMaxR());
+			} while (!checker.checkCircle(x, y, radius, CIRCLES, WORLD));
+			pop.insert(new Individual<Circle>(new Circle(x, y, radius)));
+		}
+
+		HeatFunction<Circle> func;
+		if (settings.getNeighbourWeight() > 0) {
+			func = new HeatFunction<Circle>(0, settings.getOptimumTemp(), pop, WORLD,
+					settings.getCutoff(), settings.getNeighbourWeight());
+		} else {
+			func = new HeatFunction<Circle>(0, settings.getOptimumTemp(), pop);
+		}
+
+		GeneticAlgorithm<Circle> ga = new HeatGeneticAlgorithm<Circle>(pop, evoParams, genParams,
+				func, settings.getMinTemp(), settings.getMaxTemp());
+		ga.setRandomProvider(rand);
+		return ga;
+	}
+
+	private void report(RunResult result, int finished, int total) {
+		PrintStream out = progress;
+		if (out != null) {
+			out.println("[" + finished + "/" + total + "] " + result);
+		}
+	}
+
+	private static ThreadFactory daemonThreads(final String name) {
+		final AtomicInteger count = new AtomicInteger();
+		return new ThreadFactory() {
+			@Override
+			public Thread newThread(Runnable r) {
+				Thread t = new Thread(r, name + "-" + count.incrementAndGet());
+				t.setDaemon(true);
+				return t;
+			}
+		};
+	}
+
+}
@@ -0,0 +1,180 @@
+package experiment;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Builds every combination of a set of parameter values, starting from a
+ * base RunSettings. Each method adds an 'axis' of values for one parameter;
+ * expand() then returns one RunSettings per combination, with the first
+ * axis varying slowest.
+ *
+ * e.g. new ParameterGrid(base).popSize(10, 50).blxAlpha(0.1, 0.5).expand()
+ * gives four settings.
+ *
+ * @author Simon Dicken
+ * @version 2015-02-22
+ */
+public class ParameterGrid {
+
+	private final RunSettings base;
+	private final List<Axis> axes;
+
+	public ParameterGrid(RunSettings base) {
+		this.base = base;
+		this.axes = new ArrayList<Axis>();
+	}
+
+	public ParameterGrid popSize(final int... values) {
+		return add(new Axis(values.length) {
+			@Override
+			RunSettings apply(RunSettings s, int i) {
+				return s.withPopSize(values[i]);
+			}
+		});
+	}
+
+	public ParameterGrid numParents(final int... values) {
+		return add(new Axis(values.length) {
+			@Override
+			RunSettings apply(RunSettings s, int i) {
+				return s.withNumParents(values[i]);
+			}
+		});
+	}
+
+	public ParameterGrid probCrossover(final double... values) {
+		return add(new Axis(values.length) {
+			@Override
+			RunSettings apply(RunSettings s, int i) {
+				return s.withProbCrossover(values[i]);
+			}
+		});
+	}
+
+	public ParameterGrid probMutation(final double... values) {
+		return add(new Axis(values.length) {
+			@Override
+			RunSettings apply(RunSettings s, int i) {
+				return s.withProbMutation(values[i]);
+			}
+		});
+	}
+
+	public ParameterGrid tournSize(final int... values) {
+		return add(new Axis(values.length) {
+			@Override
+			RunSettings apply(RunSettings s, int i) {
+				return s.withTournSize(values[i]);
+			}
+		});
+	}
+
+	public ParameterGrid blxAlpha(final double... values) {
+		return add(new Axis(values.length) {
+			@Override
+			RunSettings apply(RunSettings s, int i) {
+				return s.withBlxAlpha(values[i]);
+			}
+		});
+	}
+
+	public ParameterGrid mutationB(final double... values) {
+		return add(new Axis(values.length) {
+			@Override
+			RunSettings apply(RunSettings s, int i) {
+				return s.withMutationB(values[i]);
+			}
+		});
+	}
+
+	public ParameterGrid optimumTemp(final double... values) {
+		return add(new Axis(values.length) {
+			@Override
+			RunSettings apply(RunSettings s, int i) {
+				return s.withOptimumTemp(values[i]);
+			}
+		});
+	}
+
+	/**
+	 * @param ranges - pairs of (minimum, maximum) global temperatures.
+	 * @return this grid.
+	 */
+	public ParameterGrid temperatures(final double[]... ranges) {
+		return add(new Axis(ranges.length) {
+			@Override
+			RunSettings apply(RunSettings s, int i) {
+				return s.withTemperatures(ranges[i][0], ranges[i][1]);
+			}
+		});
+	}
+
+	/**
+	 * @param cutoff - the cutoff distance used with every weight.
+	 * @param weights - the neighbour weights.
+	 * @return this grid.
+	 */
+	public ParameterGrid neighbourWeight(final double cutoff, final double... weights) {
+		return add(new Axis(weights.length) {
+			@Override
+			RunSettings apply(RunSettings s, int i) {
+				return s.withNeighbours(weights[i], cutoff);
+			}
+		});
+	}
+
+	/**
+	 * @return one RunSettings per combination of the values given.
+	 */
+	public List<RunSettings> expand() {
+		List<RunSettings> settings = new ArrayList<RunSettings>();
+		expand(base, 0, settings);
+		return settings;
+	}
+
+	/**
+	 * @return the number of RunSettings expand() will return.
+	 */
+	public int size() {
+		int size = 1;
+		for (Axis axis : axes) {
+			size *= axis.size;
+		}
+		return size;
+	}
+
+	private void expand(RunSettings s, int axis, List<RunSettings> out) {
+		if (axis == axes.size()) {
+			out.add(s);
+			return;
+		}
+		Axis a = axes.get(axis);
+		for (int i=0; i<a.size; ++i) {
+			expand(a.apply(s, i), axis + 1, out);
+		}
+	}
+
+	private ParameterGrid add(Axis axis) {
+		if (axis.size == 0) {
+			throw new IllegalArgumentException("At least one value is required.");
+		}
+		axes.add(axis);
+		return this;
+	}
+
+	/**
+	 * The values of one parameter.
+	 */
+	private static abstract class Axis {
+
+		final int size;
+
+		Axis(int size) {
+			this.size = size;
+		}
+
+		abstract RunSettings apply(RunSettings s, int i);
+	}
+
+}
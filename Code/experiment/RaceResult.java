@@ -0,0 +1,115 @@
+package experiment;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The outcome of a SuccessiveHalving race: the configurations which reached
+ * their full budget, the ones dropped on the way, and what it cost compared
+ * with running every configuration in full.
+ *
+ * @author Simon Dicken
+ * @version 2015-02-22
+ */
+public class RaceResult {
+
+	private final ResultTable finalists;
+	private final List<Elimination> eliminations;
+	private final long generationsRun;
+	private final long fullGridGenerations;
+
+	RaceResult(ResultTable finalists, List<Elimination> eliminations, long generationsRun,
+			long fullGridGenerations) {
+		this.finalists = finalists;
+		this.eliminations = new ArrayList<Elimination>(eliminations);
+		this.generationsRun = generationsRun;
+		this.fullGridGenerations = fullGridGenerations;
+	}
+
+	/**
+	 * @return the results of the configurations which were never dropped,
+	 * at their full budget.
+	 */
+	public ResultTable getFinalists() {
+		return finalists;
+	}
+
+	/**
+	 * @return the configurations dropped, in the order they were dropped.
+	 */
+	public List<Elimination> getEliminations() {
+		return Collections.unmodifiableList(eliminations);
+	}
+
+	/**
+	 * @return the total number of generations run, over every seed.
+	 */
+	public long getGenerationsRun() {
+		return generationsRun;
+	}
+
+	/**
+	 * @return the number of generations a full grid would have run.
+	 */
+	public long getFullGridGenerations() {
+		return fullGridGenerations;
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder sb = new StringBuilder();
+		sb.append(finalists);
+		if (!eliminations.isEmpty()) {
+			sb.append(String.format("%nDropped:%n"));
+			for (Elimination e : eliminations) {
+				sb.append(String.format("  %-68s at %6d generations (best %.6f, p = %.4f)%n",
+						e.getSettings(), e.getGeneration(), e.getMeanBestFitness(), e.getPValue()));
+			}
+		}
+		sb.append(String.format("Generations run: %d of %d (%.1f%%)%n", generationsRun,
+				fullGridGenerations, 100.0 * generationsRun / fullGridGenerations));
+		return sb.toString();
+	}
+
+	/**
+	 * A configuration dropped from the race.
+	 */
+	public static class Elimination {
+
+		private final RunSettings settings;
+		private final int generation;
+		private final double meanBestFitness;
+		private final double pValue;
+
+		Elimination(RunSettings settings, int generation, double meanBestFitness, double pValue) {
+			this.settings = settings;
+			this.generation = generation;
+			this.meanBestFitness = meanBestFitness;
+			this.pValue = pValue;
+		}
+
+		public RunSettings getSettings() {
+			return settings;
+		}
+
+		/**
+		 * @return the budget of the rung after which it was dropped.
+		 */
+		public int getGeneration() {
+			return generation;
+		}
+
+		public double getMeanBestFitness() {
+			return meanBestFitness;
+		}
+
+		/**
+		 * @return the p-value of the test against the leader.
+		 */
+		public double getPValue() {
+			return pValue;
+		}
+	}
+
+}
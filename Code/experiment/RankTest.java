@@ -0,0 +1,139 @@
+package experiment;
+
+import java.util.Arrays;
+
+/**
+ * The one-sided Mann-Whitney U (Wilcoxon rank-sum) test, used to decide
+ * whether one configuration is worse than another from a handful of seeds.
+ * It only looks at the ranks of the values, so it is not thrown by the
+ * heavy tails of the heat fitness.
+ *
+ * The p-value is exact for small samples without ties, and otherwise uses
+ * the normal approximation (with corrections for ties and continuity).
+ *
+ * @author Simon Dicken
+ * @version 2015-02-22
+ */
+final class RankTest {
+
+	// The largest sample for which the exact distribution is calculated.
+	private static final int MAX_EXACT = 50;
+
+	private RankTest() {
+	}
+
+	/**
+	 * @param a - the first sample.
+	 * @param b - the second sample.
+	 * @return the probability, if both samples came from the same
+	 * distribution, of the values of a ranking as low as they do (or lower)
+	 * amongst those of b; small values mean a tends to be smaller than b.
+	 * 1 if either sample is empty.
+	 */
+	static double pLess(double[] a, double[] b) {
+
+		int m = a.length;
+		int n = b.length;
+		if (m == 0 || n == 0) {
+			return 1;
+		}
+
+		// Rank the pooled values, giving tied values their mean rank.
+		double[] pooled = new double[m + n];
+		System.arraycopy(a, 0, pooled, 0, m);
+		System.arraycopy(b, 0, pooled, m, n);
+		double[] sorted = pooled.clone();
+		Arrays.sort(sorted);
+
+		double tieTerm = 0;
+		for (int i=0; i<sorted.length; ) {
+			int j = i;
+			while (j < sorted.length && Double.compare(sorted[j], sorted[i]) == 0) {
+				++j;
+			}
+			double t = j - i;
+			tieTerm += t * t * t - t;
+			i = j;
+		}
+
+		double rankSum = 0;
+		for (int i=0; i<m; ++i) {
+			rankSum += rank(sorted, a[i]);
+		}
+		double u = rankSum - m * (m + 1) / 2.0;
+
+		if (tieTerm == 0 && m <= MAX_EXACT && n <= MAX_EXACT) {
+			return exact(m, n, (int) Math.round(u));
+		}
+
+		double mean = m * n / 2.0;
+		double variance = m * n / 12.0 * ((m + n + 1) - tieTerm / ((double) (m + n) * (m + n - 1)));
+		if (variance <= 0) {
+			return 1;
+		}
+		double z = (u + 0.5 - mean) / Math.sqrt(variance);
+		return normalCdf(z);
+	}
+
+	/**
+	 * @return the mid-rank (from 1) of the value in the sorted array.
+	 */
+	private static double rank(double[] sorted, double value) {
+		int lo = 0;
+		while (Double.compare(sorted[lo], value) != 0) {
+			++lo;
+		}
+		int hi = lo;
+		while (hi + 1 < sorted.length && Double.compare(sorted[hi + 1], value) == 0) {
+			++hi;
+		}
+		return (lo + hi) / 2.0 + 1;
+	}
+
+	/**
+	 * P(U &lt;= u) for samples of m and n without ties, by counting the
+	 * arrangements of the ranks with each value of U.
+	 */
+	private static double exact(int m, int n, int u) {
+
+		// After step j, ways[i][k] is the number of orderings of i values of
+		// the first sample and j of the second in which U = k. An ordering 
+		// ends either with a value of the second sample (counted at step 
+		// j - 1) or with one of the first, which is larger than all j values
+		// of the second and so adds j to U.
+		int maxU = m * n;
+		double[][] ways = new double[m + 1][maxU + 1];
+		ways[0][0] = 1;
+
+		for (int j=0; j<=n; ++j) {
+			for (int i=1; i<=m; ++i) {
+				for (int k=j; k<=maxU; ++k) {
+					ways[i][k] += ways[i - 1][k - j];
+				}
+			}
+		}
+
+		double total = 0;
+		double below = 0;
+		for (int k=0; k<=maxU; ++k) {
+			total += ways[m][k];
+			if (k <= u) {
+				below += ways[m][k];
+			}
+		}
+		return below / total;
+	}
+
+	/**
+	 * The standard normal distribution function (Zelen and Severo's
+	 * approximation, accurate to about 1e-7).
+	 */
+	private static double normalCdf(double z) {
+		double t = 1 / (1 + 0.2316419 * Math.abs(z));
+		double poly = t * (0.319381530 + t * (-0.356563782 + t * (1.781477937
+				+ t * (-1.821255978 + t * 1.330274429))));
+		double tail = Math.exp(-z * z / 2) / Math.sqrt(2 * Math.PI) * poly;
+		return (z >= 0) ? 1 - tail : tail;
+	}
+
+}
@@ -0,0 +1,234 @@
+package experiment;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The results of an experiment, grouped into one Row per RunSettings (one
+ * result per seed in each row).
+ *
+ * toString() gives a table of the rows, fittest first, with the mean and
+ * standard deviation over the seeds; writeCsv(...) writes every run.
+ *
+ * @author Simon Dicken
+ * @version 2015-02-22
+ */
+public class ResultTable {
+
+	// The per-run values which can be averaged with Row.getMean(...).
+	public static final int BEST_FITNESS = 0;
+	public static final int MEAN_FITNESS = 1;
+	public static final int RADIUS = 2;
+	public static final int MILLIS = 3;
+
+	private final List<RunResult> results;
+	private final List<Row> rows;
+
+	public ResultTable(List<RunResult> results) {
+		this.results = new ArrayList<RunResult>(results);
+		this.rows = new ArrayList<Row>();
+
+		Map<RunSettings, Row> bySettings = new LinkedHashMap<RunSettings, Row>();
+		for (RunResult r : results) {
+			Row row = bySettings.get(r.getSettings());
+			if (row == null) {
+				row = new Row(r.getSettings());
+				bySettings.put(r.getSettings(), row);
+				rows.add(row);
+			}
+			row.results.add(r);
+		}
+	}
+
+	/**
+	 * @return every result, in the order the runs were given.
+	 */
+	public List<RunResult> getResults() {
+		return Collections.unmodifiableList(results);
+	}
+
+	/**
+	 * @return the rows, in the order their settings were first given.
+	 */
+	public List<Row> getRows() {
+		return Collections.unmodifiableList(rows);
+	}
+
+	/**
+	 * @return the rows, highest mean best fitness first.
+	 */
+	public List<Row> getRanking() {
+		List<Row> ranking = new ArrayList<Row>(rows);
+		Collections.sort(ranking, new Comparator<Row>() {
+			@Override
+			public int compare(Row a, Row b) {
+				return Double.compare(rank(b), rank(a));
+			}
+
+			private double rank(Row r) {
+				double mean = r.getMeanBestFitness();
+				return Double.isNaN(mean) ? Double.NEGATIVE_INFINITY : mean;
+			}
+		});
+		return ranking;
+	}
+
+	/**
+	 * Write one line per run, with a header.
+	 *
+	 * @param file - the file to write.
+	 * @throws IOException - if the file cannot be written.
+	 */
+	public void writeCsv(Path file) throws IOException {
+		BufferedWriter out = Files.newBufferedWriter(file, StandardCharsets.UTF_8);
+		try {
+			out.write("maxIteration,popSize,numParents,probCrossover,probMutation,tournSize,"
+					+ "blxAlpha,mutationB,minTemp,maxTemp,optimumTemp,neighbourWeight,cutoff,"
+					+ "seed,generations,bestFitness,meanFitness,bestRadius,globalTemp,millis,failure");
+			out.newLine();
+			for (RunResult r : results) {
+				RunSettings s = r.getSettings();
+				out.write(s.getMaxIteration() + "," + s.getPopSize() + "," + s.getNumParents() + ","
+						+ s.getProbCrossover() + "," + s.getProbMutation() + "," + s.getTournSize() + ","
+						+ s.getBlxAlpha() + "," + s.getMutationB() + "," + s.getMinTemp() + ","
+						+ s.getMaxTemp() + "," + s.getOptimumTemp() + "," + s.getNeighbourWeight() + ","
+						+ s.getCutoff() + "," + r.getSeed() + "," + r.getGenerations() + ","
+						+ r.getBestFitness() + "," + r.getMeanFitness() + "," + r.getBestRadius() + ","
+						+ r.getGlobalTemp() + "," + r.getMillis() + ","
+						+ (r.isFailed() ? "\"" + r.getFailure().toString().replace("\"", "'") + "\"" : ""));
+				out.newLine();
+			}
+		} finally {
+			out.close();
+		}
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder sb = new StringBuilder();
+		sb.append(String.format("%4s %-68s %4s %12s %10s %12s %7s %9s%n",
+				"Rank", "Settings", "Runs", "Best (mean)", "Best (sd)", "Mean fitness", "Radius", "Time (ms)"));
+		int rank = 1;
+		for (Row row : getRanking()) {
+			sb.append(String.format("%4d %-68s %4s %12.6f %10.6f %12.6f %7.2f %9.0f%n",
+					rank++, row.getSettings(), row.getRunsLabel(), row.getMeanBestFitness(),
+					row.getStdDevBestFitness(), row.getMean(MEAN_FITNESS), row.getMean(RADIUS),
+					row.getMean(MILLIS)));
+		}
+		return sb.toString();
+	}
+
+	/**
+	 * The results of every seed run with one RunSettings.
+	 */
+	public static class Row {
+
+		private final RunSettings settings;
+		private final List<RunResult> results;
+
+		Row(RunSettings settings) {
+			this.settings = settings;
+			this.results = new ArrayList<RunResult>();
+		}
+
+		public RunSettings getSettings() {
+			return settings;
+		}
+
+		public List<RunResult> getResults() {
+			return Collections.unmodifiableList(results);
+		}
+
+		/**
+		 * @return the best fitness of each run which did not fail.
+		 */
+		public double[] getBestFitnesses() {
+			double[] values = new double[results.size()];
+			int n = 0;
+			for (RunResult r : results) {
+				if (!r.isFailed()) {
+					values[n++] = r.getBestFitness();
+				}
+			}
+			double[] trimmed = new double[n];
+			System.arraycopy(values, 0, trimmed, 0, n);
+			return trimmed;
+		}
+
+		public double getMeanBestFitness() {
+			return getMean(BEST_FITNESS);
+		}
+
+		public double getStdDevBestFitness() {
+			double mean = getMeanBestFitness();
+			int n = 0;
+			double sum = 0;
+			for (RunResult r : results) {
+				if (!r.isFailed()) {
+					double d = r.getBestFitness() - mean;
+					sum += d * d;
+					++n;
+				}
+			}
+			return (n > 1) ? Math.sqrt(sum / (n - 1)) : 0;
+		}
+
+		/**
+		 * @param value - BEST_FITNESS, MEAN_FITNESS, RADIUS or MILLIS.
+		 * @return the mean of the value over the runs which did not fail, or
+		 * NaN if they all failed.
+		 */
+		public double getMean(int value) {
+			int n = 0;
+			double sum = 0;
+			for (RunResult r : results) {
+				if (!r.isFailed()) {
+					sum += value(r, value);
+					++n;
+				}
+			}
+			return (n > 0) ? sum / n : Double.NaN;
+		}
+
+		public int getFailures() {
+			int failures = 0;
+			for (RunResult r : results) {
+				if (r.isFailed()) {
+					++failures;
+				}
+			}
+			return failures;
+		}
+
+		private String getRunsLabel() {
+			int failures = getFailures();
+			return (failures == 0) ? String.valueOf(results.size())
+					: (results.size() - failures) + "/" + results.size();
+		}
+
+		private static double value(RunResult r, int value) {
+			switch (value) {
+			case BEST_FITNESS:
+				return r.getBestFitness();
+			case MEAN_FITNESS:
+				return r.getMeanFitness();
+			case RADIUS:
+				return r.getBestRadius();
+			case MILLIS:
+				return r.getMillis();
+			default:
+				throw new IllegalArgumentException("Unknown value: " + value);
+			}
+		}
+	}
+
+}
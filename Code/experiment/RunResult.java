@@ -0,0 +1,118 @@
+package experiment;
+
+/**
+ * A summary of one finished (or failed) run: the fitness of its final
+ * Population and how long it took.
+ *
+ * @author Simon Dicken
+ * @version 2015-02-22
+ */
+public class RunResult {
+
+	private final RunSettings settings;
+	private final long seed;
+	private final int generations;
+	private final double bestFitness;
+	private final double meanFitness;
+	private final double bestRadius;
+	private final double globalTemp;
+	private final long millis;
+	private final Throwable failure;
+
+	/**
+	 * Constructor for a finished run.
+	 *
+	 * @param settings - the settings of the run.
+	 * @param seed - the seed of the run.
+	 * @param generations - the number of generations run.
+	 * @param bestFitness - the fitness of the fittest Individual at the end.
+	 * @param meanFitness - the mean fitness at the end.
+	 * @param bestRadius - the radius of the fittest Individual at the end.
+	 * @param globalTemp - the global temperature at the end.
+	 * @param millis - the time the run took.
+	 */
+	public RunResult(RunSettings settings, long seed, int generations, double bestFitness,
+			double meanFitness, double bestRadius, double globalTemp, long millis) {
+		this.settings = settings;
+		this.seed = seed;
+		this.generations = generations;
+		this.bestFitness = bestFitness;
+		this.meanFitness = meanFitness;
+		this.bestRadius = bestRadius;
+		this.globalTemp = globalTemp;
+		this.millis = millis;
+		this.failure = null;
+	}
+
+	/**
+	 * Constructor for a run which threw an exception.
+	 *
+	 * @param settings - the settings of the run.
+	 * @param seed - the seed of the run.
+	 * @param failure - what went wrong.
+	 */
+	public RunResult(RunSettings settings, long seed, Throwable failure) {
+		this.settings = settings;
+		this.seed = seed;
+		this.generations = 0;
+		this.bestFitness = Double.NaN;
+		this.meanFitness = Double.NaN;
+		this.bestRadius = Double.NaN;
+		this.globalTemp = Double.NaN;
+		this.millis = 0;
+		this.failure = failure;
+	}
+
+	public RunSettings getSettings() {
+		return settings;
+	}
+
+	public long getSeed() {
+		return seed;
+	}
+
+	public int getGenerations() {
+		return generations;
+	}
+
+	public double getBestFitness() {
+		return bestFitness;
+	}
+
+	public double getMeanFitness() {
+		return meanFitness;
+	}
+
+	public double getBestRadius() {
+		return bestRadius;
+	}
+
+	public double getGlobalTemp() {
+		return globalTemp;
+	}
+
+	public long getMillis() {
+		return millis;
+	}
+
+	/**
+	 * @return the exception which ended the run, or null if it finished.
+	 */
+	public Throwable getFailure() {
+		return failure;
+	}
+
+	public boolean isFailed() {
+		return failure != null;
+	}
+
+	@Override
+	public String toString() {
+		if (failure != null) {
+			return settings + " seed=" + seed + ": failed (" + failure + ")";
+		}
+		return String.format("%s seed=%d: best=%.6f mean=%.6f r=%.2f %dms",
+				settings, seed, bestFitness, meanFitness, bestRadius, millis);
+	}
+
+}
@@ -0,0 +1,226 @@
+package experiment;
+
+import geneticAlgorithm.core.GenerationalParams;
+
+/**
+ * The parameters of one run of the heat-seeking circles: the generational
+ * parameters, the settings of the operators and of the HeatFunction.
+ *
+ * RunSettings are immutable; each with...(...) method returns a copy with
+ * one parameter changed, so a ParameterGrid can build many from one base.
+ * The defaults are those of GAMainTest.
+ *
+ * @author Simon Dicken
+ * @version 2015-02-22
+ */
+public final class RunSettings {
+
+	private final int maxIteration;
+	private final int popSize;
+	private final int numParents;
+	private final double probCrossover;
+	private final double probMutation;
+
+	private final int tournSize;
+	private final double blxAlpha;
+	private final double mutationB;
+
+	private final double minTemp;
+	private final double maxTemp;
+	private final double optimumTemp;
+	private final double neighbourWeight;
+	private final double cutoff;
+
+	/**
+	 * Constructor for RunSettings with GAMainTest's parameters.
+	 */
+	public RunSettings() {
+		this(10000, 10, 2, 1.0, 0.5, 2, 0.5, 0.5, -100.0, 30.0, 38.0, 0, 0);
+	}
+
+	private RunSettings(int maxIteration, int popSize, int numParents,
+			double probCrossover, double probMutation, int tournSize,
+			double blxAlpha, double mutationB, double minTemp, double maxTemp,
+			double optimumTemp, double neighbourWeight, double cutoff) {
+		this.maxIteration = maxIteration;
+		this.popSize = popSize;
+		this.numParents = numParents;
+		this.probCrossover = probCrossover;
+		this.probMutation = probMutation;
+		this.tournSize = tournSize;
+		this.blxAlpha = blxAlpha;
+		this.mutationB = mutationB;
+		this.minTemp = minTemp;
+		this.maxTemp = maxTemp;
+		this.optimumTemp = optimumTemp;
+		this.neighbourWeight = neighbourWeight;
+		this.cutoff = cutoff;
+	}
+
+	public RunSettings withMaxIteration(int maxIteration) {
+		return new RunSettings(maxIteration, popSize, numParents, probCrossover, probMutation,
+				tournSize, blxAlpha, mutationB, minTemp, maxTemp, optimumTemp, neighbourWeight, cutoff);
+	}
+
+	public RunSettings withPopSize(int popSize) {
+		return new RunSettings(maxIteration, popSize, numParents, probCrossover, probMutation,
+				tournSize, blxAlpha, mutationB, minTemp, maxTemp, optimumTemp, neighbourWeight, cutoff);
+	}
+
+	public RunSettings withNumParents(int numParents) {
+		return new RunSettings(maxIteration, popSize, numParents, probCrossover, probMutation,
+				tournSize, blxAlpha, mutationB, minTemp, maxTemp, optimumTemp, neighbourWeight, cutoff);
+	}
+
+	public RunSettings withProbCrossover(double probCrossover) {
+		return new RunSettings(maxIteration, popSize, numParents, probCrossover, probMutation,
+				tournSize, blxAlpha, mutationB, minTemp, maxTemp, optimumTemp, neighbourWeight, cutoff);
+	}
+
+	public RunSettings withProbMutation(double probMutation) {
+		return new RunSettings(maxIteration, popSize, numParents, probCrossover, probMutation,
+				tournSize, blxAlpha, mutationB, minTemp, maxTemp, optimumTemp, neighbourWeight, cutoff);
+	}
+
+	public RunSettings withTournSize(int tournSize) {
+		return new RunSettings(maxIteration, popSize, numParents, probCrossover, probMutation,
+				tournSize, blxAlpha, mutationB, minTemp, maxTemp, optimumTemp, neighbourWeight, cutoff);
+	}
+
+	public RunSettings withBlxAlpha(double blxAlpha) {
+		return new RunSettings(maxIteration, popSize, numParents, probCrossover, probMutation,
+				tournSize, blxAlpha, mutationB, minTemp, maxTemp, optimumTemp, neighbourWeight, cutoff);
+	}
+
+	public RunSettings withMutationB(double mutationB) {
+		return new RunSettings(maxIteration, popSize, numParents, probCrossover, probMutation,
+				tournSize, blxAlpha, mutationB, minTemp, maxTemp, optimumTemp, neighbourWeight, cutoff);
+	}
+
+	public RunSettings withTemperatures(double minTemp, double maxTemp) {
+		return new RunSettings(maxIteration, popSize, numParents, probCrossover, probMutation,
+				tournSize, blxAlpha, mutationB, minTemp, maxTemp, optimumTemp, neighbourWeight, cutoff);
+	}
+
+	public RunSettings withOptimumTemp(double optimumTemp) {
+		return new RunSettings(maxIteration, popSize, numParents, probCrossover, probMutation,
+				tournSize, blxAlpha, mutationB, minTemp, maxTemp, optimumTemp, neighbourWeight, cutoff);
+	}
+
+	/**
+	 * @param neighbourWeight - the proportion of a neighbour's heat felt at
+	 * zero distance; 0 ignores the rest of the population.
+	 * @param cutoff - the distance beyond which circles do not heat each
+	 * other.
+	 * @return a copy with the new neighbour settings.
+	 */
+	public RunSettings withNeighbours(double neighbourWeight, double cutoff) {
+		return new RunSettings(maxIteration, popSize, numParents, probCrossover, probMutation,
+				tournSize, blxAlpha, mutationB, minTemp, maxTemp, optimumTemp, neighbourWeight, cutoff);
+	}
+
+	public GenerationalParams getGenParams() {
+		return new GenerationalParams(maxIteration, popSize, numParents, probCrossover, probMutation);
+	}
+
+	public int getMaxIteration() {
+		return maxIteration;
+	}
+
+	public int getPopSize() {
+		return popSize;
+	}
+
+	public int getNumParents() {
+		return numParents;
+	}
+
+	public double getProbCrossover() {
+		return probCrossover;
+	}
+
+	public double getProbMutation() {
+		return probMutation;
+	}
+
+	public int getTournSize() {
+		return tournSize;
+	}
+
+	public double getBlxAlpha() {
+		return blxAlpha;
+	}
+
+	public double getMutationB() {
+		return mutationB;
+	}
+
+	public double getMinTemp() {
+		return minTemp;
+	}
+
+	public double getMaxTemp() {
+		return maxTemp;
+	}
+
+	public double getOptimumTemp() {
+		return optimumTemp;
+	}
+
+	public double getNeighbourWeight() {
+		return neighbourWeight;
+	}
+
+	public double getCutoff() {
+		return cutoff;
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		if (this == o) {
+			return true;
+		}
+		if (!(o instanceof RunSettings)) {
+			return false;
+		}
+		RunSettings s = (RunSettings) o;
+		return maxIteration == s.maxIteration && popSize == s.popSize
+				&& numParents == s.numParents && tournSize == s.tournSize
+				&& Double.compare(probCrossover, s.probCrossover) == 0
+				&& Double.compare(probMutation, s.probMutation) == 0
+				&& Double.compare(blxAlpha, s.blxAlpha) == 0
+				&& Double.compare(mutationB, s.mutationB) == 0
+				&& Double.compare(minTemp, s.minTemp) == 0
+				&& Double.compare(maxTemp, s.maxTemp) == 0
+				&& Double.compare(optimumTemp, s.optimumTemp) == 0
+				&& Double.compare(neighbourWeight, s.neighbourWeight) == 0
+				&& Double.compare(cutoff, s.cutoff) == 0;
+	}
+
+	@Override
+	public int hashCode() {
+		double[] values = { probCrossover, probMutation, blxAlpha, mutationB, minTemp,
+				maxTemp, optimumTemp, neighbourWeight, cutoff };
+		int h = ((maxIteration * 31 + popSize) * 31 + numParents) * 31 + tournSize;
+		for (double v : values) {
+			long bits = Double.doubleToLongBits(v);
+			h = h * 31 + (int) (bits ^ (bits >>> 32));
+		}
+		return h;
+	}
+
+	/**
+	 * A short description, used to label the rows of a ResultTable.
+	 */
+	@Override
+	public String toString() {
+		String s = String.format("pop=%d par=%d pc=%.2f pm=%.2f k=%d a=%.2f b=%.2f T=[%.0f,%.0f] opt=%.0f",
+				popSize, numParents, probCrossover, probMutation, tournSize, blxAlpha,
+				mutationB, minTemp, maxTemp, optimumTemp);
+		if (neighbourWeight > 0) {
+			s += String.format(" nw=%.2f cut=%.0f", neighbourWeight, cutoff);
+		}
+		return s;
+	}
+
+}
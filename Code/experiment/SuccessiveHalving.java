@@ -0,0 +1,178 @@
+package experiment;
+
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Tunes the parameters by racing the configurations against each other,
+ * rather than running every one of them for its full maxIteration.
+ *
+ * Every configuration starts with a small budget of generations (on every
+ * seed). At the end of each 'rung' the configurations are ranked by their
+ * mean best fitness, and each one outside the top 1/eta of them is dropped
+ * if a one-sided rank test across the seeds (see RankTest) says it is worse
+ * than the leader at the significance level alpha. The survivors are given
+ * eta times as many generations, and so on until they reach their
+ * maxIteration.
+ *
+ * Runs are continued from where they stopped (see Trial) rather than
+ * restarted, so the survivors' final results are exactly those a full grid
+ * would have given them, and a configuration which is never significantly
+ * worse than the leader is never dropped.
+ *
+ * @author Simon Dicken
+ * @version 2015-02-22
+ */
+public class SuccessiveHalving {
+
+	private final ExperimentRunner runner;
+	private final int minGenerations;
+	private final int eta;
+	private final double alpha;
+	private PrintStream progress;
+
+	/**
+	 * Constructor for SuccessiveHalving.
+	 *
+	 * @param runner - runs the configurations.
+	 * @param minGenerations - the budget of the first rung.
+	 * @param eta - the factor by which the budget grows, and by which the
+	 * number of configurations can shrink, at each rung (at least 2).
+	 * @param alpha - the significance level at which a configuration is
+	 * judged worse than the leader (e.g. 0.05).
+	 */
+	public SuccessiveHalving(ExperimentRunner runner, int minGenerations, int eta, double alpha) {
+		if (minGenerations < 1 || eta < 2 || !(alpha > 0 && alpha < 1)) {
+			throw new IllegalArgumentException(
+					"minGenerations must be at least 1, eta at least 2 and alpha in (0, 1).");
+		}
+		this.runner = runner;
+		this.minGenerations = minGenerations;
+		this.eta = eta;
+		this.alpha = alpha;
+		this.progress = null;
+	}
+
+	/**
+	 * Print a summary of each rung.
+	 *
+	 * @param progress - where to print, or null to print nothing.
+	 */
+	public void setProgress(PrintStream progress) {
+		this.progress = progress;
+	}
+
+	/**
+	 * Race the configurations.
+	 *
+	 * @param settings - the configurations.
+	 * @param seeds - the seeds to run each configuration with (the test
+	 * needs at least 3 or so to drop anything).
+	 * @return the finalists and the configurations which were dropped.
+	 * @throws InterruptedException - if interrupted whilst waiting.
+	 */
+	public RaceResult run(List<RunSettings> settings, long... seeds) throws InterruptedException {
+
+		List<Trial> trials = runner.createTrials(settings, seeds);
+
+		long fullCost = 0;
+		int maxBudget = 0;
+		for (RunSettings s : settings) {
+			fullCost += (long) s.getMaxIteration() * seeds.length;
+			maxBudget = Math.max(maxBudget, s.getMaxIteration());
+		}
+
+		Map<Trial, RunResult> latest = new LinkedHashMap<Trial, RunResult>();
+		List<RaceResult.Elimination> eliminations = new ArrayList<RaceResult.Elimination>();
+
+		int budget = Math.min(minGenerations, maxBudget);
+		while (true) {
+
+			List<RunResult> results = runner.advance(trials, budget);
+			for (int i=0; i<trials.size(); ++i) {
+				latest.put(trials.get(i), results.get(i));
+			}
+
+			if (budget >= maxBudget) {
+				break;
+			}
+
+			Set<RunSettings> dropped = eliminate(new ResultTable(results), budget, eliminations);
+
+			List<Trial> survivors = new ArrayList<Trial>();
+			for (Trial t : trials) {
+				if (dropped.contains(t.getSettings())) {
+					t.discard();
+				} else {
+					survivors.add(t);
+				}
+			}
+			trials = survivors;
+
+			budget = (int) Math.min((long) budget * eta, maxBudget);
+		}
+
+		long cost = 0;
+		for (RunResult r : latest.values()) {
+			cost += r.getGenerations();
+		}
+
+		List<RunResult> finals = new ArrayList<RunResult>();
+		for (Trial t : trials) {
+			finals.add(latest.get(t));
+		}
+
+		return new RaceResult(new ResultTable(finals), eliminations, cost, fullCost);
+	}
+
+	/**
+	 * Decide which configurations to drop after a rung.
+	 *
+	 * @return the settings of the configurations dropped.
+	 */
+	private Set<RunSettings> eliminate(ResultTable rung, int budget,
+			List<RaceResult.Elimination> eliminations) {
+
+		List<ResultTable.Row> ranking = rung.getRanking();
+		int keep = (ranking.size() + eta - 1) / eta;
+		double[] leader = ranking.get(0).getBestFitnesses();
+
+		Set<RunSettings> dropped = new HashSet<RunSettings>();
+		for (int i=keep; i<ranking.size(); ++i) {
+			ResultTable.Row row = ranking.get(i);
+			double[] sample = row.getBestFitnesses();
+
+			// A configuration which failed on every seed is always dropped.
+			double p = (sample.length == 0) ? 0 : RankTest.pLess(sample, leader);
+			if (p < alpha) {
+				dropped.add(row.getSettings());
+				eliminations.add(new RaceResult.Elimination(row.getSettings(), budget,
+						row.getMeanBestFitness(), p));
+			}
+		}
+
+		if (progress != null) {
+			progress.println(String.format("Rung at %d generations: %d configurations, %d dropped",
+					budget, ranking.size(), dropped.size()));
+		}
+		return dropped;
+	}
+
+	public int getMinGenerations() {
+		return minGenerations;
+	}
+
+	public int getEta() {
+		return eta;
+	}
+
+	public double getAlpha() {
+		return alpha;
+	}
+
+}
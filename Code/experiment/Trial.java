@@ -0,0 +1,126 @@
+package experiment;
+
+import geneticAlgorithm.core.GeneticAlgorithm;
+import geneticAlgorithm.core.HeatGeneticAlgorithm;
+import geneticAlgorithm.core.Individual;
+import geneticAlgorithm.core.Population;
+import geometry.Circle;
+
+import java.nio.ByteBuffer;
+
+import utils.RandomProvider;
+
+/**
+ * One run of an experiment, which can be advanced a few generations at a
+ * time (e.g. by SuccessiveHalving) on whichever worker thread is free.
+ *
+ * The algorithm is kept between calls to advance(...), together with the
+ * state of its RandomProvider (which is saved at the end of each call and
+ * restored on the next thread), so a run advanced in steps draws exactly
+ * the same numbers as one run straight through.
+ *
+ * @author Simon Dicken
+ * @version 2015-02-22
+ */
+class Trial {
+
+	private final ExperimentRunner runner;
+	private final RunSettings settings;
+	private final long seed;
+
+	private final RandomProvider rand;
+	private final ByteBuffer randomState;
+	private GeneticAlgorithm<Circle> ga;
+	private long nanos;
+	private RunResult failure;
+
+	Trial(ExperimentRunner runner, RunSettings settings, long seed) {
+		this.runner = runner;
+		this.settings = settings;
+		this.seed = seed;
+		this.rand = new RandomProvider(seed);
+		this.randomState = ByteBuffer.allocate(RandomProvider.STATE_BYTES);
+		this.ga = null;
+		this.nanos = 0;
+		this.failure = null;
+	}
+
+	/**
+	 * Run the algorithm up to the given generation (or its maximum
+	 * iteration, if that is sooner), creating it on the first call. Must not
+	 * be called by two threads at once.
+	 *
+	 * @param generation - the generation to stop at.
+	 * @return a summary of the run so far; failed if it has thrown an
+	 * exception.
+	 */
+	RunResult advance(int generation) {
+
+		if (failure != null) {
+			return failure;
+		}
+
+		RandomProvider.setThreadDefault(rand);
+		try {
+			long t0 = System.nanoTime();
+
+			if (ga == null) {
+				ga = runner.createAlgorithm(settings, rand);
+			} else {
+				randomState.rewind();
+				rand.restoreState(randomState);
+			}
+
+			int target = Math.min(generation, settings.getMaxIteration());
+			while (ga.getCurrentGen() < target && !ga.isFinished()) {
+				ga.nextIteration();
+			}
+
+			randomState.clear();
+			rand.saveState(randomState);
+			nanos += System.nanoTime() - t0;
+
+			return summarise();
+
+		} catch (RuntimeException e) {
+			failure = new RunResult(settings, seed, e);
+			ga = null;
+			return failure;
+		} finally {
+			RandomProvider.setThreadDefault(null);
+		}
+	}
+
+	/**
+	 * Let the algorithm be garbage collected, e.g. once the run has been
+	 * eliminated.
+	 */
+	void discard() {
+		ga = null;
+	}
+
+	RunSettings getSettings() {
+		return settings;
+	}
+
+	long getSeed() {
+		return seed;
+	}
+
+	private RunResult summarise() {
+
+		Population<Individual<Circle>> pop = ga.getPop();
+		double sum = 0;
+		for (Individual<Circle> ind : pop) {
+			sum += ind.getFitness();
+		}
+		Individual<Circle> best = pop.getMax();
+		double globalTemp = (ga instanceof HeatGeneticAlgorithm)
+				? ((HeatGeneticAlgorithm<Circle>) ga).getGlobalTemp() : Double.NaN;
+
+		return new RunResult(settings, seed, ga.getCurrentGen(), best.getFitness(),
+				sum / pop.size(), best.getRepresentation().getRadius(), globalTemp,
+				nanos / 1000000);
+	}
+
+}
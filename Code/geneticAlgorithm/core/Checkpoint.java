@@ -0,0 +1,227 @@
+package geneticAlgorithm.core;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+
+import utils.RandomProvider;
+
+/**
+ * Saves the state of a GeneticAlgorithm to a compact binary file, and
+ * restores it, so that a long run can be resumed after the process has been
+ * stopped.
+ *
+ * A checkpoint holds the current generation, the state of the algorithm's
+ * RandomProvider, any state kept by a sub-class (e.g. the global
+ * temperature of a HeatGeneticAlgorithm) and every Individual in the
+ * Population with its fitness. The operators, parameters and fitness
+ * Function are not saved: a run is resumed by building the algorithm as
+ * before and calling restore(...) before the first generation.
+ *
+ * The file is written to a temporary file which is then renamed over the
+ * previous checkpoint, so a crash whilst writing leaves the previous
+ * checkpoint intact. Each file ends with a CRC-32 of its contents.
+ *
+ * Layout (big-endian): magic, version, generation, RandomProvider state,
+ * sub-class state size and bytes, population size, representation size,
+ * then (fitness, representation) for each Individual, then the CRC.
+ *
+ * @author Simon Dicken
+ * @version 2015-02-22
+ */
+public final class Checkpoint {
+
+	private static final int MAGIC = 0x47414350; // "GACP"
+	private static final int VERSION = 1;
+
+	private Checkpoint() {
+	}
+
+	/**
+	 * Write a checkpoint of the algorithm to the file, replacing any
+	 * previous checkpoint. Must not be called whilst a generation is in
+	 * progress, and must be called on the thread which runs the algorithm.
+	 *
+	 * @param ga - the algorithm to save.
+	 * @param codec - used to encode the representations.
+	 * @param file - the checkpoint file.
+	 * @throws IOException - if the file could not be written.
+	 */
+	public static <T> void write(GeneticAlgorithm<T> ga, Codec<T> codec, Path file)
+			throws IOException {
+		writeAtomically(encode(ga, codec, null), file);
+	}
+
+	/**
+	 * Replace the state of the algorithm with the one saved in the file.
+	 * The Population is cleared and filled with the saved Individuals.
+	 * The RandomProvider is restored on the thread that runs the next
+	 * generation, so the algorithm may be restored on one thread and run on
+	 * another.
+	 *
+	 * @param ga - the algorithm to restore, built with the same parameters,
+	 * operators and Function as the saved one.
+	 * @param codec - used to decode the representations.
+	 * @param file - the checkpoint file.
+	 * @throws IOException - if the file could not be read, or is not a valid
+	 * checkpoint.
+	 */
+	public static <T> void restore(GeneticAlgorithm<T> ga, Codec<T> codec, Path file)
+			throws IOException {
+
+		ByteBuffer buf;
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+			long size = channel.size();
+			if (size > Integer.MAX_VALUE) {
+				throw new IOException("Checkpoint is too large: " + file);
+			}
+			buf = ByteBuffer.allocate((int) size);
+			while (buf.hasRemaining()) {
+				if (channel.read(buf) < 0) {
+					throw new IOException("Unexpected end of checkpoint: " + file);
+				}
+			}
+		}
+		buf.flip();
+
+		if (buf.remaining() < 20 || buf.getInt() != MAGIC) {
+			throw new IOException("Not a checkpoint file: " + file);
+		}
+		int version = buf.getInt();
+		if (version != VERSION) {
+			throw new IOException("Unsupported checkpoint version " + version + ": " + file);
+		}
+
+		// Check the CRC before trusting any of the contents.
+		ByteBuffer contents = buf.duplicate();
+		contents.position(0);
+		contents.limit(buf.limit() - 8);
+		CRC32 crc = new CRC32();
+		crc.update(contents);
+		if (crc.getValue() != buf.getLong(buf.limit() - 8)) {
+			throw new IOException("Checkpoint is corrupt: " + file);
+		}
+
+		int generation = buf.getInt();
+
+		ByteBuffer randomState = ByteBuffer.allocate(RandomProvider.STATE_BYTES);
+		buf.get(randomState.array());
+
+		int stateSize = buf.getInt();
+		if (stateSize != ga.getStateSize()) {
+			throw new IOException("Checkpoint was saved by a different algorithm: " + file);
+		}
+		ByteBuffer state = buf.slice();
+		state.limit(stateSize);
+		buf.position(buf.position() + stateSize);
+
+		int popSize = buf.getInt();
+		int repSize = buf.getInt();
+		if (repSize != codec.getEncodedSize()) {
+			throw new IOException("Checkpoint was saved with a different Codec: " + file);
+		}
+
+		Population<Individual<T>> pop = ga.getPop();
+		pop.clear();
+		for (int i=0; i<popSize; ++i) {
+			double fitness = buf.getDouble();
+			Individual<T> ind = new Individual<T>(codec.decode(buf));
+			ind.setFitness(fitness);
+			pop.insert(ind);
+		}
+
+		ga.currentGen = generation;
+		ga.restoreState(state);
+		ga.restoreRandomState(randomState);
+	}
+
+	/**
+	 * Encode a checkpoint of the algorithm. Must be called on the thread
+	 * which runs the algorithm, between generations.
+	 *
+	 * @param ga - the algorithm to save.
+	 * @param codec - used to encode the representations.
+	 * @param buf - a buffer to reuse if it is large enough, or null.
+	 * @return the encoded checkpoint, ready to be written.
+	 */
+	static <T> ByteBuffer encode(GeneticAlgorithm<T> ga, Codec<T> codec, ByteBuffer buf) {
+
+		Population<Individual<T>> pop = ga.getPop();
+		int popSize = pop.size();
+		int repSize = codec.getEncodedSize();
+		int stateSize = ga.getStateSize();
+
+		long required = 4 + 4 + 4 + RandomProvider.STATE_BYTES + 4 + stateSize
+				+ 4 + 4 + (long) popSize * (8 + repSize) + 8;
+		if (required > Integer.MAX_VALUE) {
+			throw new IllegalStateException("Population is too large to checkpoint.");
+		}
+		if (buf == null || buf.capacity() < required) {
+			buf = ByteBuffer.allocateDirect((int) required);
+		}
+		buf.clear();
+
+		buf.putInt(MAGIC);
+		buf.putInt(VERSION);
+		buf.putInt(ga.getCurrentGen());
+		ga.getRandomProvider().saveState(buf);
+
+		buf.putInt(stateSize);
+		int stateStart = buf.position();
+		ga.saveState(buf);
+		if (buf.position() - stateStart != stateSize) {
+			throw new IllegalStateException("saveState(...) did not write getStateSize() bytes.");
+		}
+
+		buf.putInt(popSize);
+		buf.putInt(repSize);
+		for (Individual<T> ind : pop) {
+			buf.putDouble(ind.getFitness());
+			codec.encode(ind.getRepresentation(), buf);
+		}
+
+		ByteBuffer contents = buf.duplicate();
+		contents.flip();
+		CRC32 crc = new CRC32();
+		crc.update(contents);
+		buf.putLong(crc.getValue());
+
+		buf.flip();
+		return buf;
+	}
+
+	/**
+	 * Write the buffer to a temporary file, force it to the disk and rename
+	 * it over the given file.
+	 *
+	 * @param buf - the bytes to write; its position is advanced to its limit.
+	 * @param file - the file to replace.
+	 * @throws IOException - if the file could not be written.
+	 */
+	static void writeAtomically(ByteBuffer buf, Path file) throws IOException {
+
+		Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+
+		try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.CREATE,
+				StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+			while (buf.hasRemaining()) {
+				channel.write(buf);
+			}
+			channel.force(true);
+		}
+
+		try {
+			Files.move(tmp, file, StandardCopyOption.ATOMIC_MOVE,
+					StandardCopyOption.REPLACE_EXISTING);
+		} catch (AtomicMoveNotSupportedException e) {
+			Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING);
+		}
+	}
+
+}
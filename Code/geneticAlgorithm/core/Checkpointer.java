@@ -0,0 +1,161 @@
+package geneticAlgorithm.core;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Saves a Checkpoint of a GeneticAlgorithm every few generations without
+ * holding up the algorithm for the disk.
+ *
+ * The state is encoded into a buffer on the algorithm's thread at the end of
+ * a generation (see GeneticAlgorithm.setCheckpointer(...)), and written out
+ * on a background thread. Two buffers are used in turn, so the next
+ * checkpoint can be encoded whilst the previous one is being written; the
+ * algorithm only waits if a write is still in progress when the one after it
+ * is ready.
+ *
+ * A failed write is reported to System.err and does not stop the algorithm;
+ * the previous checkpoint file is left in place.
+ *
+ * @author Simon Dicken
+ * @version 2015-02-22
+ */
+public class Checkpointer<T> {
+
+	private final Path file;
+	private final int interval;
+	private final Codec<T> codec;
+
+	private final ByteBuffer[] buffers;
+	private int nextBuffer;
+
+	private final ExecutorService writer;
+	private Future<?> pendingWrite;
+	private volatile IOException lastFailure;
+
+	/**
+	 * Constructor for Checkpointer.
+	 *
+	 * @param file - the checkpoint file; each checkpoint replaces the last.
+	 * @param interval - the number of generations between checkpoints.
+	 * @param codec - used to encode the representations.
+	 */
+	public Checkpointer(Path file, int interval, Codec<T> codec) {
+
+		if (interval < 1) {
+			throw new IllegalArgumentException("Interval must be at least 1.");
+		}
+
+		this.file = file;
+		this.interval = interval;
+		this.codec = codec;
+		this.buffers = new ByteBuffer[2];
+		this.nextBuffer = 0;
+		this.writer = Executors.newSingleThreadExecutor(new ThreadFactory() {
+			@Override
+			public Thread newThread(Runnable r) {
+				Thread t = new Thread(r, "checkpoint-writer");
+				t.setDaemon(true);
+				return t;
+			}
+		});
+		this.pendingWrite = null;
+		this.lastFailure = null;
+	}
+
+	/**
+	 * Called by the algorithm at the end of each generation; saves a
+	 * checkpoint if one is due.
+	 *
+	 * @param ga - the algorithm.
+	 */
+	void generationCompleted(GeneticAlgorithm<T> ga) {
+		if (ga.getCurrentGen() % interval == 0) {
+			checkpoint(ga);
+		}
+	}
+
+	/**
+	 * Encode a checkpoint of the algorithm now and write it in the
+	 * background. Must be called on the thread which runs the algorithm,
+	 * between generations.
+	 *
+	 * @param ga - the algorithm to save.
+	 */
+	public void checkpoint(GeneticAlgorithm<T> ga) {
+
+		final ByteBuffer buf = Checkpoint.encode(ga, codec, buffers[nextBuffer]);
+		buffers[nextBuffer] = buf;
+		nextBuffer ^= 1;
+
+		awaitPendingWrite();
+
+		pendingWrite = writer.submit(new Runnable() {
+			@Override
+			public void run() {
+				try {
+					Checkpoint.writeAtomically(buf, file);
+				} catch (IOException e) {
+					lastFailure = e;
+					System.err.println("Could not write checkpoint " + file + ": " + e);
+				}
+			}
+		});
+	}
+
+	/**
+	 * Wait for any checkpoint still being written, and stop the background
+	 * thread.
+	 */
+	public void close() {
+		awaitPendingWrite();
+		writer.shutdown();
+	}
+
+	/**
+	 * @return the exception thrown by the most recent write which failed, or
+	 * null if every write has succeeded.
+	 */
+	public IOException getLastFailure() {
+		return lastFailure;
+	}
+
+	public Path getFile() {
+		return file;
+	}
+
+	public int getInterval() {
+		return interval;
+	}
+
+	private void awaitPendingWrite() {
+
+		if (pendingWrite == null) {
+			return;
+		}
+
+		boolean interrupted = false;
+		while (true) {
+			try {
+				pendingWrite.get();
+				break;
+			} catch (InterruptedException e) {
+				interrupted = true;
+			} catch (ExecutionException e) {
+				throw new IllegalStateException("Writing a checkpoint failed.", e.getCause());
+			}
+		}
+		pendingWrite = null;
+
+		if (interrupted) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+}
@@ -0,0 +1,36 @@
+package geneticAlgorithm.core;
+
+import geometry.Circle;
+import geometry.PointXY;
+
+import java.nio.ByteBuffer;
+
+/**
+ * 
+ * @author Simon Dicken
+ * @version 2015-02-22
+ */
+public class CircleCodec implements Codec<Circle> {
+
+	@Override
+	public int getEncodedSize() {
+		return 3 * 8;
+	}
+	
+	@Override
+	public void encode(Circle c, ByteBuffer buf) {
+		PointXY ref = c.getReference();
+		buf.putDouble(ref.getX());
+		buf.putDouble(ref.getY());
+		buf.putDouble(c.getRadius());
+	}
+	
+	@Override
+	public Circle decode(ByteBuffer buf) {
+		double x = buf.getDouble();
+		double y = buf.getDouble();
+		double radius = buf.getDouble();
+		return new Circle(new PointXY(x, y), radius);
+	}
+	
+}
@@ -0,0 +1,18 @@
+package geneticAlgorithm.core;
+
+import geometry.Circle;
+import geometry.PointXY;
+
+/**
+ * 
+ * @author Simon Dicken
+ * @version 2015-02-22
+ */
+public class CircleCopier implements Copier<Circle> {
+
+	@Override
+	public Circle copy(Circle c) {
+		return new Circle(new PointXY(c.getReference()), c.getRadius());
+	}
+	
+}
@@ -0,0 +1,24 @@
+package geneticAlgorithm.core;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Converts a representation to and from a fixed number of bytes, so that a
+ * Population can be saved (e.g. by a Checkpointer) and restored later.
+ * 
+ * @author Simon Dicken
+ * @version 2015-02-22
+ */
+public interface Codec<T> {
+
+	/**
+	 * @return the number of bytes written by encode(...) for every 
+	 * representation.
+	 */
+	int getEncodedSize();
+	
+	void encode(T rep, ByteBuffer buf);
+	
+	T decode(ByteBuffer buf);
+	
+}
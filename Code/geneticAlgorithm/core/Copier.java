@@ -0,0 +1,15 @@
+package geneticAlgorithm.core;
+
+/**
+ * Creates independent (deep) copies of a representation, so that a copy of 
+ * an Individual can be handed to another Population or thread without the 
+ * two sharing mutable state.
+ * 
+ * @author Simon Dicken
+ * @version 2015-02-22
+ */
+public interface Copier<T> {
+
+	T copy(T rep);
+	
+}
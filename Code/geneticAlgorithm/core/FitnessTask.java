@@ -0,0 +1,55 @@
+package geneticAlgorithm.core;
+
+import geneticAlgorithm.function.BatchFunction;
+import geneticAlgorithm.function.Function;
+
+import java.util.List;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Evaluates a range of Individuals, splitting the range in half and 
+ * evaluating the halves in parallel until it is no larger than the grain 
+ * size. If the Function is a BatchFunction, each range is evaluated with a 
+ * single batch call.
+ * 
+ * @author Simon Dicken
+ * @version 2015-02-22
+ */
+class FitnessTask<T> extends RecursiveAction {
+
+	private static final long serialVersionUID = 1L;
+
+	private final Function<T> function;
+	private final List<Individual<T>> inds;
+	private final int from;
+	private final int to;
+	private final int grain;
+	
+	FitnessTask(Function<T> function, List<Individual<T>> inds, int from, 
+			int to, int grain) {
+		this.function = function;
+		this.inds = inds;
+		this.from = from;
+		this.to = to;
+		this.grain = grain;
+	}
+	
+	@Override
+	protected void compute() {
+		
+		if (to - from <= grain) {
+			if (function instanceof BatchFunction) {
+				((BatchFunction<T>) function).evaluate(inds, from, to);
+			} else {
+				for (int i=from; i<to; ++i) {
+					function.evaluate(inds.get(i));
+				}
+			}
+		} else {
+			int mid = (from + to) >>> 1;
+			invokeAll(new FitnessTask<T>(function, inds, from, mid, grain), 
+					  new FitnessTask<T>(function, inds, mid, to, grain));
+		}
+	}
+	
+}
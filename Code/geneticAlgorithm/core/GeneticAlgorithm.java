@@ -1,11 +1,25 @@
 package geneticAlgorithm.core;
 
 import geneticAlgorithm.crossover.Breeder;
+import geneticAlgorithm.crossover.InPlaceBreeder;
+import geneticAlgorithm.function.BatchFunction;
+import geneticAlgorithm.function.ColumnFunction;
 import geneticAlgorithm.function.Function;
+import geneticAlgorithm.function.ThreadSafeFunction;
+import geneticAlgorithm.metrics.MetricsRecorder;
+import geneticAlgorithm.metrics.Phase;
 import geneticAlgorithm.mutation.Mutator;
 import geneticAlgorithm.selection.Selector;
+import geneticAlgorithm.stats.StatsRecorder;
+import geneticAlgorithm.termination.TerminationCondition;
 
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import utils.RandomProvider;
+import utils.RandomStream;
 
 /**
  * 
@@ -14,12 +28,44 @@ import java.util.List;
  */
 public abstract class GeneticAlgorithm<T> {
 
+	// The number of Individuals evaluated by a single parallel task.
+	private static final int EVALUATION_GRAIN = 64;
+	
 	protected int currentGen;
 	
 	private Population<Individual<T>> pop;
 	private EvoParams<T> evoParams;
 	private GenerationalParams genParams;
 	private Function<T> function;
+	private RandomProvider random;
+	
+	private ForkJoinPool evaluationPool;
+	private final List<Individual<T>> evaluationBuffer;
+	private final SurvivorSelector<T> survivorSelector;
+	
+	// The parents of a generation, in the order they were selected (the same
+	// Individual may appear more than once), and the shuffled indices which 
+	// pair them up for crossover.
+	private final List<Individual<T>> parents;
+	private int[] mating;
+	
+	// The offspring of a generation; created on first use and cleared at the
+	// start of each generation, rather than re-created.
+	private Population<Individual<T>> offspring;
+	private OffspringPool<T> offspringPool;
+	
+	private Checkpointer<T> checkpointer;
+	private MetricsRecorder metrics;
+	private StatsRecorder stats;
+	
+	private TerminationCondition<T> termination;
+	private boolean terminationStarted;
+	private TerminationCondition<T> terminatedBy;
+	private long evaluations;
+	
+	// RandomProvider state from a Checkpoint, applied on the thread which 
+	// runs the next generation.
+	private ByteBuffer pendingRandomState;
 	
 	public GeneticAlgorithm(
 			Population<Individual<T>> pop, 
@@ -32,64 +78,160 @@ public abstract class GeneticAlgorithm<T> {
 		this.genParams = genParams;
 		this.function = function;
 		this.currentGen = 0;
+		this.random = RandomProvider.getDefault();
+		this.evaluationPool = null;
+		this.evaluationBuffer = new ArrayList<Individual<T>>();
+		this.parents = new ArrayList<Individual<T>>();
+		this.mating = new int[0];
+		this.survivorSelector = new SurvivorSelector<T>();
+		this.offspringPool = null;
+		this.checkpointer = null;
+		this.metrics = null;
+		this.stats = null;
+		this.termination = null;
+		this.terminationStarted = false;
+		this.terminatedBy = null;
+		this.evaluations = 0;
+		this.pendingRandomState = null;
 	}
 	
 	public void nextIteration() {
 		
-		int maxIter = getGenParams().getMaxIteration();
-		
-		if (getCurrentGen() < maxIter) {
-			Population<Individual<T>> parents = select();
+		if (!isFinished()) {
+			
+			if (pendingRandomState != null) {
+				random.restoreState(pendingRandomState);
+				pendingRandomState = null;
+			}
+			
+			if (termination != null && !terminationStarted) {
+				termination.start(this);
+				terminationStarted = true;
+			}
+			
+			if (metrics != null) {
+				metrics.beginGeneration(currentGen);
+			}
+			
+			List<Individual<T>> parents = select();
+			endPhase(Phase.SELECT);
 			Population<Individual<T>> offspring = crossover(parents);
+			if (metrics != null) {
+				metrics.addOffspring(offspring.size());
+			}
+			endPhase(Phase.CROSSOVER);
 			mutate(offspring);
+			endPhase(Phase.MUTATE);
 			calculateFitness(offspring);
+			endPhase(Phase.EVALUATE);
 			revisePopulation(offspring);
+			endPhase(Phase.REVISE);
 			additionalActions();
+			if (stats != null && stats.isDue(currentGen)) {
+				recordStats(stats);
+			}
+			endPhase(Phase.ADDITIONAL);
 			++currentGen;
+			
+			if (termination != null) {
+				terminatedBy = termination.check(this);
+			}
+			
+			if (checkpointer != null) {
+				checkpointer.generationCompleted(this);
+			}
+			
+			if (metrics != null) {
+				metrics.endPhase(Phase.CHECKPOINT);
+				metrics.endGeneration();
+			}
 		}
 		
 	}
 	
-	protected Population<Individual<T>> select() {
+	/**
+	 * Chooses the generation's parents. Exactly numParents Individuals are
+	 * chosen, and a fit Individual may be chosen several times.
+	 * 
+	 * @return the parents; the list is reused by the next generation.
+	 */
+	protected List<Individual<T>> select() {
 		
-		Population<Individual<T>> parents = new PopulationTreeSet<Individual<T>>();
+		parents.clear();
 		
-		for (int i=0; i<getGenParams().getNumParents(); ++i) {
-			Selector<T> s = getEvoParams().getSelector();
-			s.setCurrentGen(getCurrentGen());
-			Individual<T> ind = s.select(getPop());
-			parents.insert(ind);
-		}
+		// Snapshot the population once, then choose every parent from it.
+		Selector<T> s = getEvoParams().getSelector();
+		s.setCurrentGen(getCurrentGen());
+		s.prepare(getPop());
+		s.select(getGenParams().getNumParents(), parents);
 		
 		return parents;
 	}
 	
-	protected Population<Individual<T>> crossover(Population<Individual<T>> parents) {
+	/**
+	 * Shuffles the parents' indices once (Fisher-Yates) and breeds each pair
+	 * of neighbours with probability probCrossover, so every parent takes 
+	 * part in at most one crossover and the work is O(number of parents). 
+	 * If there is an odd number of parents, the last one is left out.
+	 * 
+	 * @param parents - the parents chosen by select().
+	 * @return the offspring.
+	 */
+	protected Population<Individual<T>> crossover(List<Individual<T>> parents) {
 		
-		Population<Individual<T>> offspring = new PopulationTreeSet<Individual<T>>();
+		if (offspring == null) {
+			offspring = createPopulation();
+		}
+		offspring.clear();
+		
+		Breeder<T> breeder = getEvoParams().getBreeder();
+		boolean inPlace = (offspringPool != null && breeder instanceof InPlaceBreeder);
+		if (inPlace) {
+			offspringPool.reclaim(getPop());
+		}
+		
+		RandomStream r = random.current();
 		
 		int parentsSize = parents.size();
+		if (mating.length < parentsSize) {
+			mating = new int[parentsSize];
+		}
+		for (int i=0; i<parentsSize; ++i) {
+			mating[i] = i;
+		}
+		for (int i=parentsSize-1; i>0; --i) {
+			int j = r.nextInt(i + 1);
+			int tmp = mating[i];
+			mating[i] = mating[j];
+			mating[j] = tmp;
+		}
+		
 		int maxParent = parentsSize - parentsSize%2;
+		breeder.setCurrentGen(getCurrentGen());
 		
-		for(int i=1; i<=maxParent; i+=2) {
+		for(int i=0; i<maxParent; i+=2) {
 			
-			double randCrossover = Math.random();
+			double randCrossover = r.nextDouble();
 			if (randCrossover < getGenParams().getProbCrossover()) {
 				
-				int rand1 = (int) (Math.random() * parentsSize);
-				int rand2 = (int) (Math.random() * (parentsSize - 1));
-				
-				Individual<T> parent1 = parents.removeNthMax(rand1);
-				Individual<T> parent2 = parents.removeNthMax(rand2);
-				
-				parentsSize -= 2;
+				Individual<T> parent1 = parents.get(mating[i]);
+				Individual<T> parent2 = parents.get(mating[i + 1]);
 				
-				Breeder<T> breeder = getEvoParams().getBreeder();
-				breeder.setCurrentGen(getCurrentGen());
-				List<Individual<T>> newInds = parent1.crossover(breeder, parent2);
-				
-				for (Individual<T> ind : newInds) {
-					offspring.insert(ind);
+				if (inPlace) {
+					
+					T rep1 = parent1.getRepresentation();
+					Individual<T> child = offspringPool.obtain(rep1);
+					((InPlaceBreeder<T>) breeder).crossover(rep1, 
+							parent2.getRepresentation(), child.getRepresentation());
+					offspring.insert(child);
+					
+				} else {
+					
+					List<Individual<T>> newInds = parent1.crossover(breeder, parent2);
+					
+					for (Individual<T> ind : newInds) {
+						offspring.insert(ind);
+					}
 				}
 				
 			}
@@ -102,15 +244,17 @@ public abstract class GeneticAlgorithm<T> {
 	
 	protected void mutate(Population<Individual<T>> offspring) {
 		
-		for (int i=0; i<offspring.size(); ++i) {
+		RandomStream r = random.current();
+		
+		for (Individual<T> ind : offspring) {
 			
-			double randMutation = Math.random();
+			double randMutation = r.nextDouble();
 			if (randMutation < getGenParams().getProbMutation()) {
 				
 				Mutator<T> mutator = getEvoParams().getMutator();
 				mutator.setCurrentGen(getCurrentGen());
 				
-				offspring.getNthMax(i).mutate(mutator);
+				ind.mutate(mutator);
 				
 			}
 		}
@@ -118,46 +262,134 @@ public abstract class GeneticAlgorithm<T> {
 	
 	protected void calculateFitness(Population<Individual<T>> population) {
 		
-		int popSize = population.size();
-		for (int i=0; i<popSize; ++i) {
-			getFunction().evaluate(population.getNthMax(i));
+		evaluations += population.size();
+		if (metrics != null) {
+			metrics.addEvaluations(population.size());
 		}
 		
+		// A tight loop over the Population's own columns, if it has them.
+		if (function instanceof ColumnFunction 
+				&& ((ColumnFunction<T>) function).evaluateColumns(population)) {
+			return;
+		}
+		
+		boolean parallel = isParallelEvaluation() && population.size() > EVALUATION_GRAIN;
+		
+		if (!parallel && !(function instanceof BatchFunction)) {
+			for (Individual<T> ind : population) {
+				getFunction().evaluate(ind);
+			}
+			return;
+		}
+		
+		// Take a random-access snapshot so the work can be split by index.
+		evaluationBuffer.clear();
+		for (Individual<T> ind : population) {
+			evaluationBuffer.add(ind);
+		}
+		
+		int size = evaluationBuffer.size();
+		if (parallel) {
+			evaluationPool.invoke(new FitnessTask<T>(getFunction(), evaluationBuffer, 
+					0, size, EVALUATION_GRAIN));
+		} else {
+			((BatchFunction<T>) function).evaluate(evaluationBuffer, 0, size);
+		}
+		
+		evaluationBuffer.clear();
+	}
+	
+	/**
+	 * Whether calculateFitness(...) will fan the evaluations out across the 
+	 * evaluation pool. This requires a pool to have been set and the fitness
+	 * Function to be a ThreadSafeFunction.
+	 * 
+	 * @return true if fitness values are calculated in parallel.
+	 */
+	public boolean isParallelEvaluation() {
+		return evaluationPool != null && function instanceof ThreadSafeFunction;
 	}
 	
 	protected void revisePopulation(Population<Individual<T>> offspring) {
 		
 		// Add the offspring to the population.
-		for (int i=0; i<offspring.size(); ++i) {
-			pop.insert(offspring.getNthMax(i));
+		for (Individual<T> ind : offspring) {
+			pop.insert(ind);
 		}
 		
 		// Recalculate all the fitness values.
 		calculateFitness(pop);
 		
-		// Re-sort the population.
-		Population<Individual<T>> newPop = new PopulationTreeSet<Individual<T>>();
-		int popSize = pop.size();
-		for (int i=0; i<popSize; ++i) {
-			Individual<T> ind = pop.getMin();
-			newPop.insert(ind);
-			pop.removeMin();
-		}
-		pop = newPop;
-		
-		// Remove the least fit Individuals.
-		int newSize = pop.size();
-		for (int i=newSize; i>genParams.getPopSize(); --i) {
-			pop.removeMin();
-		}
+		// Re-sort the population and remove the least fit Individuals.
+		survivorSelector.select(pop, genParams.getPopSize());
 		
 	}
 	
+	/**
+	 * Creates an empty Population for use by the algorithm (e.g. for the 
+	 * offspring of a generation). 
+	 * Sub-classes can override this method to use a different Population 
+	 * implementation.
+	 * 
+	 * @return a new, empty Population.
+	 */
+	protected Population<Individual<T>> createPopulation() {
+		return new PopulationRankTree<Individual<T>>();
+	}
+	
 	protected void additionalActions() {
 		// sub-classes can define any extra work that should be done at the end 
 		// of a generation by overriding this method.
 	}
 	
+	/**
+	 * Pass the statistics of the generation just completed to the 
+	 * StatsRecorder. Sub-classes can override this method to include more 
+	 * information (e.g. a global temperature).
+	 * 
+	 * @param stats - the recorder.
+	 */
+	protected void recordStats(StatsRecorder stats) {
+		stats.record(getCurrentGen(), getPop(), Double.NaN);
+	}
+	
+	private void endPhase(Phase phase) {
+		if (metrics != null) {
+			metrics.endPhase(phase);
+		}
+	}
+	
+	/**
+	 * The number of bytes written by saveState(...). Sub-classes which keep
+	 * state between generations override this method, saveState(...) and 
+	 * restoreState(...) so that the state is included in a Checkpoint.
+	 * 
+	 * @return the size of the sub-class state in bytes.
+	 */
+	protected int getStateSize() {
+		return 0;
+	}
+	
+	/**
+	 * Write the sub-class state to a Checkpoint.
+	 * 
+	 * @param buf - the buffer to write getStateSize() bytes to.
+	 */
+	protected void saveState(ByteBuffer buf) {
+	}
+	
+	/**
+	 * Restore the sub-class state from a Checkpoint.
+	 * 
+	 * @param buf - the buffer to read getStateSize() bytes from.
+	 */
+	protected void restoreState(ByteBuffer buf) {
+	}
+	
+	void restoreRandomState(ByteBuffer state) {
+		this.pendingRandomState = state;
+	}
+	
 	
 	public GenerationalParams getGenParams() {
 		return genParams;
@@ -175,7 +407,138 @@ public abstract class GeneticAlgorithm<T> {
 		return currentGen;
 	}
 	
+	/**
+	 * @return true once the algorithm has reached its maxIteration or its 
+	 * TerminationCondition has been met; nextIteration() then does nothing.
+	 */
+	public boolean isFinished() {
+		return currentGen >= genParams.getMaxIteration() || terminatedBy != null;
+	}
+	
+	/**
+	 * @return the number of fitness values calculated since the algorithm 
+	 * was created (or restored from a Checkpoint).
+	 */
+	public long getEvaluations() {
+		return evaluations;
+	}
+	
 	public Function<T> getFunction() {
 		return function;
 	}
+	
+	/**
+	 * Set the pool used to evaluate fitness values in parallel. 
+	 * Parallel evaluation is only used if the fitness Function is a 
+	 * ThreadSafeFunction; otherwise Individuals are evaluated on the calling
+	 * thread as before.
+	 * 
+	 * @param evaluationPool - the pool to use, or null to evaluate serially.
+	 */
+	public void setEvaluationPool(ForkJoinPool evaluationPool) {
+		this.evaluationPool = evaluationPool;
+	}
+	
+	public ForkJoinPool getEvaluationPool() {
+		return evaluationPool;
+	}
+	
+	/**
+	 * Set the source of random numbers used by the algorithm itself (e.g. to
+	 * decide whether crossover and mutation take place). The operators in 
+	 * the EvoParams are given their own providers when they are created.
+	 * 
+	 * @param random - the RandomProvider to use.
+	 */
+	public void setRandomProvider(RandomProvider random) {
+		this.random = random;
+	}
+	
+	/**
+	 * Recycle the Individuals which drop out of the Population as the 
+	 * offspring of later generations, instead of allocating new ones. 
+	 * Only used if the Breeder is an InPlaceBreeder. 
+	 * Since a recycled representation is overwritten, nothing may keep a 
+	 * reference to an Individual (or its representation) after it has left 
+	 * the Population; take a copy instead.
+	 * 
+	 * @param copier - used to create the representations of new offspring 
+	 * until enough have been recycled, or null to allocate every child.
+	 */
+	public void setOffspringCopier(Copier<T> copier) {
+		this.offspringPool = (copier == null) ? null : new OffspringPool<T>(copier);
+	}
+	
+	public RandomProvider getRandomProvider() {
+		return random;
+	}
+	
+	/**
+	 * Save a Checkpoint at the end of every generation for which the 
+	 * Checkpointer is due.
+	 * 
+	 * @param checkpointer - the Checkpointer to use, or null to stop saving
+	 * checkpoints.
+	 */
+	public void setCheckpointer(Checkpointer<T> checkpointer) {
+		this.checkpointer = checkpointer;
+	}
+	
+	public Checkpointer<T> getCheckpointer() {
+		return checkpointer;
+	}
+	
+	/**
+	 * Time the phases of each generation and count the work done. 
+	 * With no recorder (the default) nothing is measured.
+	 * 
+	 * @param metrics - the recorder to use, or null to stop recording.
+	 */
+	public void setMetricsRecorder(MetricsRecorder metrics) {
+		this.metrics = metrics;
+	}
+	
+	public MetricsRecorder getMetricsRecorder() {
+		return metrics;
+	}
+	
+	/**
+	 * Record the statistics of the Population at the end of every generation
+	 * for which the StatsRecorder is due. Nothing is recorded by default.
+	 * 
+	 * @param stats - the recorder to use, or null to stop recording.
+	 */
+	public void setStatsRecorder(StatsRecorder stats) {
+		this.stats = stats;
+	}
+	
+	public StatsRecorder getStatsRecorder() {
+		return stats;
+	}
+	
+	/**
+	 * End the run as soon as a condition is met (checked at the end of every
+	 * generation), rather than always running to maxIteration, which still
+	 * applies. By default there is no condition.
+	 * 
+	 * @param termination - the condition, or null to always run to 
+	 * maxIteration.
+	 */
+	public void setTerminationCondition(TerminationCondition<T> termination) {
+		this.termination = termination;
+		this.terminationStarted = false;
+		this.terminatedBy = null;
+	}
+	
+	public TerminationCondition<T> getTerminationCondition() {
+		return termination;
+	}
+	
+	/**
+	 * @return the condition which ended the run (e.g. one part of an 
+	 * AnyCondition), or null if the run has not ended or ran to maxIteration.
+	 */
+	public TerminationCondition<T> getTerminatedBy() {
+		return terminatedBy;
+	}
 }
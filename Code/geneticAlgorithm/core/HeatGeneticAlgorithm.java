@@ -1,10 +1,11 @@
 package geneticAlgorithm.core;
 
 import geneticAlgorithm.function.HeatFunction;
+import geneticAlgorithm.stats.StatsRecorder;
 import geometry.PointXY;
 import geometry.Shape;
 
-import java.util.Random;
+import java.nio.ByteBuffer;
 
 /**
  * 
@@ -34,8 +35,7 @@ public class HeatGeneticAlgorithm<T extends Shape> extends GeneticAlgorithm<T> {
 	@Override
 	protected void calculateFitness(Population<Individual<T>> population) {
 		
-		getFunction().setGlobalTemp(globalTemp);
-		getFunction().setPopulation(getPop());
+		getFunction().update(globalTemp, getPop());
 		
 		super.calculateFitness(population);
 		
@@ -64,28 +64,36 @@ public class HeatGeneticAlgorithm<T extends Shape> extends GeneticAlgorithm<T> {
 		double mean = minTemp + (seasonTempValue * factor) + (seasonTempValue/2);
 		double stddev = 5; //seasonTempValue;
 		
-		Random r = new Random();
-		this.globalTemp = r.nextGaussian()*stddev + mean;
+		this.globalTemp = getRandomProvider().current().nextGaussian()*stddev + mean;
 	}
 
 	@Override
 	protected void additionalActions() {
 		calculateGlobalTemp(getCurrentGen());
-		printSummary(currentGen);
 	}
 	
-	private void printSummary(int epoch) {
-		
-		System.out.println("Epoch: " + epoch);
-		System.out.println("Global temperature : " + globalTemp);
-		System.out.println("Best fitness: " + getPop().getMax().getFitness());
-		System.out.println("Best radius: " + Math.sqrt(getPop().getMax().getRepresentation().getArea()/Math.PI));
-		System.out.println("Worst fitness: " + getPop().getMin().getFitness());
-		System.out.println("Worst radius: " + Math.sqrt(getPop().getMin().getRepresentation().getArea()/Math.PI));
-		System.out.println("Best - worst: " + (getPop().getMax().getFitness() - getPop().getMin().getFitness()));
-		System.out.println("Population size: " + getPop().size());
-		System.out.println(" ");
-		printPopulation();
+	@Override
+	protected void recordStats(StatsRecorder stats) {
+		stats.record(getCurrentGen(), getPop(), globalTemp);
+	}
+	
+	public double getGlobalTemp() {
+		return globalTemp;
+	}
+	
+	@Override
+	protected int getStateSize() {
+		return 8;
+	}
+	
+	@Override
+	protected void saveState(ByteBuffer buf) {
+		buf.putDouble(globalTemp);
+	}
+	
+	@Override
+	protected void restoreState(ByteBuffer buf) {
+		globalTemp = buf.getDouble();
 	}
 	
 	@Override
@@ -6,6 +6,8 @@ import geneticAlgorithm.mutation.Mutator;
 import java.util.ArrayList;
 import java.util.List;
 
+import utils.NumberUtils;
+
 /**
  * 
  * @author Simon Dicken
@@ -19,7 +21,7 @@ public class Individual<T> implements Comparable<Individual<T>> {
 	
 	public Individual(T representation) {
 		this.representation = representation;
-		this.fitness = Math.random() * Double.MAX_VALUE;
+		this.fitness = NumberUtils.randomDouble(0, Double.MAX_VALUE);
 		this.fitnessValid = false;
 	}
 
@@ -54,6 +56,14 @@ public class Individual<T> implements Comparable<Individual<T>> {
 		fitnessValid = true;
 	}
 	
+	/**
+	 * Mark the fitness value as out of date, e.g. after the representation 
+	 * has been overwritten.
+	 */
+	public void invalidateFitness() {
+		fitnessValid = false;
+	}
+	
 	public void mutate(Mutator<T> mutator) {
 		mutator.mutate(getRepresentation());
 		
@@ -0,0 +1,98 @@
+package geneticAlgorithm.core;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Hands out Individuals for the algorithm to breed into, and takes them back
+ * once they are no longer in the Population, so that a run whose Population 
+ * size is stable stops allocating offspring after the first few generations.
+ * 
+ * The pool cannot see Individuals being removed from the Population, so 
+ * reclaim(...) instead marks every pooled Individual which is still in the 
+ * Population and frees the rest. Individuals which the pool did not create
+ * are ignored, so it is safe to use with a Population which copies 
+ * Individuals in (e.g. PopulationCircleArrays) - every pooled Individual is 
+ * then free again after each generation.
+ * 
+ * @author Simon Dicken
+ * @version 2015-02-22
+ */
+class OffspringPool<T> {
+
+	private final Copier<T> copier;
+	
+	// Every Individual created by the pool, and those not currently in use.
+	private final List<Pooled<T>> all;
+	private final List<Pooled<T>> free;
+	private int stamp;
+	
+	OffspringPool(Copier<T> copier) {
+		this.copier = copier;
+		this.all = new ArrayList<Pooled<T>>();
+		this.free = new ArrayList<Pooled<T>>();
+		this.stamp = 0;
+	}
+	
+	/**
+	 * Obtain an Individual whose representation may be overwritten. If none
+	 * is free, a new one is created by copying the template.
+	 * 
+	 * @param template - a representation to copy if a new Individual is needed.
+	 * @return the Individual, with its fitness marked as out of date.
+	 */
+	Individual<T> obtain(T template) {
+		
+		Pooled<T> ind;
+		int n = free.size();
+		if (n > 0) {
+			ind = free.remove(n - 1);
+		} else {
+			ind = new Pooled<T>(copier.copy(template));
+			all.add(ind);
+		}
+		
+		ind.invalidateFitness();
+		ind.stamp = stamp;
+		return ind;
+	}
+	
+	/**
+	 * Free every pooled Individual which is not in the given Population (and
+	 * was not obtained since the last call).
+	 * 
+	 * @param live - the Individuals which are still in use.
+	 */
+	void reclaim(Iterable<Individual<T>> live) {
+		
+		++stamp;
+		
+		for (Individual<T> ind : live) {
+			if (ind instanceof Pooled) {
+				((Pooled<T>) ind).stamp = stamp;
+			}
+		}
+		
+		free.clear();
+		for (int i=0; i<all.size(); ++i) {
+			Pooled<T> ind = all.get(i);
+			if (ind.stamp != stamp) {
+				free.add(ind);
+			}
+		}
+	}
+	
+	/*
+	 * An Individual owned by the pool.
+	 */
+	private static class Pooled<T> extends Individual<T> {
+		
+		// The generation in which the Individual was last known to be in use.
+		private int stamp;
+		
+		private Pooled(T representation) {
+			super(representation);
+		}
+	}
+	
+}
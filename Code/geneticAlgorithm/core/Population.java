@@ -1,5 +1,6 @@
 package geneticAlgorithm.core;
 
+import java.util.List;
 
 /**
  * A Population used in Evolutionary Computation.
@@ -8,10 +9,13 @@ package geneticAlgorithm.core;
  * be possible to manipulate the Population by adding/removing Individuals and
  * also 'peek' at the Population. 
  * 
+ * Iterating over a Population visits every Individual in order, from the 
+ * lowest to the highest fitness value.
+ * 
  * @author Simon Dicken
  * @version 2015-02-22
  */
-public interface Population<T extends Individual<?>> {
+public interface Population<T extends Individual<?>> extends Iterable<T> {
 
 	/**
 	 * Method to insert the given Individual into the Population.
@@ -153,6 +157,22 @@ public interface Population<T extends Individual<?>> {
 	 */
 	T getNthMin(int n);
 	
+	/**
+	 * Removes all the Individuals from the Population.
+	 */
+	void clear();
+	
+	/**
+	 * Replaces the contents of the Population with the given Individuals.
+	 * The Individuals are copied out of the list, so the list may be reused 
+	 * (or may even hold Individuals taken from this Population).
+	 * Precondition: the list is in ascending order of fitness value.
+	 * 
+	 * @param inds - the Individuals which will form the Population, lowest 
+	 * fitness value first.
+	 */
+	void refill(List<T> inds);
+	
 	/**
 	 * Return the number of Individuals in the Population.
 	 * 
@@ -0,0 +1,553 @@
+package geneticAlgorithm.core;
+
+import geometry.Circle;
+import geometry.PointXY;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import utils.SortUtils;
+
+/**
+ * A Population of circles stored as a 'struct of arrays'.
+ *
+ * The x co-ordinate, y co-ordinate, radius and fitness of every Individual
+ * are held in parallel double[] columns, and the ranking is an int[]
+ * permutation of the column indices (slots) sorted by fitness. The columns
+ * are dense: slots 0 to size()-1 are always in use, so kernels can loop over
+ * them directly (see getXColumn(), getYColumn(), getRadiusColumn() and
+ * getFitnessColumn()).
+ *
+ * Inserting an Individual copies its values into the columns. The
+ * Individuals returned by the get methods and the iterator are lightweight
+ * views onto a slot: reading them reads the columns, and mutating their
+ * Circle or fitness writes straight back into the columns. A view is only
+ * valid while its Individual remains in the Population; the remove methods
+ * therefore return detached copies.
+ *
+ * Setting the fitness of an Individual through a view marks the ranking as
+ * stale, and it is re-sorted (with a single primitive sort) the next time a
+ * ranked query is made. This means that, unlike the tree-based Populations,
+ * the fitness values of the Individuals can safely be recalculated whilst
+ * they are in the Population.
+ *
+ * @author Simon Dicken
+ * @version 2015-02-22
+ */
+public class PopulationCircleArrays implements Population<Individual<Circle>> {
+
+	private static final int DEFAULT_CAPACITY = 16;
+
+	// Per-slot columns.
+	private double[] xs;
+	private double[] ys;
+	private double[] radii;
+	private double[] fitnesses;
+	private SlotIndividual[] views;
+
+	// order[head] to order[head + size - 1] hold the slots in ascending order
+	// of fitness (when sorted is true); position[slot] is the index of the
+	// slot in order.
+	private int[] order;
+	private int[] position;
+	private int head;
+	private int size;
+	private boolean sorted;
+
+	// Staging column used by refill(...).
+	private double[] scratch;
+
+	public PopulationCircleArrays() {
+		this(DEFAULT_CAPACITY);
+	}
+
+	public PopulationCircleArrays(int initialCapacity) {
+		int capacity = Math.max(1, initialCapacity);
+		xs = new double[capacity];
+		ys = new double[capacity];
+		radii = new double[capacity];
+		fitnesses = new double[capacity];
+		views = new SlotIndividual[capacity];
+		order = new int[capacity];
+		position = new int[capacity];
+		scratch = new double[0];
+		head = 0;
+		size = 0;
+		sorted = true;
+	}
+
+	@Override
+	public boolean insert(Individual<Circle> ind) {
+
+		Circle c = ind.getRepresentation();
+		PointXY centre = c.getReference();
+		double fitness = ind.getFitness();
+
+		ensureCapacity(size + 1);
+		if (head + size == order.length) {
+			compactOrder();
+		}
+
+		int slot = size;
+		xs[slot] = centre.getX();
+		ys[slot] = centre.getY();
+		radii[slot] = c.getRadius();
+		fitnesses[slot] = fitness;
+
+		int p = head + size;
+		order[p] = slot;
+		position[slot] = p;
+
+		if (size > 0 && fitness < fitnesses[order[p - 1]]) {
+			sorted = false;
+		}
+		++size;
+
+		return true;
+	}
+
+	@Override
+	public Individual<Circle> removeMax() {
+		if (size == 0) {
+			return null;
+		}
+		return removeAtRank(size - 1);
+	}
+
+	@Override
+	public Individual<Circle> removeMin() {
+		if (size == 0) {
+			return null;
+		}
+		return removeAtRank(0);
+	}
+
+	@Override
+	public void removeMaxN(int n) {
+		for (int i=0; i<n; ++i) {
+			removeMax();
+		}
+	}
+
+	@Override
+	public void removeMinN(int n) {
+		for (int i=0; i<n; ++i) {
+			removeMin();
+		}
+	}
+
+	@Override
+	public Individual<Circle> removeNthMax(int n) {
+		checkRank(n);
+		return removeAtRank(size - 1 - n);
+	}
+
+	@Override
+	public Individual<Circle> removeNthMin(int n) {
+		checkRank(n);
+		return removeAtRank(n);
+	}
+
+	@Override
+	public Individual<Circle> getMax() {
+		if (size == 0) {
+			throw new NoSuchElementException();
+		}
+		return getNthMin(size - 1);
+	}
+
+	@Override
+	public Individual<Circle> getMin() {
+		if (size == 0) {
+			throw new NoSuchElementException();
+		}
+		return getNthMin(0);
+	}
+
+	@Override
+	public Individual<Circle> getNthMax(int n) {
+		checkRank(n);
+		return getNthMin(size - 1 - n);
+	}
+
+	@Override
+	public Individual<Circle> getNthMin(int n) {
+		checkRank(n);
+		ensureSorted();
+		return view(order[head + n]);
+	}
+
+	@Override
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Removes all the Individuals from the Population. The columns are kept,
+	 * so refilling the Population does not allocate.
+	 */
+	@Override
+	public void clear() {
+		head = 0;
+		size = 0;
+		sorted = true;
+	}
+
+	/**
+	 * Replaces the contents of the Population in O(n) time. The list may
+	 * hold views onto this Population; their values are staged before any
+	 * of the columns are overwritten.
+	 */
+	@Override
+	public void refill(List<Individual<Circle>> inds) {
+
+		int n = inds.size();
+		ensureCapacity(n);
+		if (scratch.length < 4 * n) {
+			scratch = new double[4 * Math.max(n, xs.length)];
+		}
+
+		for (int i=0; i<n; ++i) {
+			Individual<Circle> ind = inds.get(i);
+			Circle c = ind.getRepresentation();
+			PointXY centre = c.getReference();
+			int j = 4 * i;
+			scratch[j] = centre.getX();
+			scratch[j + 1] = centre.getY();
+			scratch[j + 2] = c.getRadius();
+			scratch[j + 3] = ind.getFitness();
+		}
+
+		sorted = true;
+		for (int i=0; i<n; ++i) {
+			int j = 4 * i;
+			xs[i] = scratch[j];
+			ys[i] = scratch[j + 1];
+			radii[i] = scratch[j + 2];
+			fitnesses[i] = scratch[j + 3];
+			order[i] = i;
+			position[i] = i;
+			if (i > 0 && fitnesses[i] < fitnesses[i - 1]) {
+				sorted = false;
+			}
+		}
+		head = 0;
+		size = n;
+	}
+
+	/**
+	 * Iterates over the Population from the lowest to the highest fitness
+	 * value. Fitness values may be set through the returned views during
+	 * the iteration (the ranking is re-sorted afterwards), but Individuals
+	 * must not be inserted or removed.
+	 */
+	@Override
+	public Iterator<Individual<Circle>> iterator() {
+		ensureSorted();
+		return new Iterator<Individual<Circle>>() {
+
+			private int next = 0;
+			private final int end = size;
+			private final int start = head;
+
+			@Override
+			public boolean hasNext() {
+				return next < end;
+			}
+
+			@Override
+			public Individual<Circle> next() {
+				if (next >= end) {
+					throw new NoSuchElementException();
+				}
+				return view(order[start + next++]);
+			}
+
+			@Override
+			public void remove() {
+				throw new UnsupportedOperationException();
+			}
+		};
+	}
+
+	/**
+	 * The x co-ordinates of the circle centres, indexed by slot.
+	 * Only the first size() entries are meaningful.
+	 *
+	 * @return the x column (double[])
+	 */
+	public double[] getXColumn() {
+		return xs;
+	}
+
+	/**
+	 * The y co-ordinates of the circle centres, indexed by slot.
+	 * Only the first size() entries are meaningful.
+	 *
+	 * @return the y column (double[])
+	 */
+	public double[] getYColumn() {
+		return ys;
+	}
+
+	/**
+	 * The circle radii, indexed by slot.
+	 * Only the first size() entries are meaningful.
+	 *
+	 * @return the radius column (double[])
+	 */
+	public double[] getRadiusColumn() {
+		return radii;
+	}
+
+	/**
+	 * The fitness values, indexed by slot.
+	 * Only the first size() entries are meaningful. If the column is written
+	 * to directly, fitnessChanged() must be called afterwards.
+	 *
+	 * @return the fitness column (double[])
+	 */
+	public double[] getFitnessColumn() {
+		return fitnesses;
+	}
+
+	/**
+	 * Marks the ranking as stale after the fitness column has been written
+	 * to directly. The Population is re-sorted on the next ranked query.
+	 */
+	public void fitnessChanged() {
+		sorted = false;
+	}
+
+	private void checkRank(int n) {
+		if (n < 0) {
+			throw new IllegalArgumentException("n must be non-negative.");
+		}
+		if (n >= size) {
+			throw new IllegalArgumentException("n is larger than size of population.");
+		}
+	}
+
+	private Individual<Circle> removeAtRank(int rank) {
+
+		ensureSorted();
+
+		int p = head + rank;
+		int slot = order[p];
+		Individual<Circle> removed = detach(slot);
+
+		// Close the gap in the ranking.
+		if (rank == 0) {
+			++head;
+		} else if (rank < size - 1) {
+			System.arraycopy(order, p + 1, order, p, size - 1 - rank);
+			for (int i=p; i<head+size-1; ++i) {
+				position[order[i]] = i;
+			}
+		}
+		--size;
+
+		// Keep the columns dense by moving the last slot into the gap. The 
+		// moved Individual's view goes with it, and the removed Individual's
+		// view takes over the dead slot, to be reused by the next insert.
+		int last = size;
+		if (slot != last) {
+			xs[slot] = xs[last];
+			ys[slot] = ys[last];
+			radii[slot] = radii[last];
+			fitnesses[slot] = fitnesses[last];
+			order[position[last]] = slot;
+			position[slot] = position[last];
+			swapViews(slot, last);
+		}
+
+		if (size == 0) {
+			head = 0;
+		}
+
+		return removed;
+	}
+
+	private Individual<Circle> detach(int slot) {
+		Circle c = new Circle(new PointXY(xs[slot], ys[slot]), radii[slot]);
+		Individual<Circle> ind = new Individual<Circle>(c);
+		ind.setFitness(fitnesses[slot]);
+		return ind;
+	}
+
+	private void ensureSorted() {
+		if (!sorted) {
+			compactOrder();
+			SortUtils.sortIndices(order, fitnesses, 0, size);
+			for (int i=0; i<size; ++i) {
+				position[order[i]] = i;
+			}
+			sorted = true;
+		}
+	}
+
+	private void compactOrder() {
+		if (head > 0) {
+			System.arraycopy(order, head, order, 0, size);
+			head = 0;
+			for (int i=0; i<size; ++i) {
+				position[order[i]] = i;
+			}
+		}
+	}
+
+	private void ensureCapacity(int capacity) {
+		if (capacity <= xs.length) {
+			return;
+		}
+		int newCapacity = Math.max(capacity, xs.length * 2);
+		xs = Arrays.copyOf(xs, newCapacity);
+		ys = Arrays.copyOf(ys, newCapacity);
+		radii = Arrays.copyOf(radii, newCapacity);
+		fitnesses = Arrays.copyOf(fitnesses, newCapacity);
+		views = Arrays.copyOf(views, newCapacity);
+		order = Arrays.copyOf(order, newCapacity);
+		position = Arrays.copyOf(position, newCapacity);
+	}
+
+	private void swapViews(int a, int b) {
+		SlotIndividual va = views[a];
+		SlotIndividual vb = views[b];
+		views[a] = vb;
+		views[b] = va;
+		if (vb != null) {
+			vb.moveTo(a);
+		}
+		if (va != null) {
+			va.moveTo(b);
+		}
+	}
+
+	private SlotIndividual view(int slot) {
+		SlotIndividual v = views[slot];
+		if (v == null) {
+			v = new SlotIndividual(this, slot);
+			views[slot] = v;
+		}
+		return v;
+	}
+
+	/*
+	 * An Individual whose fitness and Circle are read from, and written to,
+	 * a slot in the columns.
+	 */
+	private static class SlotIndividual extends Individual<Circle> {
+
+		private final PopulationCircleArrays pop;
+		private int slot;
+		private final SlotCircle circle;
+
+		private SlotIndividual(PopulationCircleArrays pop, int slot) {
+			super(null);
+			this.pop = pop;
+			this.slot = slot;
+			this.circle = new SlotCircle(pop, slot);
+		}
+
+		private void moveTo(int slot) {
+			this.slot = slot;
+			circle.moveTo(slot);
+		}
+
+		@Override
+		public double getFitness() {
+			return pop.fitnesses[slot];
+		}
+
+		@Override
+		public void setFitness(double fitness) {
+			pop.fitnesses[slot] = fitness;
+			pop.sorted = false;
+		}
+
+		@Override
+		public Circle getRepresentation() {
+			return circle;
+		}
+	}
+
+	private static class SlotCircle extends Circle {
+
+		private final PopulationCircleArrays pop;
+		private final SlotPoint centre;
+		private int slot;
+
+		private SlotCircle(PopulationCircleArrays pop, int slot) {
+			this(pop, new SlotPoint(pop, slot), slot);
+		}
+
+		private SlotCircle(PopulationCircleArrays pop, SlotPoint centre, int slot) {
+			super(centre, 0);
+			this.pop = pop;
+			this.centre = centre;
+			this.slot = slot;
+		}
+
+		private void moveTo(int slot) {
+			this.slot = slot;
+			centre.slot = slot;
+		}
+
+		@Override
+		public double getRadius() {
+			return pop.radii[slot];
+		}
+
+		@Override
+		public void setRadius(double radius) {
+			pop.radii[slot] = radius;
+		}
+
+		@Override
+		public void setReference(PointXY reference) {
+			pop.xs[slot] = reference.getX();
+			pop.ys[slot] = reference.getY();
+		}
+	}
+
+	private static class SlotPoint extends PointXY {
+
+		private final PopulationCircleArrays pop;
+		private int slot;
+
+		private SlotPoint(PopulationCircleArrays pop, int slot) {
+			super(0, 0);
+			this.pop = pop;
+			this.slot = slot;
+		}
+
+		@Override
+		public double getX() {
+			return pop.xs[slot];
+		}
+
+		@Override
+		public double getY() {
+			return pop.ys[slot];
+		}
+
+		@Override
+		public void setX(double x) {
+			pop.xs[slot] = x;
+		}
+
+		@Override
+		public void setY(double y) {
+			pop.ys[slot] = y;
+		}
+
+		@Override
+		public void setXY(double x, double y) {
+			pop.xs[slot] = x;
+			pop.ys[slot] = y;
+		}
+	}
+
+}
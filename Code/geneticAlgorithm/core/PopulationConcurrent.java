@@ -0,0 +1,226 @@
+package geneticAlgorithm.core;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * A thread-safe Population which wraps another (by default a 
+ * PopulationRankTree, so rank access stays O(log n)).
+ * 
+ * Queries take a shared read lock, so any number of threads can select 
+ * from the Population at once; modifications take an exclusive write lock.
+ * insertAndEvict(...) performs an insertion and the matching removal of the
+ * least fit Individual as a single atomic step, so the size of a full 
+ * Population never changes and a rank chosen from size() stays valid.
+ * 
+ * Iteration works on a snapshot taken under the read lock.
+ * 
+ * @author Simon Dicken
+ * @version 2015-02-22
+ */
+public class PopulationConcurrent<T extends Individual<?>> implements Population<T> {
+
+	private final Population<T> pop;
+	private final Lock readLock;
+	private final Lock writeLock;
+	
+	public PopulationConcurrent() {
+		this(new PopulationRankTree<T>());
+	}
+	
+	/**
+	 * Wrap the given Population. The Population must not be accessed other 
+	 * than through this wrapper afterwards.
+	 * 
+	 * @param pop - the Population to wrap.
+	 */
+	public PopulationConcurrent(Population<T> pop) {
+		this.pop = pop;
+		ReadWriteLock lock = new ReentrantReadWriteLock();
+		this.readLock = lock.readLock();
+		this.writeLock = lock.writeLock();
+	}
+	
+	/**
+	 * Insert the Individual and then, whilst the Population is larger than 
+	 * maxSize, remove the least fit Individual - atomically.
+	 * 
+	 * @param ind - the Individual to insert.
+	 * @param maxSize - the maximum size of the Population.
+	 * @return false if the inserted Individual was itself evicted.
+	 */
+	public boolean insertAndEvict(T ind, int maxSize) {
+		writeLock.lock();
+		try {
+			pop.insert(ind);
+			boolean survived = true;
+			while (pop.size() > maxSize) {
+				if (pop.removeMin() == ind) {
+					survived = false;
+				}
+			}
+			return survived;
+		} finally {
+			writeLock.unlock();
+		}
+	}
+	
+	@Override
+	public boolean insert(T ind) {
+		writeLock.lock();
+		try {
+			return pop.insert(ind);
+		} finally {
+			writeLock.unlock();
+		}
+	}
+
+	@Override
+	public T removeMax() {
+		writeLock.lock();
+		try {
+			return pop.removeMax();
+		} finally {
+			writeLock.unlock();
+		}
+	}
+
+	@Override
+	public T removeMin() {
+		writeLock.lock();
+		try {
+			return pop.removeMin();
+		} finally {
+			writeLock.unlock();
+		}
+	}
+
+	@Override
+	public void removeMaxN(int n) {
+		writeLock.lock();
+		try {
+			pop.removeMaxN(n);
+		} finally {
+			writeLock.unlock();
+		}
+	}
+
+	@Override
+	public void removeMinN(int n) {
+		writeLock.lock();
+		try {
+			pop.removeMinN(n);
+		} finally {
+			writeLock.unlock();
+		}
+	}
+
+	@Override
+	public T removeNthMax(int n) {
+		writeLock.lock();
+		try {
+			return pop.removeNthMax(n);
+		} finally {
+			writeLock.unlock();
+		}
+	}
+
+	@Override
+	public T removeNthMin(int n) {
+		writeLock.lock();
+		try {
+			return pop.removeNthMin(n);
+		} finally {
+			writeLock.unlock();
+		}
+	}
+
+	@Override
+	public T getMax() {
+		readLock.lock();
+		try {
+			return pop.getMax();
+		} finally {
+			readLock.unlock();
+		}
+	}
+
+	@Override
+	public T getMin() {
+		readLock.lock();
+		try {
+			return pop.getMin();
+		} finally {
+			readLock.unlock();
+		}
+	}
+
+	@Override
+	public T getNthMax(int n) {
+		readLock.lock();
+		try {
+			return pop.getNthMax(n);
+		} finally {
+			readLock.unlock();
+		}
+	}
+
+	@Override
+	public T getNthMin(int n) {
+		readLock.lock();
+		try {
+			return pop.getNthMin(n);
+		} finally {
+			readLock.unlock();
+		}
+	}
+
+	@Override
+	public void clear() {
+		writeLock.lock();
+		try {
+			pop.clear();
+		} finally {
+			writeLock.unlock();
+		}
+	}
+
+	@Override
+	public void refill(List<T> inds) {
+		writeLock.lock();
+		try {
+			pop.refill(inds);
+		} finally {
+			writeLock.unlock();
+		}
+	}
+
+	@Override
+	public int size() {
+		readLock.lock();
+		try {
+			return pop.size();
+		} finally {
+			readLock.unlock();
+		}
+	}
+
+	@Override
+	public Iterator<T> iterator() {
+		readLock.lock();
+		try {
+			List<T> snapshot = new ArrayList<T>(pop.size());
+			for (T ind : pop) {
+				snapshot.add(ind);
+			}
+			return snapshot.iterator();
+		} finally {
+			readLock.unlock();
+		}
+	}
+
+}
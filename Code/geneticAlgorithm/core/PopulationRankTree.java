@@ -0,0 +1,408 @@
+package geneticAlgorithm.core;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * A Population backed by a size-augmented AVL tree (an order-statistic tree).
+ *
+ * Every node records the number of Individuals in its subtree, so the nth
+ * ranked Individual can be found (and removed) by walking a single path from
+ * the root. Insertion, removal and rank access are all O(log n), and an
+ * in-order traversal of the whole Population is O(n).
+ *
+ * Unlike PopulationTreeSet, Individuals with equal fitness values are all
+ * kept; ties are ordered by insertion (earlier insertions rank lower).
+ *
+ * Note: the ordering is only maintained for fitness values which are known at
+ * insertion time. If the fitness of an Individual is changed whilst it is in
+ * the Population, the Population must be rebuilt (see refill(...)).
+ *
+ * Removed nodes are kept on a free list and reused by later insertions, so
+ * a Population whose size is stable does not allocate.
+ *
+ * @author Simon Dicken
+ * @version 2015-02-22
+ */
+public class PopulationRankTree<T extends Individual<?>> implements Population<T> {
+
+	private Node<T> root;
+
+	// Singly linked (through Node.right) list of nodes available for reuse.
+	private Node<T> free;
+
+	// The value removed by the last call to removeAt(...).
+	private T removed;
+
+	// Working stack for clear(), kept so that it does not allocate in a 
+	// steady state.
+	private Node<T>[] stack;
+
+	@Override
+	public boolean insert(T ind) {
+		if (ind == null) {
+			throw new NullPointerException("Cannot insert a null Individual.");
+		}
+		root = insert(root, ind);
+		return true;
+	}
+
+	@Override
+	public T removeMax() {
+		if (root == null) {
+			return null;
+		}
+		return removeNthMin(root.size - 1);
+	}
+
+	@Override
+	public T removeMin() {
+		if (root == null) {
+			return null;
+		}
+		return removeNthMin(0);
+	}
+
+	@Override
+	public void removeMaxN(int n) {
+		for (int i=0; i<n; ++i) {
+			removeMax();
+		}
+	}
+
+	@Override
+	public void removeMinN(int n) {
+		for (int i=0; i<n; ++i) {
+			removeMin();
+		}
+	}
+
+	@Override
+	public T removeNthMax(int n) {
+		checkRank(n);
+		return removeNthMin(root.size - 1 - n);
+	}
+
+	@Override
+	public T removeNthMin(int n) {
+		checkRank(n);
+		root = removeAt(root, n);
+		T ind = removed;
+		removed = null;
+		return ind;
+	}
+
+	@Override
+	public T getMax() {
+		if (root == null) {
+			throw new NoSuchElementException();
+		}
+		Node<T> node = root;
+		while (node.right != null) {
+			node = node.right;
+		}
+		return node.value;
+	}
+
+	@Override
+	public T getMin() {
+		if (root == null) {
+			throw new NoSuchElementException();
+		}
+		Node<T> node = root;
+		while (node.left != null) {
+			node = node.left;
+		}
+		return node.value;
+	}
+
+	@Override
+	public T getNthMax(int n) {
+		checkRank(n);
+		return select(root.size - 1 - n);
+	}
+
+	@Override
+	public T getNthMin(int n) {
+		checkRank(n);
+		return select(n);
+	}
+
+	@Override
+	public int size() {
+		return size(root);
+	}
+
+	/**
+	 * Removes all the Individuals from the Population.
+	 */
+	@Override
+	public void clear() {
+		if (root == null) {
+			return;
+		}
+
+		// Move every node onto the free list.
+		if (stack == null) {
+			stack = newStack(64);
+		}
+		int depth = 0;
+		stack[depth++] = root;
+		while (depth > 0) {
+			Node<T> node = stack[--depth];
+			if (node.left != null) {
+				stack[depth++] = node.left;
+			}
+			if (node.right != null) {
+				stack[depth++] = node.right;
+			}
+			recycle(node);
+		}
+		root = null;
+	}
+
+	/**
+	 * Replaces the contents of the Population in O(n) time by building a
+	 * perfectly balanced tree directly from the (sorted) list.
+	 */
+	@Override
+	public void refill(List<T> inds) {
+		clear();
+		root = build(inds, 0, inds.size());
+	}
+
+	/**
+	 * Iterates over the Population from the lowest to the highest fitness
+	 * value in O(n) total time.
+	 * The Population must not be modified during the iteration.
+	 */
+	@Override
+	public Iterator<T> iterator() {
+		return new InOrderIterator<T>(root);
+	}
+
+	private void checkRank(int n) {
+		if (n < 0) {
+			throw new IllegalArgumentException("n must be non-negative.");
+		}
+		if (n >= size()) {
+			throw new IllegalArgumentException("n is larger than size of population.");
+		}
+	}
+
+	private Node<T> build(List<T> inds, int from, int to) {
+		if (from >= to) {
+			return null;
+		}
+		int mid = (from + to) >>> 1;
+		Node<T> node = obtain(inds.get(mid));
+		node.left = build(inds, from, mid);
+		node.right = build(inds, mid + 1, to);
+		update(node);
+		return node;
+	}
+
+	private Node<T> obtain(T ind) {
+		Node<T> node = free;
+		if (node == null) {
+			return new Node<T>(ind);
+		}
+		free = node.right;
+		node.value = ind;
+		node.right = null;
+		node.height = 1;
+		node.size = 1;
+		return node;
+	}
+
+	private void recycle(Node<T> node) {
+		node.value = null;
+		node.left = null;
+		node.right = free;
+		free = node;
+	}
+
+	private static <T> Node<T>[] newStack(int size) {
+		@SuppressWarnings("unchecked")
+		Node<T>[] s = (Node<T>[]) new Node<?>[size];
+		return s;
+	}
+
+	private T select(int n) {
+		Node<T> node = root;
+		int rank = n;
+
+		while (true) {
+			int leftSize = size(node.left);
+			if (rank < leftSize) {
+				node = node.left;
+			} else if (rank > leftSize) {
+				rank -= leftSize + 1;
+				node = node.right;
+			} else {
+				return node.value;
+			}
+		}
+	}
+
+	private Node<T> insert(Node<T> node, T ind) {
+		if (node == null) {
+			return obtain(ind);
+		}
+
+		if (compare(ind, node.value) < 0) {
+			node.left = insert(node.left, ind);
+		} else {
+			node.right = insert(node.right, ind);
+		}
+		return balance(node);
+	}
+
+	private Node<T> removeAt(Node<T> node, int n) {
+		int leftSize = size(node.left);
+
+		if (n < leftSize) {
+			node.left = removeAt(node.left, n);
+		} else if (n > leftSize) {
+			node.right = removeAt(node.right, n - leftSize - 1);
+		} else {
+			removed = node.value;
+
+			if (node.left == null || node.right == null) {
+				Node<T> child = (node.left == null) ? node.right : node.left;
+				recycle(node);
+				return child;
+			}
+
+			// Replace this node's value with its in-order successor.
+			Node<T> successor = node.right;
+			while (successor.left != null) {
+				successor = successor.left;
+			}
+			node.value = successor.value;
+			node.right = removeLeftmost(node.right);
+		}
+		return balance(node);
+	}
+
+	private Node<T> removeLeftmost(Node<T> node) {
+		if (node.left == null) {
+			Node<T> child = node.right;
+			recycle(node);
+			return child;
+		}
+		node.left = removeLeftmost(node.left);
+		return balance(node);
+	}
+
+	private Node<T> balance(Node<T> node) {
+		update(node);
+		int factor = height(node.left) - height(node.right);
+
+		if (factor > 1) {
+			if (height(node.left.left) < height(node.left.right)) {
+				node.left = rotateLeft(node.left);
+			}
+			return rotateRight(node);
+		} else if (factor < -1) {
+			if (height(node.right.right) < height(node.right.left)) {
+				node.right = rotateRight(node.right);
+			}
+			return rotateLeft(node);
+		}
+		return node;
+	}
+
+	private Node<T> rotateLeft(Node<T> node) {
+		Node<T> pivot = node.right;
+		node.right = pivot.left;
+		pivot.left = node;
+		update(node);
+		update(pivot);
+		return pivot;
+	}
+
+	private Node<T> rotateRight(Node<T> node) {
+		Node<T> pivot = node.left;
+		node.left = pivot.right;
+		pivot.right = node;
+		update(node);
+		update(pivot);
+		return pivot;
+	}
+
+	private static <T> void update(Node<T> node) {
+		node.height = 1 + Math.max(height(node.left), height(node.right));
+		node.size = 1 + size(node.left) + size(node.right);
+	}
+
+	private static <T> int height(Node<T> node) {
+		return node == null ? 0 : node.height;
+	}
+
+	private static <T> int size(Node<T> node) {
+		return node == null ? 0 : node.size;
+	}
+
+	private static <T extends Individual<?>> int compare(T ind1, T ind2) {
+		return Double.compare(ind1.getFitness(), ind2.getFitness());
+	}
+
+	private static class Node<T> {
+
+		private T value;
+		private Node<T> left;
+		private Node<T> right;
+		private int height;
+		private int size;
+
+		private Node(T value) {
+			this.value = value;
+			this.height = 1;
+			this.size = 1;
+		}
+	}
+
+	private static class InOrderIterator<T> implements Iterator<T> {
+
+		// Path from the root to the next node, which is never longer than 
+		// the height of the tree.
+		private final Node<T>[] stack;
+		private int depth;
+
+		private InOrderIterator(Node<T> root) {
+			stack = newStack(height(root));
+			pushLeft(root);
+		}
+
+		private void pushLeft(Node<T> node) {
+			while (node != null) {
+				stack[depth++] = node;
+				node = node.left;
+			}
+		}
+
+		@Override
+		public boolean hasNext() {
+			return depth > 0;
+		}
+
+		@Override
+		public T next() {
+			if (depth == 0) {
+				throw new NoSuchElementException();
+			}
+			Node<T> node = stack[--depth];
+			stack[depth] = null;
+			pushLeft(node.right);
+			return node.value;
+		}
+
+		@Override
+		public void remove() {
+			throw new UnsupportedOperationException();
+		}
+	}
+
+}
@@ -1,6 +1,7 @@
 package geneticAlgorithm.core;
 
 import java.util.Iterator;
+import java.util.List;
 import java.util.TreeSet;
 
 /**
@@ -111,4 +112,10 @@ public class PopulationTreeSet<T extends Individual<?>> extends TreeSet<T>
 		return iter.next();
 	}
 
+	@Override
+	public void refill(List<T> inds) {
+		clear();
+		addAll(inds);
+	}
+
 }
@@ -0,0 +1,258 @@
+package geneticAlgorithm.core;
+
+import geneticAlgorithm.crossover.Breeder;
+import geneticAlgorithm.function.Function;
+import geneticAlgorithm.function.ThreadSafeFunction;
+import geneticAlgorithm.mutation.Mutator;
+import geneticAlgorithm.selection.Selector;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import utils.RandomProvider;
+import utils.RandomStream;
+
+/**
+ * An asynchronous steady-state alternative to the (generational) 
+ * GeneticAlgorithm.
+ * 
+ * Each worker thread repeatedly selects two parents, breeds them, mutates 
+ * and evaluates the offspring and then inserts each child into the shared 
+ * PopulationConcurrent, evicting the least fit Individual in the same atomic 
+ * step. There is no generation barrier: a worker whose evaluation is slow 
+ * only holds up itself, and the lock is never held whilst breeding or 
+ * evaluating.
+ * 
+ * The Selector, Breeder and Mutator in the EvoParams are shared by all the 
+ * workers, so they must be safe to use concurrently (the existing operators 
+ * are, as long as they draw their random numbers from RandomProvider.current()).
+ * The Function is called concurrently only if it is a ThreadSafeFunction; 
+ * otherwise evaluations are serialised.
+ * 
+ * How far the engine scales with the number of workers depends on the 
+ * Selector and on the cost of an evaluation:
+ * - SelectorTournament picks parents by rank under the Population's read 
+ *   lock, so workers select concurrently.
+ * - Every other Selector goes through the synchronized 
+ *   Selector.select(Population), which snapshots the whole Population for 
+ *   each parent. The workers queue for it, so these selectors do not scale.
+ * - Each insertion takes the Population's write lock, so when evaluations 
+ *   are cheap the workers are limited by the rate of insertions; the engine
+ *   pays off when evaluating a child costs much more than inserting it.
+ * 
+ * Since there are no generations as such, the operators are told the number 
+ * of 'generation equivalents' so far, i.e. evaluations / population size. 
+ * Each worker sets this on the shared operators (which keep it in a 
+ * volatile field) just before using them, so an operator may see a value 
+ * set by another worker, at most a few evaluations out.
+ * 
+ * @author Simon Dicken
+ * @version 2015-02-22
+ */
+public class SteadyStateEngine<T> {
+
+	private final PopulationConcurrent<Individual<T>> pop;
+	private final EvoParams<T> evoParams;
+	private final GenerationalParams genParams;
+	private final Function<T> function;
+	private final Copier<T> copier;
+	private final RandomProvider random;
+	
+	private final AtomicLong evaluations;
+	private volatile boolean stopRequested;
+	private boolean initialised;
+	
+	/**
+	 * Constructor for SteadyStateEngine.
+	 * 
+	 * @param pop - the initial population; it need not have been evaluated.
+	 * @param evoParams - the selection, mutation and crossover operators.
+	 * @param genParams - the population size and the crossover and mutation 
+	 * probabilities (the number of parents and maximum iteration are unused).
+	 * @param function - the fitness function.
+	 * @param copier - used to copy a parent when no crossover takes place.
+	 * @param random - the source of random numbers used by the engine itself.
+	 */
+	public SteadyStateEngine(
+			PopulationConcurrent<Individual<T>> pop,
+			EvoParams<T> evoParams,
+			GenerationalParams genParams,
+			Function<T> function,
+			Copier<T> copier,
+			RandomProvider random
+	) {
+		this.pop = pop;
+		this.evoParams = evoParams;
+		this.genParams = genParams;
+		this.function = function;
+		this.copier = copier;
+		this.random = random;
+		this.evaluations = new AtomicLong();
+		this.stopRequested = false;
+		this.initialised = false;
+	}
+	
+	/**
+	 * Run the engine on the given number of threads until (roughly) the 
+	 * given total number of evaluations has been made, or stop() is called.
+	 * Each worker finishes the offspring it is working on, so the total may 
+	 * overshoot by a few evaluations per thread.
+	 * 
+	 * @param numThreads - the number of worker threads.
+	 * @param maxEvaluations - the total evaluation budget (including any 
+	 * previous runs).
+	 * @throws InterruptedException - if interrupted whilst waiting.
+	 */
+	public void run(int numThreads, final long maxEvaluations) throws InterruptedException {
+		
+		if (numThreads < 1) {
+			throw new IllegalArgumentException("At least one thread is required.");
+		}
+		
+		initialise();
+		stopRequested = false;
+		
+		ExecutorService executor = Executors.newFixedThreadPool(numThreads);
+		
+		try {
+			List<Future<Void>> futures = new ArrayList<Future<Void>>();
+			for (int i=0; i<numThreads; ++i) {
+				futures.add(executor.submit(new Callable<Void>() {
+					@Override
+					public Void call() {
+						runWorker(maxEvaluations);
+						return null;
+					}
+				}));
+			}
+			
+			for (Future<Void> f : futures) {
+				try {
+					f.get();
+				} catch (ExecutionException e) {
+					stopRequested = true;
+					throw new IllegalStateException("A worker failed.", e.getCause());
+				}
+			}
+			
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+	
+	/**
+	 * Ask the workers to stop once they have inserted their current offspring.
+	 */
+	public void stop() {
+		stopRequested = true;
+	}
+	
+	public long getEvaluations() {
+		return evaluations.get();
+	}
+	
+	/**
+	 * @return the number of evaluations so far divided by the population size.
+	 */
+	public int getCurrentGen() {
+		return (int) (evaluations.get() / genParams.getPopSize());
+	}
+	
+	public PopulationConcurrent<Individual<T>> getPop() {
+		return pop;
+	}
+	
+	public EvoParams<T> getEvoParams() {
+		return evoParams;
+	}
+	
+	public GenerationalParams getGenParams() {
+		return genParams;
+	}
+	
+	public Function<T> getFunction() {
+		return function;
+	}
+	
+	/*
+	 * Evaluate the initial population (once) and rebuild it so that it is 
+	 * ordered by the real fitness values.
+	 */
+	private void initialise() {
+		
+		if (initialised) {
+			return;
+		}
+		
+		List<Individual<T>> inds = new ArrayList<Individual<T>>(pop.size());
+		for (Individual<T> ind : pop) {
+			evaluate(ind);
+			inds.add(ind);
+		}
+		
+		Collections.sort(inds);
+		pop.refill(inds);
+		
+		initialised = true;
+	}
+	
+	private void runWorker(long maxEvaluations) {
+		
+		RandomStream r = random.current();
+		
+		Selector<T> selector = evoParams.getSelector();
+		Breeder<T> breeder = evoParams.getBreeder();
+		Mutator<T> mutator = evoParams.getMutator();
+		
+		int popSize = genParams.getPopSize();
+		
+		while (!stopRequested && evaluations.get() < maxEvaluations 
+				&& !Thread.currentThread().isInterrupted()) {
+			
+			int gen = getCurrentGen();
+			
+			selector.setCurrentGen(gen);
+			Individual<T> parent1 = selector.select(pop);
+			Individual<T> parent2 = selector.select(pop);
+			
+			List<Individual<T>> offspring;
+			if (r.nextDouble() < genParams.getProbCrossover()) {
+				breeder.setCurrentGen(gen);
+				offspring = parent1.crossover(breeder, parent2);
+			} else {
+				T rep = copier.copy(parent1.getRepresentation());
+				offspring = Collections.singletonList(new Individual<T>(rep));
+			}
+			
+			for (Individual<T> ind : offspring) {
+				
+				if (r.nextDouble() < genParams.getProbMutation()) {
+					mutator.setCurrentGen(gen);
+					ind.mutate(mutator);
+				}
+				
+				evaluate(ind);
+				pop.insertAndEvict(ind, popSize);
+				evaluations.incrementAndGet();
+			}
+		}
+	}
+	
+	private void evaluate(Individual<T> ind) {
+		if (function instanceof ThreadSafeFunction) {
+			function.evaluate(ind);
+		} else {
+			synchronized (function) {
+				function.evaluate(ind);
+			}
+		}
+	}
+	
+}
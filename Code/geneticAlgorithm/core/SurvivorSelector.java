@@ -0,0 +1,72 @@
+package geneticAlgorithm.core;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import utils.SortUtils;
+
+/**
+ * Re-ranks a Population after its fitness values have changed and truncates
+ * it to the fittest Individuals, in a single pass.
+ * 
+ * The fitness values are copied into a primitive array once, the survivors 
+ * are found with a quickselect (top-k) partition, only the survivors are 
+ * sorted, and the Population is then refilled in rank order. All the 
+ * working arrays are kept and reused from one generation to the next.
+ * 
+ * @author Simon Dicken
+ * @version 2015-02-22
+ */
+public class SurvivorSelector<T> {
+
+	private final List<Individual<T>> candidates;
+	private final List<Individual<T>> survivors;
+	private double[] keys;
+	private int[] idx;
+	
+	public SurvivorSelector() {
+		this.candidates = new ArrayList<Individual<T>>();
+		this.survivors = new ArrayList<Individual<T>>();
+		this.keys = new double[0];
+		this.idx = new int[0];
+	}
+	
+	/**
+	 * Re-sort the Population by its current fitness values and keep (at 
+	 * most) the numSurvivors fittest Individuals.
+	 * 
+	 * @param pop - the Population to revise.
+	 * @param numSurvivors - the maximum size of the revised Population.
+	 */
+	public void select(Population<Individual<T>> pop, int numSurvivors) {
+		
+		for (Individual<T> ind : pop) {
+			candidates.add(ind);
+		}
+		
+		int n = candidates.size();
+		if (keys.length < n) {
+			keys = new double[n + (n >> 1)];
+			idx = new int[keys.length];
+		}
+		
+		for (int i=0; i<n; ++i) {
+			keys[i] = candidates.get(i).getFitness();
+			idx[i] = i;
+		}
+		
+		int keep = Math.min(Math.max(numSurvivors, 0), n);
+		SortUtils.selectTop(idx, keys, 0, n, keep);
+		SortUtils.sortIndices(idx, keys, n - keep, n);
+		
+		for (int i=n-keep; i<n; ++i) {
+			survivors.add(candidates.get(idx[i]));
+		}
+		
+		pop.refill(survivors);
+		
+		candidates.clear();
+		survivors.clear();
+	}
+	
+}
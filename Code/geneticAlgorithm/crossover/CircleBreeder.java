@@ -1,36 +1,131 @@
 package geneticAlgorithm.crossover;
 
 import geometry.Circle;
+import geometry.CircleConstraint;
 import geometry.CircleLimits;
+import geometry.ConstraintStats;
+import geometry.PointXY;
+import geometry.RepairStrategy;
 import geometry.ShapeChecker;
 import geometry.WorldLimits;
 
-import java.util.Random;
+import java.util.ArrayList;
+import java.util.List;
+
+import utils.RandomProvider;
+import utils.RandomStream;
 
 /**
  * 
  * @author Simon Dicken
  * @version 2015-02-22
  */
-public abstract class CircleBreeder implements Breeder<Circle> {
+public abstract class CircleBreeder implements InPlaceBreeder<Circle> {
 
 	protected WorldLimits wLimits;
 	protected CircleLimits cLimits;
-	protected Random rand;
-	protected int currentGen;
+	protected RandomProvider rand;
+	protected CircleConstraint constraint;
+	// Volatile, since a SteadyStateEngine's workers share the Breeder.
+	protected volatile int currentGen;
+	
+	private final ShapeChecker checker;
+	
+	public CircleBreeder(WorldLimits wLimits, CircleLimits cLimits, RandomProvider rand) {
+		this(wLimits, cLimits, rand, RepairStrategy.SAMPLE);
+	}
 	
-	public CircleBreeder(WorldLimits wLimits, CircleLimits cLimits, Random rand) {
+	public CircleBreeder(WorldLimits wLimits, CircleLimits cLimits, RandomProvider rand, 
+			RepairStrategy strategy) {
 		this.wLimits = wLimits;
 		this.cLimits = cLimits;
 		this.rand = rand;
+		this.constraint = new CircleConstraint(wLimits, cLimits, strategy);
 		this.currentGen = 0;
+		this.checker = new ShapeChecker();
 	}
 	
 	protected boolean checkCircle(Circle c) {
-		ShapeChecker checker = new ShapeChecker();
 		return checker.checkCircle(c, cLimits, wLimits);	
 	}
 	
+	/**
+	 * Breeds a single new Circle (see crossover(Circle, Circle, Circle)).
+	 */
+	@Override
+	public List<Circle> crossover(Circle c1, Circle c2) {
+		
+		List<Circle> offspring = new ArrayList<Circle>();
+		Circle newCircle = new Circle(new PointXY(0, 0), 0);
+		crossover(c1, c2, newCircle);
+		offspring.add(newCircle);
+		
+		return offspring;
+	}
+	
+	/**
+	 * Overwrite the child with genes drawn uniformly from the given ranges, 
+	 * keeping it valid according to the RepairStrategy. Takes a bounded 
+	 * amount of time whatever the ranges are, and allocates nothing.
+	 * 
+	 * @param xLo - the lower end of the range for the x co-ordinate.
+	 * @param xHi - the upper end of the range for the x co-ordinate.
+	 * @param yLo - the lower end of the range for the y co-ordinate.
+	 * @param yHi - the upper end of the range for the y co-ordinate.
+	 * @param rLo - the lower end of the range for the radius.
+	 * @param rHi - the upper end of the range for the radius.
+	 * @param r - the source of random numbers.
+	 * @param child - the Circle to overwrite.
+	 */
+	protected void createChild(double xLo, double xHi, double yLo, double yHi, 
+			double rLo, double rHi, RandomStream r, Circle child) {
+		
+		constraint.countCall();
+		
+		double x;
+		double y;
+		double radius;
+		
+		if (constraint.getStrategy() == RepairStrategy.SAMPLE) {
+			// The radius limits where the centre can go, so draw it first.
+			radius = constraint.sample(rLo, rHi, constraint.minRadius(), constraint.maxRadius(), r);
+			x = constraint.sample(xLo, xHi, constraint.minX(radius), constraint.maxX(radius), r);
+			y = constraint.sample(yLo, yHi, constraint.minY(radius), constraint.maxY(radius), r);
+			
+		} else {
+			
+			int attempt = 1;
+			while (true) {
+				x = r.nextDouble(xLo, xHi);
+				y = r.nextDouble(yLo, yHi);
+				radius = r.nextDouble(rLo, rHi);
+				
+				if (constraint.getStrategy() != RepairStrategy.REJECT
+						|| checker.checkCircle(x, y, radius, cLimits, wLimits)
+						|| attempt == CircleConstraint.MAX_ATTEMPTS) {
+					break;
+				}
+				
+				constraint.countRejection();
+				++attempt;
+			}
+			
+			radius = constraint.repair(radius, constraint.minRadius(), constraint.maxRadius());
+			x = constraint.repair(x, constraint.minX(radius), constraint.maxX(radius));
+			y = constraint.repair(y, constraint.minY(radius), constraint.maxY(radius));
+		}
+		
+		child.getReference().setXY(x, y);
+		child.setRadius(radius);
+	}
+	
+	/**
+	 * @return the counts of the rejections and repairs made by this Breeder.
+	 */
+	public ConstraintStats getConstraintStats() {
+		return constraint;
+	}
+	
 	@Override
 	public void setCurrentGen(int currentGen) {
 		this.currentGen = currentGen;
@@ -3,13 +3,11 @@ package geneticAlgorithm.crossover;
 import geometry.Circle;
 import geometry.CircleLimits;
 import geometry.PointXY;
+import geometry.RepairStrategy;
 import geometry.WorldLimits;
 
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Random;
-
-import utils.NumberUtils;
+import utils.RandomProvider;
+import utils.RandomStream;
 
 /**
  * 
@@ -21,52 +19,42 @@ public class CircleBreederBLXAlpha extends CircleBreeder {
 	private double alpha;
 	
 	public CircleBreederBLXAlpha(WorldLimits wLimits, CircleLimits cLimits, 
-			Random rand, double alpha) {
-		super(wLimits, cLimits, rand);
+			RandomProvider rand, double alpha) {
+		this(wLimits, cLimits, rand, alpha, RepairStrategy.SAMPLE);
+	}
+	
+	public CircleBreederBLXAlpha(WorldLimits wLimits, CircleLimits cLimits, 
+			RandomProvider rand, double alpha, RepairStrategy strategy) {
+		super(wLimits, cLimits, rand, strategy);
 		
 		this.alpha = alpha;
 	}
 
 	@Override
-	public List<Circle> crossover(Circle c1, Circle c2) {
-		
-		List<Circle> offspring = new ArrayList<Circle>();
-
-		int count = 0;
+	public void crossover(Circle c1, Circle c2, Circle child) {
 		
-		Circle newCircle = null;
+		RandomStream r = rand.current();
 		
-		do {
+		PointXY ref1 = c1.getReference();
+		PointXY ref2 = c2.getReference();
 		
-			double[] sorted = new double[2];
-			double factor = 0;
-			double newX = 0;
-			double newY = 0;
-			double newRadius = 0;
-
-			sorted = NumberUtils.sortAscending(c1.getReference().getX(), c2.getReference().getX());
-			factor = (sorted[1] - sorted[0]) * alpha;
-			newX = NumberUtils.randomDouble(sorted[0] - factor, sorted[1] + factor);
-
-			sorted = NumberUtils.sortAscending(c1.getReference().getY(), c2.getReference().getY());
-			factor = (sorted[1] - sorted[0]) * alpha;
-			newY = NumberUtils.randomDouble(sorted[0] - factor, sorted[1] + factor);
-
-			sorted = NumberUtils.sortAscending(c1.getRadius(), c2.getRadius());
-			factor = (sorted[1] - sorted[0]) * alpha;
-			newRadius = NumberUtils.randomDouble(sorted[0] - factor, sorted[1] + factor);
-
-			newCircle = new Circle(new PointXY(newX, newY), newRadius);
+		// Each range is the parents' interval widened by alpha at both ends.
+		double minX = Math.min(ref1.getX(), ref2.getX());
+		double maxX = Math.max(ref1.getX(), ref2.getX());
+		double factorX = (maxX - minX) * alpha;
 		
-			if (count > 100) {
-				System.exit(0);
-			}
-			
-		} while(!checkCircle(newCircle));
+		double minY = Math.min(ref1.getY(), ref2.getY());
+		double maxY = Math.max(ref1.getY(), ref2.getY());
+		double factorY = (maxY - minY) * alpha;
 		
-		offspring.add(newCircle);
+		double minR = Math.min(c1.getRadius(), c2.getRadius());
+		double maxR = Math.max(c1.getRadius(), c2.getRadius());
+		double factorR = (maxR - minR) * alpha;
 		
-		return offspring;
+		createChild(
+				minX - factorX, maxX + factorX, 
+				minY - factorY, maxY + factorY, 
+				minR - factorR, maxR + factorR, r, child);
 	}
 
 }
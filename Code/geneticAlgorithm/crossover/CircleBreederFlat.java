@@ -3,13 +3,11 @@ package geneticAlgorithm.crossover;
 import geometry.Circle;
 import geometry.CircleLimits;
 import geometry.PointXY;
+import geometry.RepairStrategy;
 import geometry.WorldLimits;
 
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Random;
-
-import utils.NumberUtils;
+import utils.RandomProvider;
+import utils.RandomStream;
 
 /**
  * 
@@ -20,43 +18,28 @@ public class CircleBreederFlat extends CircleBreeder {
 
 	
 	public CircleBreederFlat(WorldLimits wLimits, CircleLimits cLimits, 
-			Random rand) {
+			RandomProvider rand) {
 		super(wLimits, cLimits, rand);
 	}
+	
+	public CircleBreederFlat(WorldLimits wLimits, CircleLimits cLimits, 
+			RandomProvider rand, RepairStrategy strategy) {
+		super(wLimits, cLimits, rand, strategy);
+	}
 
 	@Override
-	public List<Circle> crossover(Circle c1, Circle c2) {
-		
-		List<Circle> offspring = new ArrayList<Circle>();
-
-		int count = 0;
-		
-		Circle newCircle = null;
-		
-		do {
-			
-			double sorted[] = new double[2];
-				
-			sorted = NumberUtils.sortAscending(c1.getReference().getX(), c2.getReference().getX());
-			double newX = NumberUtils.randomDouble(sorted[0], sorted[1]);
-				
-			sorted = NumberUtils.sortAscending(c1.getReference().getY(), c2.getReference().getY());
-			double newY = NumberUtils.randomDouble(sorted[0], sorted[1]);
-				
-			sorted = NumberUtils.sortAscending(c1.getRadius(), c2.getRadius());
-			double newRadius = NumberUtils.randomDouble(sorted[0], sorted[1]);
-				
-			newCircle = new Circle(new PointXY(newX, newY), newRadius);
+	public void crossover(Circle c1, Circle c2, Circle child) {
 		
-			if (count > 100) {
-				System.exit(0);
-			}
-			
-		} while(!checkCircle(newCircle));
+		RandomStream r = rand.current();
 		
-		offspring.add(newCircle);
+		PointXY ref1 = c1.getReference();
+		PointXY ref2 = c2.getReference();
 		
-		return offspring;
+		createChild(
+				Math.min(ref1.getX(), ref2.getX()), Math.max(ref1.getX(), ref2.getX()), 
+				Math.min(ref1.getY(), ref2.getY()), Math.max(ref1.getY(), ref2.getY()), 
+				Math.min(c1.getRadius(), c2.getRadius()), Math.max(c1.getRadius(), c2.getRadius()), 
+				r, child);
 	}
 
 }
@@ -0,0 +1,23 @@
+package geneticAlgorithm.crossover;
+
+/**
+ * A Breeder which can write a child into an existing representation 
+ * instead of creating a new one, so that the algorithm can recycle the 
+ * representations of Individuals which did not survive.
+ * 
+ * @author Simon Dicken
+ * @version 2015-02-22
+ */
+public interface InPlaceBreeder<T> extends Breeder<T> {
+
+	/**
+	 * Breed a single child from the parents, overwriting child. The child 
+	 * must not be either of the parents.
+	 * 
+	 * @param parent1 - the first parent.
+	 * @param parent2 - the second parent.
+	 * @param child - the representation to overwrite.
+	 */
+	void crossover(T parent1, T parent2, T child);
+	
+}
@@ -0,0 +1,32 @@
+package geneticAlgorithm.function;
+
+import geneticAlgorithm.core.Individual;
+
+import java.util.List;
+
+/**
+ * A Function which can also evaluate a whole range of Individuals in one 
+ * call. This lets an implementation gather the values it needs into 
+ * primitive arrays and run a tight loop over them, rather than paying for a
+ * call (and the lookups behind it) per Individual.
+ * 
+ * The result must be the same as calling evaluate(...) on each Individual in
+ * the range. If the Function is also a ThreadSafeFunction, disjoint ranges 
+ * may be evaluated concurrently.
+ * 
+ * @author Simon Dicken
+ * @version 2015-02-22
+ */
+public interface BatchFunction<T> extends Function<T> {
+
+	/**
+	 * Calculate and set the fitness of the Individuals from index from 
+	 * (inclusive) to index to (exclusive).
+	 * 
+	 * @param inds - the Individuals.
+	 * @param from - the first index to evaluate.
+	 * @param to - one past the last index to evaluate.
+	 */
+	void evaluate(List<? extends Individual<T>> inds, int from, int to);
+	
+}
@@ -0,0 +1,29 @@
+package geneticAlgorithm.function;
+
+import geneticAlgorithm.core.Individual;
+import geneticAlgorithm.core.Population;
+
+/**
+ * A Function which can evaluate some Populations in place, straight from 
+ * their primitive columns (e.g. the radius column of a 
+ * PopulationCircleArrays), without going through an Individual at all.
+ * 
+ * The result must be the same as calling evaluate(...) on each Individual in
+ * the Population.
+ * 
+ * @author Simon Dicken
+ * @version 2015-02-22
+ */
+public interface ColumnFunction<T> extends Function<T> {
+
+	/**
+	 * Calculate and set the fitness of every Individual in the Population, 
+	 * if the Population (and the Function's current settings) allow it.
+	 * 
+	 * @param pop - the Population.
+	 * @return true if the Population was evaluated; false if it must be 
+	 * evaluated an Individual at a time instead.
+	 */
+	boolean evaluateColumns(Population<? extends Individual<T>> pop);
+	
+}
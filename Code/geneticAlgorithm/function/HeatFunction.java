@@ -2,54 +2,292 @@ package geneticAlgorithm.function;
 
 import geneticAlgorithm.core.Individual;
 import geneticAlgorithm.core.Population;
+import geneticAlgorithm.core.PopulationCircleArrays;
+import geometry.PointXY;
 import geometry.Shape;
+import geometry.UniformGrid;
+import geometry.WorldLimits;
+
+import java.util.List;
+
+import utils.VectorSupport;
 
 /**
- * 
+ * The temperature of an Individual is the global temperature plus the heat 
+ * given off by its own Shape (area / 5) and, optionally, a share of the heat
+ * given off by the other Shapes in the population within a cutoff distance.
+ * The share falls off linearly with distance and is scaled by the 
+ * neighbour weight. Neighbours are found using a UniformGrid over the 
+ * WorldLimits, which is rebuilt whenever the population is updated, so 
+ * evaluating the whole population stays roughly linear in its size.
+ * The grid reflects the population as it was at the last call to 
+ * update(...) or setPopulation(...).
+ *
+ * The values the function depends on (the global temperature, the optimum
+ * temperature and the population) are held together in an immutable
+ * Context. The setters publish a new Context rather than modifying the
+ * current one, and each evaluation reads the Context once, so the function
+ * is safe to evaluate concurrently as long as the Context is only updated
+ * between generations.
+ *
  * @author Simon Dicken
  * @version 2015-02-22
  */
-public class HeatFunction<T extends Shape> implements Function<T> {
+public class HeatFunction<T extends Shape> 
+		implements ThreadSafeFunction<T>, BatchFunction<T>, ColumnFunction<T> {
+
+	// The number of Individuals gathered into the scratch arrays at a time.
+	private static final int CHUNK = 256;
+	
+	// The SIMD kernel if it is available, otherwise the scalar one.
+	private static final HeatKernel KERNEL = VectorSupport.load(HeatKernel.class, 
+			"geneticAlgorithm.function.HeatKernelVector", new HeatKernelScalar());
+	
+	private volatile Context<T> context;
+	
+	private final double cutoff;
+	private final double neighbourWeight;
+	
+	// Two grids are used in turn, so the grid being rebuilt is never the one
+	// referenced by the current Context.
+	private final UniformGrid[] grids;
+	private int nextGrid;
 	
-	private double globalTemp;
-	private double optimumTemp;
-	private Population<? extends Individual<T>> pop;
+	// Per-thread scratch arrays for the batch evaluation: heat, then fitness.
+	private final ThreadLocal<double[][]> scratch = new ThreadLocal<double[][]>() {
+		@Override
+		protected double[][] initialValue() {
+			return new double[][] { new double[CHUNK], new double[CHUNK] };
+		}
+	};
 
+	/**
+	 * Constructor for HeatFunction which ignores the heat from the rest of 
+	 * the population.
+	 * 
+	 * @param globalTemp - the initial global temperature.
+	 * @param optimumTemp - the temperature at which fitness is greatest.
+	 * @param pop - the population.
+	 */
 	public HeatFunction(
-			double globalTemp, 
-			double optimumTemp, 
-			Population<? extends Individual<T>> pop) 
+			double globalTemp,
+			double optimumTemp,
+			Population<? extends Individual<T>> pop)
 	{
-		this.globalTemp = globalTemp;
-		this.optimumTemp = optimumTemp;
-		this.pop = pop;
+		this.cutoff = 0;
+		this.neighbourWeight = 0;
+		this.grids = null;
+		this.context = new Context<T>(globalTemp, optimumTemp, pop, null);
 	}
 	
+	/**
+	 * Constructor for HeatFunction which includes the heat from other 
+	 * members of the population within the cutoff distance.
+	 * 
+	 * @param globalTemp - the initial global temperature.
+	 * @param optimumTemp - the temperature at which fitness is greatest.
+	 * @param pop - the population.
+	 * @param wLimits - the extents of the world the population lives in.
+	 * @param cutoff - the distance beyond which Shapes have no effect on 
+	 * each other.
+	 * @param neighbourWeight - the proportion of a neighbour's heat felt at
+	 * zero distance.
+	 */
+	public HeatFunction(
+			double globalTemp,
+			double optimumTemp,
+			Population<? extends Individual<T>> pop,
+			WorldLimits wLimits,
+			double cutoff,
+			double neighbourWeight)
+	{
+		this.cutoff = cutoff;
+		this.neighbourWeight = neighbourWeight;
+		this.grids = new UniformGrid[] { 
+				new UniformGrid(wLimits, cutoff), 
+				new UniformGrid(wLimits, cutoff) 
+		};
+		this.nextGrid = 0;
+		this.context = new Context<T>(globalTemp, optimumTemp, pop, buildGrid(pop));
+	}
+
 	@Override
 	public void evaluate(Individual<T> ind) {
+
+		Context<T> ctx = context;
+		double heat = heat(ctx, ind.getRepresentation());
+		ind.setFitness(HeatKernelScalar.fitness(heat, ctx.globalTemp, ctx.optimumTemp));
+	}
+	
+	/**
+	 * Evaluates the Individuals a chunk at a time: their heat is gathered 
+	 * into a primitive array, the fitness values are calculated in a single
+	 * loop and then written back.
+	 */
+	@Override
+	public void evaluate(List<? extends Individual<T>> inds, int from, int to) {
 		
-		// currently ignoring the 'heat' from the rest of the population.
+		Context<T> ctx = context;
+		double[][] buffers = scratch.get();
+		double[] heat = buffers[0];
+		double[] fitness = buffers[1];
 		
-		Shape shape = ind.getRepresentation();
-		double temp = globalTemp + shape.getArea()/5;
-		double fitness = 50.0 / (Math.abs(temp - optimumTemp));
-		ind.setFitness(fitness);
+		for (int start=from; start<to; start+=CHUNK) {
+			
+			int n = Math.min(CHUNK, to - start);
+			
+			for (int i=0; i<n; ++i) {
+				heat[i] = heat(ctx, inds.get(start + i).getRepresentation());
+			}
+			
+			KERNEL.fitness(heat, fitness, 0, n, ctx.globalTemp, ctx.optimumTemp);
+			
+			for (int i=0; i<n; ++i) {
+				inds.get(start + i).setFitness(fitness[i]);
+			}
+		}
+	}
+	
+	/**
+	 * Calculates the fitness of circles given their radii, e.g. straight from
+	 * the radius column of a PopulationCircleArrays (which must then be told
+	 * that its fitness column has changed).
+	 * Neighbour heat needs the positions of the other Shapes, so this may
+	 * only be used if isNeighbourHeat() is false.
+	 * 
+	 * @param radii - the radii of the circles.
+	 * @param fitness - the array to write the fitness values to.
+	 * @param from - the first index to evaluate.
+	 * @param to - one past the last index to evaluate.
+	 */
+	public void evaluateRadii(double[] radii, double[] fitness, int from, int to) {
 		
-		// obviously get rid of this:
-		pop.size();
+		if (isNeighbourHeat()) {
+			throw new IllegalStateException("Neighbour heat cannot be calculated from radii alone.");
+		}
+		
+		Context<T> ctx = context;
+		KERNEL.fitnessFromRadii(radii, fitness, from, to, ctx.globalTemp, ctx.optimumTemp);
 	}
 	
-	public void setGlobalTemp(double globalTemp) {
-		this.globalTemp = globalTemp;
+	/**
+	 * Evaluates a PopulationCircleArrays straight from its radius column 
+	 * (see evaluateRadii(...)), if neighbour heat is off.
+	 */
+	@Override
+	public boolean evaluateColumns(Population<? extends Individual<T>> pop) {
+		
+		if (isNeighbourHeat() || !(pop instanceof PopulationCircleArrays)) {
+			return false;
+		}
+		
+		PopulationCircleArrays arrays = (PopulationCircleArrays) pop;
+		evaluateRadii(arrays.getRadiusColumn(), arrays.getFitnessColumn(), 0, arrays.size());
+		arrays.fitnessChanged();
+		return true;
 	}
 	
-	public void setOptimumTemp(double optimumTemp) {
-		this.optimumTemp = optimumTemp;
+	/**
+	 * @return the kernel used for batch evaluations: a SIMD kernel if the 
+	 * jdk.incubator.vector module is available, otherwise a scalar one.
+	 */
+	public static HeatKernel getKernel() {
+		return KERNEL;
 	}
 	
+	private double heat(Context<T> ctx, Shape shape) {
+		
+		double heat = shape.getArea();
+		
+		if (ctx.grid != null) {
+			PointXY ref = shape.getReference();
+			heat += neighbourWeight * ctx.grid.sumWithin(ref.getX(), ref.getY(), cutoff, shape);
+		}
+		
+		return heat;
+	}
+
+	/**
+	 * Publish the global temperature and population for the next generation
+	 * in one step.
+	 *
+	 * @param globalTemp - the global temperature.
+	 * @param pop - the population.
+	 */
+	public void update(double globalTemp, Population<? extends Individual<T>> pop) {
+		Context<T> ctx = context;
+		this.context = new Context<T>(globalTemp, ctx.optimumTemp, pop, buildGrid(pop));
+	}
+
+	public void setGlobalTemp(double globalTemp) {
+		Context<T> ctx = context;
+		this.context = new Context<T>(globalTemp, ctx.optimumTemp, ctx.pop, ctx.grid);
+	}
+
+	public void setOptimumTemp(double optimumTemp) {
+		Context<T> ctx = context;
+		this.context = new Context<T>(ctx.globalTemp, optimumTemp, ctx.pop, ctx.grid);
+	}
+
 	public void setPopulation(Population<? extends Individual<T>> pop) {
-		this.pop = pop;
-	}	
+		Context<T> ctx = context;
+		this.context = new Context<T>(ctx.globalTemp, ctx.optimumTemp, pop, buildGrid(pop));
+	}
+
+	public double getGlobalTemp() {
+		return context.globalTemp;
+	}
+
+	public double getOptimumTemp() {
+		return context.optimumTemp;
+	}
+	
+	/**
+	 * @return true if the heat from neighbouring Shapes is included.
+	 */
+	public boolean isNeighbourHeat() {
+		return grids != null;
+	}
 	
+	/*
+	 * Rebuild the spare grid from the population and make it the next spare.
+	 * Returns null if neighbour heat is not in use.
+	 */
+	private synchronized UniformGrid buildGrid(Population<? extends Individual<T>> pop) {
+		
+		if (grids == null) {
+			return null;
+		}
+		
+		UniformGrid grid = grids[nextGrid];
+		nextGrid = 1 - nextGrid;
+		
+		grid.clear();
+		for (Individual<T> ind : pop) {
+			grid.add(ind.getRepresentation());
+		}
+		grid.build();
+		
+		return grid;
+	}
+
+	/*
+	 * The per-generation state read by evaluate(...).
+	 */
+	private static final class Context<T extends Shape> {
+
+		private final double globalTemp;
+		private final double optimumTemp;
+		private final Population<? extends Individual<T>> pop;
+		private final UniformGrid grid;
+
+		private Context(double globalTemp, double optimumTemp,
+				Population<? extends Individual<T>> pop, UniformGrid grid) {
+			this.globalTemp = globalTemp;
+			this.optimumTemp = optimumTemp;
+			this.pop = pop;
+			this.grid = grid;
+		}
+	}
 
 }
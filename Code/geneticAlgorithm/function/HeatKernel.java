@@ -0,0 +1,43 @@
+package geneticAlgorithm.function;
+
+/**
+ * The arithmetic at the heart of HeatFunction, over primitive arrays.
+ * 
+ * For each index i from from (inclusive) to to (exclusive), the temperature 
+ * is globalTemp + heat/5 and the fitness is 50 / |temperature - optimumTemp|.
+ * Every implementation must give bit-for-bit the same results as 
+ * HeatKernelScalar.
+ * 
+ * @author Simon Dicken
+ * @version 2015-02-22
+ */
+public interface HeatKernel {
+
+	/**
+	 * Calculate fitness[i] from heat[i].
+	 * 
+	 * @param heat - the heat given off by (and around) each Shape.
+	 * @param fitness - the array to write the fitness values to.
+	 * @param from - the first index.
+	 * @param to - one past the last index.
+	 * @param globalTemp - the global temperature.
+	 * @param optimumTemp - the optimum temperature.
+	 */
+	void fitness(double[] heat, double[] fitness, int from, int to, 
+			double globalTemp, double optimumTemp);
+	
+	/**
+	 * Calculate fitness[i] for a circle of radius radii[i], whose heat is its
+	 * area.
+	 * 
+	 * @param radii - the radii of the circles.
+	 * @param fitness - the array to write the fitness values to.
+	 * @param from - the first index.
+	 * @param to - one past the last index.
+	 * @param globalTemp - the global temperature.
+	 * @param optimumTemp - the optimum temperature.
+	 */
+	void fitnessFromRadii(double[] radii, double[] fitness, int from, int to, 
+			double globalTemp, double optimumTemp);
+	
+}
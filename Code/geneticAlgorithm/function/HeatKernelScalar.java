@@ -0,0 +1,34 @@
+package geneticAlgorithm.function;
+
+/**
+ * The plain Java HeatKernel, used when the SIMD kernel is unavailable and 
+ * for the elements left over at the end of a SIMD loop.
+ * 
+ * @author Simon Dicken
+ * @version 2015-02-22
+ */
+public class HeatKernelScalar implements HeatKernel {
+
+	@Override
+	public void fitness(double[] heat, double[] fitness, int from, int to,
+			double globalTemp, double optimumTemp) {
+		for (int i=from; i<to; ++i) {
+			fitness[i] = fitness(heat[i], globalTemp, optimumTemp);
+		}
+	}
+
+	@Override
+	public void fitnessFromRadii(double[] radii, double[] fitness, int from,
+			int to, double globalTemp, double optimumTemp) {
+		for (int i=from; i<to; ++i) {
+			double r = radii[i];
+			fitness[i] = fitness(Math.PI * (r * r), globalTemp, optimumTemp);
+		}
+	}
+	
+	static double fitness(double heat, double globalTemp, double optimumTemp) {
+		double temp = globalTemp + heat/5;
+		return 50.0 / (Math.abs(temp - optimumTemp));
+	}
+	
+}
@@ -0,0 +1,22 @@
+package geneticAlgorithm.function;
+
+/**
+ * A Function which may be evaluated on many Individuals concurrently.
+ * 
+ * By implementing this interface a Function promises that:
+ * 1) evaluate(...) only writes to the Individual it is given (via 
+ * setFitness), and does not modify any other shared state;
+ * 2) any state evaluate(...) reads which can change between generations 
+ * (e.g. an environment value, or the rest of the Population) is published 
+ * as a whole before the evaluation of a generation starts, and is not 
+ * changed whilst it is in progress.
+ * 
+ * Functions which do not implement this interface are always evaluated on
+ * the caller's thread, one Individual at a time.
+ * 
+ * @author Simon Dicken
+ * @version 2015-02-22
+ */
+public interface ThreadSafeFunction<T> extends Function<T> {
+
+}
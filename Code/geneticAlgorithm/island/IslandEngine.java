@@ -0,0 +1,233 @@
+package geneticAlgorithm.island;
+
+import geneticAlgorithm.core.Copier;
+import geneticAlgorithm.core.GeneticAlgorithm;
+import geneticAlgorithm.core.Individual;
+import geneticAlgorithm.core.Population;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import utils.RandomProvider;
+import utils.RandomStream;
+
+/**
+ * Runs several GeneticAlgorithms ('islands') in parallel, one thread per
+ * island, exchanging their fittest Individuals at regular intervals.
+ *
+ * Each island evolves its own Population without any synchronisation with
+ * the others. Every MigrationParams.getInterval() generations an island
+ * copies its fittest Individuals and offers them to the inboxes of its
+ * destination islands; inboxes are lock-free queues. At the start of each
+ * generation an island drains its own inbox, evaluates the arrivals with its
+ * own Function and inserts them according to the ReplacementPolicy.
+ *
+ * The islands must not share mutable state: each needs its own Population,
+ * Function and operators (the operators may share a RandomProvider, since
+ * each thread draws from its own stream). Migration is asynchronous, so
+ * which generation a migrant arrives in depends on thread timing.
+ * The islands' Populations must support removing Individuals by rank
+ * (e.g. PopulationRankTree).
+ *
+ * @author Simon Dicken
+ * @version 2015-02-22
+ */
+public class IslandEngine<T> {
+
+	private final List<GeneticAlgorithm<T>> islands;
+	private final MigrationParams migParams;
+	private final Copier<T> copier;
+	private final List<Queue<Individual<T>>> inboxes;
+	private final List<RandomStream> streams;
+
+	/**
+	 * Constructor for IslandEngine.
+	 *
+	 * @param islands - the algorithms to run, one per island.
+	 * @param migParams - the migration parameters.
+	 * @param copier - used to copy migrants, so islands never share a
+	 * representation.
+	 * @param rand - the source of the random numbers used for migration.
+	 */
+	public IslandEngine(List<GeneticAlgorithm<T>> islands,
+			MigrationParams migParams, Copier<T> copier, RandomProvider rand) {
+
+		if (islands.isEmpty()) {
+			throw new IllegalArgumentException("At least one island is required.");
+		}
+
+		this.islands = new ArrayList<GeneticAlgorithm<T>>(islands);
+		this.migParams = migParams;
+		this.copier = copier;
+		this.inboxes = new ArrayList<Queue<Individual<T>>>();
+		this.streams = new ArrayList<RandomStream>();
+
+		for (int i=0; i<islands.size(); ++i) {
+			inboxes.add(new ConcurrentLinkedQueue<Individual<T>>());
+			streams.add(rand.newStream());
+		}
+	}
+
+	/**
+	 * Run every island for the given number of generations (or until it
+	 * reaches its own maximum iteration), and wait for them all to finish.
+	 *
+	 * @param generations - the number of generations to run each island for.
+	 * @throws InterruptedException - if interrupted whilst waiting.
+	 */
+	public void run(final int generations) throws InterruptedException {
+
+		int numIslands = islands.size();
+		ExecutorService executor = Executors.newFixedThreadPool(numIslands);
+
+		try {
+			List<Callable<Void>> tasks = new ArrayList<Callable<Void>>();
+			for (int i=0; i<numIslands; ++i) {
+				final int island = i;
+				tasks.add(new Callable<Void>() {
+					@Override
+					public Void call() {
+						runIsland(island, generations);
+						return null;
+					}
+				});
+			}
+
+			for (Future<Void> f : executor.invokeAll(tasks)) {
+				try {
+					f.get();
+				} catch (ExecutionException e) {
+					throw new IllegalStateException("An island failed.", e.getCause());
+				}
+			}
+
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	/**
+	 * Obtains the fittest Individual across all the islands. Must not be
+	 * called whilst the engine is running.
+	 *
+	 * @return the fittest Individual.
+	 */
+	public Individual<T> getBest() {
+		Individual<T> best = null;
+		for (GeneticAlgorithm<T> ga : islands) {
+			Individual<T> ind = ga.getPop().getMax();
+			if (best == null || ind.getFitness() > best.getFitness()) {
+				best = ind;
+			}
+		}
+		return best;
+	}
+
+	public List<GeneticAlgorithm<T>> getIslands() {
+		return islands;
+	}
+
+	private void runIsland(int island, int generations) {
+
+		GeneticAlgorithm<T> ga = islands.get(island);
+		int maxIteration = ga.getGenParams().getMaxIteration();
+		long target = Math.min((long) ga.getCurrentGen() + generations, maxIteration);
+
+		while (ga.getCurrentGen() < target && !ga.isFinished()
+				&& !Thread.currentThread().isInterrupted()) {
+			immigrate(island);
+			ga.nextIteration();
+			if (ga.getCurrentGen() % migParams.getInterval() == 0) {
+				emigrate(island);
+			}
+		}
+	}
+
+	private void emigrate(int island) {
+
+		int numIslands = islands.size();
+		if (numIslands < 2 || migParams.getNumMigrants() == 0) {
+			return;
+		}
+
+		Population<Individual<T>> pop = islands.get(island).getPop();
+		int numMigrants = Math.min(migParams.getNumMigrants(), pop.size());
+		RandomStream r = streams.get(island);
+
+		// With a RANDOM topology, all of this migration's migrants go to the
+		// same island.
+		int randomDest = -1;
+		if (migParams.getTopology() == MigrationTopology.RANDOM) {
+			int dest = r.nextInt(numIslands - 1);
+			randomDest = (dest >= island) ? dest + 1 : dest;
+		}
+
+		for (int n=0; n<numMigrants; ++n) {
+			Individual<T> ind = pop.getNthMax(n);
+
+			switch (migParams.getTopology()) {
+			case RING:
+				send(ind, (island + 1) % numIslands);
+				break;
+			case FULLY_CONNECTED:
+				for (int dest=0; dest<numIslands; ++dest) {
+					if (dest != island) {
+						send(ind, dest);
+					}
+				}
+				break;
+			case RANDOM:
+				send(ind, randomDest);
+				break;
+			}
+		}
+	}
+
+	private void send(Individual<T> ind, int dest) {
+		Individual<T> migrant = new Individual<T>(copier.copy(ind.getRepresentation()));
+		inboxes.get(dest).offer(migrant);
+	}
+
+	private void immigrate(int island) {
+
+		Queue<Individual<T>> inbox = inboxes.get(island);
+		GeneticAlgorithm<T> ga = islands.get(island);
+		Population<Individual<T>> pop = ga.getPop();
+		RandomStream r = streams.get(island);
+
+		Individual<T> migrant;
+		while ((migrant = inbox.poll()) != null) {
+
+			if (pop.size() == 0) {
+				continue;
+			}
+
+			ga.getFunction().evaluate(migrant);
+
+			switch (migParams.getReplacement()) {
+			case WORST:
+				pop.removeMin();
+				pop.insert(migrant);
+				break;
+			case WORST_IF_BETTER:
+				if (migrant.getFitness() > pop.getMin().getFitness()) {
+					pop.removeMin();
+					pop.insert(migrant);
+				}
+				break;
+			case RANDOM:
+				pop.removeNthMax(r.nextInt(pop.size()));
+				pop.insert(migrant);
+				break;
+			}
+		}
+	}
+
+}
@@ -0,0 +1,56 @@
+package geneticAlgorithm.island;
+
+/**
+ * The parameters controlling migration between the islands of an 
+ * IslandEngine.
+ * 
+ * @author Simon Dicken
+ * @version 2015-02-22
+ */
+public class MigrationParams {
+
+	private int interval;
+	private int numMigrants;
+	private MigrationTopology topology;
+	private ReplacementPolicy replacement;
+	
+	/**
+	 * Constructor for MigrationParams.
+	 * 
+	 * @param interval - the number of generations between migrations.
+	 * @param numMigrants - the number of Individuals (the fittest) each island
+	 * sends per migration.
+	 * @param topology - which islands receive the migrants.
+	 * @param replacement - which Individuals the migrants replace.
+	 */
+	public MigrationParams(int interval, int numMigrants, 
+			MigrationTopology topology, ReplacementPolicy replacement) {
+		if (interval <= 0) {
+			throw new IllegalArgumentException("interval must be positive.");
+		}
+		if (numMigrants < 0) {
+			throw new IllegalArgumentException("numMigrants must be non-negative.");
+		}
+		this.interval = interval;
+		this.numMigrants = numMigrants;
+		this.topology = topology;
+		this.replacement = replacement;
+	}
+	
+	public int getInterval() {
+		return interval;
+	}
+	
+	public int getNumMigrants() {
+		return numMigrants;
+	}
+	
+	public MigrationTopology getTopology() {
+		return topology;
+	}
+	
+	public ReplacementPolicy getReplacement() {
+		return replacement;
+	}
+	
+}
@@ -0,0 +1,27 @@
+package geneticAlgorithm.island;
+
+/**
+ * Defines which islands receive the migrants sent by an island.
+ * 
+ * @author Simon Dicken
+ * @version 2015-02-22
+ */
+public enum MigrationTopology {
+
+	/**
+	 * Island i sends its migrants to island (i + 1) mod N.
+	 */
+	RING,
+	
+	/**
+	 * Every island sends its migrants to every other island.
+	 */
+	FULLY_CONNECTED,
+	
+	/**
+	 * Every migration, each island sends its migrants to another island 
+	 * chosen uniformly at random.
+	 */
+	RANDOM
+	
+}
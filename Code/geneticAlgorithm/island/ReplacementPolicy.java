@@ -0,0 +1,29 @@
+package geneticAlgorithm.island;
+
+/**
+ * Defines which member of an island's Population an arriving migrant 
+ * replaces. Migrants are evaluated with the receiving island's Function 
+ * before the policy is applied.
+ * 
+ * @author Simon Dicken
+ * @version 2015-02-22
+ */
+public enum ReplacementPolicy {
+
+	/**
+	 * The migrant replaces the least fit Individual.
+	 */
+	WORST,
+	
+	/**
+	 * The migrant replaces the least fit Individual, but only if the migrant
+	 * is fitter; otherwise it is discarded.
+	 */
+	WORST_IF_BETTER,
+	
+	/**
+	 * The migrant replaces an Individual chosen uniformly at random.
+	 */
+	RANDOM
+	
+}
@@ -0,0 +1,125 @@
+package geneticAlgorithm.metrics;
+
+/**
+ * What happened in one generation of a GeneticAlgorithm: the time spent in
+ * each Phase and the amount of work done.
+ * 
+ * Instances are filled in by a MetricsRecorder and reused from one 
+ * generation to the next.
+ * 
+ * @author Simon Dicken
+ * @version 2015-02-22
+ */
+public final class GenerationMetrics {
+
+	private static final Phase[] PHASES = Phase.values();
+	
+	private int generation;
+	private final long[] phaseNanos;
+	private long evaluations;
+	private long offspring;
+	private long rejections;
+	private long repairs;
+	private long allocatedBytes;
+	
+	GenerationMetrics() {
+		this.phaseNanos = new long[PHASES.length];
+		reset(0);
+	}
+	
+	void reset(int generation) {
+		this.generation = generation;
+		for (int i=0; i<phaseNanos.length; ++i) {
+			phaseNanos[i] = 0;
+		}
+		this.evaluations = 0;
+		this.offspring = 0;
+		this.rejections = 0;
+		this.repairs = 0;
+		this.allocatedBytes = -1;
+	}
+	
+	void addPhaseNanos(Phase phase, long nanos) {
+		phaseNanos[phase.ordinal()] += nanos;
+	}
+	
+	void addEvaluations(long count) {
+		evaluations += count;
+	}
+	
+	void addOffspring(long count) {
+		offspring += count;
+	}
+	
+	void setRejections(long rejections) {
+		this.rejections = rejections;
+	}
+	
+	void setRepairs(long repairs) {
+		this.repairs = repairs;
+	}
+	
+	void setAllocatedBytes(long allocatedBytes) {
+		this.allocatedBytes = allocatedBytes;
+	}
+	
+	/**
+	 * @return the generation these metrics describe (the value of 
+	 * getCurrentGen() when it started).
+	 */
+	public int getGeneration() {
+		return generation;
+	}
+	
+	public long getPhaseNanos(Phase phase) {
+		return phaseNanos[phase.ordinal()];
+	}
+	
+	/**
+	 * @return the time spent in all the phases together.
+	 */
+	public long getTotalNanos() {
+		long total = 0;
+		for (int i=0; i<phaseNanos.length; ++i) {
+			total += phaseNanos[i];
+		}
+		return total;
+	}
+	
+	/**
+	 * @return the number of fitness evaluations, including re-evaluating 
+	 * the population.
+	 */
+	public long getEvaluations() {
+		return evaluations;
+	}
+	
+	public long getOffspring() {
+		return offspring;
+	}
+	
+	/**
+	 * @return the number of candidates rejected by the operators whose 
+	 * ConstraintStats were given to the MetricsRecorder.
+	 */
+	public long getRejections() {
+		return rejections;
+	}
+	
+	/**
+	 * @return the number of genes repaired by the operators whose 
+	 * ConstraintStats were given to the MetricsRecorder.
+	 */
+	public long getRepairs() {
+		return repairs;
+	}
+	
+	/**
+	 * @return the number of bytes allocated by the algorithm's thread, or -1
+	 * if the JVM cannot measure it.
+	 */
+	public long getAllocatedBytes() {
+		return allocatedBytes;
+	}
+	
+}
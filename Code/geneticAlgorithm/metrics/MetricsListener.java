@@ -0,0 +1,21 @@
+package geneticAlgorithm.metrics;
+
+/**
+ * Receives the GenerationMetrics recorded by a MetricsRecorder at the end of
+ * each generation.
+ * 
+ * @author Simon Dicken
+ * @version 2015-02-22
+ */
+public interface MetricsListener {
+
+	/**
+	 * Called on the algorithm's thread at the end of each generation. 
+	 * The metrics object is reused for the next generation, so it must not 
+	 * be kept after this method returns; copy any values that are needed.
+	 * 
+	 * @param metrics - the metrics of the generation just completed.
+	 */
+	void generationCompleted(GenerationMetrics metrics);
+	
+}
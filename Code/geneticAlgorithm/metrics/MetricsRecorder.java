@@ -0,0 +1,145 @@
+package geneticAlgorithm.metrics;
+
+import geometry.ConstraintStats;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.Arrays;
+
+/**
+ * Times the phases of each generation of a GeneticAlgorithm and counts the
+ * work done, then passes the GenerationMetrics to a MetricsListener.
+ *
+ * A recorder is attached with GeneticAlgorithm.setMetricsRecorder(...);
+ * when none is attached the algorithm skips all of this. The recorder is
+ * driven by the algorithm's thread and is not thread-safe, so each
+ * algorithm needs its own.
+ *
+ * Allocation is measured with the JVM's per-thread allocation counter
+ * (com.sun.management.ThreadMXBean) where it is available. Rejection and
+ * repair counts are taken from the ConstraintStats of any operators added
+ * with addConstraintStats(...).
+ *
+ * @author Simon Dicken
+ * @version 2015-02-22
+ */
+public class MetricsRecorder {
+
+	private final MetricsListener listener;
+	private final GenerationMetrics metrics;
+	private final com.sun.management.ThreadMXBean threads;
+
+	private ConstraintStats[] constraintStats;
+
+	private long phaseStart;
+	private long allocatedAtStart;
+	private long rejectionsAtStart;
+	private long repairsAtStart;
+
+	/**
+	 * Constructor for MetricsRecorder.
+	 *
+	 * @param listener - receives the metrics of each generation.
+	 */
+	public MetricsRecorder(MetricsListener listener) {
+		this.listener = listener;
+		this.metrics = new GenerationMetrics();
+		this.threads = allocationCounter();
+		this.constraintStats = new ConstraintStats[0];
+	}
+
+	/**
+	 * Include the rejections and repairs of an operator in the metrics.
+	 *
+	 * @param stats - the operator's counts (e.g. from
+	 * CircleBreeder.getConstraintStats()).
+	 */
+	public void addConstraintStats(ConstraintStats stats) {
+		constraintStats = Arrays.copyOf(constraintStats, constraintStats.length + 1);
+		constraintStats[constraintStats.length - 1] = stats;
+	}
+
+	/**
+	 * @return whether allocated bytes are measured.
+	 */
+	public boolean isAllocationMeasured() {
+		return threads != null;
+	}
+
+	public void beginGeneration(int generation) {
+		metrics.reset(generation);
+		rejectionsAtStart = totalRejections();
+		repairsAtStart = totalRepairs();
+		allocatedAtStart = allocatedBytes();
+		phaseStart = System.nanoTime();
+	}
+
+	public void endPhase(Phase phase) {
+		long now = System.nanoTime();
+		metrics.addPhaseNanos(phase, now - phaseStart);
+		phaseStart = now;
+	}
+
+	public void addEvaluations(int count) {
+		metrics.addEvaluations(count);
+	}
+
+	public void addOffspring(int count) {
+		metrics.addOffspring(count);
+	}
+
+	public void endGeneration() {
+		if (threads != null) {
+			metrics.setAllocatedBytes(allocatedBytes() - allocatedAtStart);
+		}
+		metrics.setRejections(totalRejections() - rejectionsAtStart);
+		metrics.setRepairs(totalRepairs() - repairsAtStart);
+		listener.generationCompleted(metrics);
+	}
+
+	public MetricsListener getListener() {
+		return listener;
+	}
+
+	private long totalRejections() {
+		long total = 0;
+		for (int i=0; i<constraintStats.length; ++i) {
+			total += constraintStats[i].getRejections();
+		}
+		return total;
+	}
+
+	private long totalRepairs() {
+		long total = 0;
+		for (int i=0; i<constraintStats.length; ++i) {
+			total += constraintStats[i].getRepairs();
+		}
+		return total;
+	}
+
+	private long allocatedBytes() {
+		if (threads == null) {
+			return 0;
+		}
+		return threads.getThreadAllocatedBytes(Thread.currentThread().getId());
+	}
+
+	private static com.sun.management.ThreadMXBean allocationCounter() {
+		try {
+			ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+			if (bean instanceof com.sun.management.ThreadMXBean) {
+				com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) bean;
+				if (threads.isThreadAllocatedMemorySupported()) {
+					threads.setThreadAllocatedMemoryEnabled(true);
+					return threads;
+				}
+			}
+		} catch (LinkageError e) {
+			// Not a HotSpot-based JVM; allocation is not measured.
+		} catch (UnsupportedOperationException e) {
+			// As above.
+		}
+		return null;
+	}
+
+}
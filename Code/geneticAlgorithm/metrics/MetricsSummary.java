@@ -0,0 +1,112 @@
+package geneticAlgorithm.metrics;
+
+/**
+ * A MetricsListener which adds up the metrics of every generation, to show
+ * where the time of a run went. The totals may be read from any thread.
+ *
+ * @author Simon Dicken
+ * @version 2015-02-22
+ */
+public class MetricsSummary implements MetricsListener {
+
+	private static final Phase[] PHASES = Phase.values();
+
+	private int generations;
+	private final long[] phaseNanos;
+	private final long[] maxPhaseNanos;
+	private long evaluations;
+	private long offspring;
+	private long rejections;
+	private long repairs;
+	private long allocatedBytes;
+
+	public MetricsSummary() {
+		this.phaseNanos = new long[PHASES.length];
+		this.maxPhaseNanos = new long[PHASES.length];
+	}
+
+	@Override
+	public synchronized void generationCompleted(GenerationMetrics metrics) {
+		++generations;
+		for (Phase p : PHASES) {
+			long nanos = metrics.getPhaseNanos(p);
+			phaseNanos[p.ordinal()] += nanos;
+			maxPhaseNanos[p.ordinal()] = Math.max(maxPhaseNanos[p.ordinal()], nanos);
+		}
+		evaluations += metrics.getEvaluations();
+		offspring += metrics.getOffspring();
+		rejections += metrics.getRejections();
+		repairs += metrics.getRepairs();
+		if (metrics.getAllocatedBytes() > 0) {
+			allocatedBytes += metrics.getAllocatedBytes();
+		}
+	}
+
+	public synchronized int getGenerations() {
+		return generations;
+	}
+
+	public synchronized long getPhaseNanos(Phase phase) {
+		return phaseNanos[phase.ordinal()];
+	}
+
+	public synchronized long getMaxPhaseNanos(Phase phase) {
+		return maxPhaseNanos[phase.ordinal()];
+	}
+
+	public synchronized long getTotalNanos() {
+		long total = 0;
+		for (long nanos : phaseNanos) {
+			total += nanos;
+		}
+		return total;
+	}
+
+	public synchronized long getEvaluations() {
+		return evaluations;
+	}
+
+	public synchronized long getOffspring() {
+		return offspring;
+	}
+
+	public synchronized long getRejections() {
+		return rejections;
+	}
+
+	public synchronized long getRepairs() {
+		return repairs;
+	}
+
+	public synchronized long getAllocatedBytes() {
+		return allocatedBytes;
+	}
+
+	/**
+	 * A table of the time spent in each phase, followed by the totals.
+	 *
+	 * @return the summary.
+	 */
+	@Override
+	public synchronized String toString() {
+
+		long total = Math.max(getTotalNanos(), 1);
+		int gens = Math.max(generations, 1);
+
+		StringBuilder sb = new StringBuilder();
+		sb.append(String.format("%-11s %12s %12s %12s %7s%n",
+				"Phase", "Total ms", "Mean us", "Max us", "%"));
+		for (Phase p : PHASES) {
+			long nanos = phaseNanos[p.ordinal()];
+			sb.append(String.format("%-11s %12.1f %12.2f %12.2f %6.1f%%%n", p,
+					nanos / 1e6, nanos / 1e3 / gens, maxPhaseNanos[p.ordinal()] / 1e3,
+					100.0 * nanos / total));
+		}
+		sb.append(String.format("Generations: %d, evaluations: %d, offspring: %d, "
+				+ "rejections: %d, repairs: %d, allocated: %d bytes/generation%n",
+				generations, evaluations, offspring, rejections, repairs,
+				allocatedBytes / gens));
+		return sb.toString();
+	}
+
+}
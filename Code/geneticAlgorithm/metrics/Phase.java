@@ -0,0 +1,22 @@
+package geneticAlgorithm.metrics;
+
+/**
+ * The phases of one generation of a GeneticAlgorithm, in the order they are
+ * run by nextIteration().
+ * 
+ * @author Simon Dicken
+ * @version 2015-02-22
+ */
+public enum Phase {
+
+	SELECT,
+	CROSSOVER,
+	MUTATE,
+	/** Evaluating the offspring. */
+	EVALUATE,
+	/** Merging the offspring, re-evaluating the population and culling it. */
+	REVISE,
+	ADDITIONAL,
+	CHECKPOINT;
+	
+}
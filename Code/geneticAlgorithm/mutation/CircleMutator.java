@@ -1,11 +1,14 @@
 package geneticAlgorithm.mutation;
 
 import geometry.Circle;
+import geometry.CircleConstraint;
 import geometry.CircleLimits;
+import geometry.ConstraintStats;
+import geometry.RepairStrategy;
 import geometry.ShapeChecker;
 import geometry.WorldLimits;
 
-import java.util.Random;
+import utils.RandomProvider;
 
 /**
  * 
@@ -16,21 +19,40 @@ public abstract class CircleMutator implements Mutator<Circle> {
 
 	protected WorldLimits wLimits;
 	protected CircleLimits cLimits;
-	protected Random rand;
-	private int currentGen;
+	protected RandomProvider rand;
+	protected CircleConstraint constraint;
+	// Volatile, since a SteadyStateEngine's workers share the Mutator.
+	private volatile int currentGen;
 	
-	public CircleMutator(WorldLimits wLimits, CircleLimits cLimits, Random rand) {
+	private final ShapeChecker checker;
+	
+	public CircleMutator(WorldLimits wLimits, CircleLimits cLimits, RandomProvider rand) {
+		this(wLimits, cLimits, rand, RepairStrategy.SAMPLE);
+	}
+	
+	public CircleMutator(WorldLimits wLimits, CircleLimits cLimits, RandomProvider rand, 
+			RepairStrategy strategy) {
 		this.wLimits = wLimits;
 		this.cLimits = cLimits;
 		this.rand = rand;
+		this.constraint = new CircleConstraint(wLimits, cLimits, strategy);
 		this.currentGen = 0;
+		this.checker = new ShapeChecker();
 	}
 	
 	protected boolean checkCircle(Circle c) {
-		
-		ShapeChecker checker = new ShapeChecker();
 		return checker.checkCircle(c, cLimits, wLimits);
-		
+	}
+	
+	protected boolean checkCircle(double x, double y, double radius) {
+		return checker.checkCircle(x, y, radius, cLimits, wLimits);
+	}
+	
+	/**
+	 * @return the counts of the rejections and repairs made by this Mutator.
+	 */
+	public ConstraintStats getConstraintStats() {
+		return constraint;
 	}
 	
 	@Override
@@ -1,13 +1,14 @@
 package geneticAlgorithm.mutation;
 
 import geometry.Circle;
+import geometry.CircleConstraint;
 import geometry.CircleLimits;
 import geometry.PointXY;
+import geometry.RepairStrategy;
 import geometry.WorldLimits;
 
-import java.util.Random;
-
-import utils.NumberUtils;
+import utils.RandomProvider;
+import utils.RandomStream;
 
 /**
  * 
@@ -20,89 +21,107 @@ public class CircleMutatorNonUniform extends CircleMutator {
 	private double maxGen;
 	
 	public CircleMutatorNonUniform(WorldLimits wLimits, CircleLimits cLimits, 
-			Random rand, double b, double maxGen) {
-		super(wLimits, cLimits, rand);
+			RandomProvider rand, double b, double maxGen) {
+		this(wLimits, cLimits, rand, b, maxGen, RepairStrategy.SAMPLE);
+	}
+	
+	public CircleMutatorNonUniform(WorldLimits wLimits, CircleLimits cLimits, 
+			RandomProvider rand, double b, double maxGen, RepairStrategy strategy) {
+		super(wLimits, cLimits, rand, strategy);
 
 		this.b = b;
 		this.maxGen = maxGen;
 		
 	}
 
+	/**
+	 * Mutates either the centre or the radius of the circle. 
+	 * With RepairStrategy.SAMPLE the new value is drawn between the limits 
+	 * which keep the circle valid (given the genes which are not mutated), 
+	 * so no attempt is wasted. Otherwise it is drawn between the circle's 
+	 * overall limits and then rejected or repaired.
+	 */
 	@Override
 	public void mutate(Circle c) {
 		
-		// Used to check for infinite loop.
-		int count = 0;
-
-		PointXY oldRef = c.getReference();
+		constraint.countCall();
+		RandomStream r = rand.current();
+		
+		PointXY ref = c.getReference();
+		double oldX = ref.getX();
+		double oldY = ref.getY();
 		double oldRadius = c.getRadius();
-
-		do {
-			// Randomly select a gene to mutate.
+		
+		double x = oldX;
+		double y = oldY;
+		double radius = oldRadius;
+		
+		if (constraint.getStrategy() == RepairStrategy.SAMPLE) {
+			
 			// 0 = reference, 1 = radius.
-			int geneSelect = NumberUtils.randomInt(0, 1);
-
-			// Ensure we reset any invalid changes to the reference/radius whilst looping.
-			c.setReference(oldRef);
-			c.setRadius(oldRadius);
-
-			if (geneSelect == 0) { // For reference
-
-				PointXY newRef = mutateReference(oldRef);
-				c.setReference(newRef);
-
-			} else { // For radius
-
-				double newRadius = mutateRadius(oldRadius);
-				c.setRadius(newRadius);
-
+			if (r.nextInt(2) == 0) {
+				x = mutateGeneNonUniform(oldX, constraint.minX(radius), constraint.maxX(radius), r);
+				y = mutateGeneNonUniform(oldY, constraint.minY(radius), constraint.maxY(radius), r);
+			} else {
+				radius = mutateGeneNonUniform(oldRadius, constraint.minRadius(), 
+						constraint.maxRadiusAt(oldX, oldY), r);
 			}
-
-			++count;
-			if (count > 100) {
-				// We've been through a lot of loops, something really doesn't look right...
-				// (This should be changed to something more reasonable at some point)
-				System.err.println("Error during mutation. Exiting...");
-				System.exit(0);
+			
+		} else {
+			
+			int attempt = 1;
+			while (true) {
+				
+				x = oldX;
+				y = oldY;
+				radius = oldRadius;
+				
+				// Randomly select a gene to mutate.
+				// 0 = reference, 1 = radius.
+				if (r.nextInt(2) == 0) {
+					double margin = cLimits.getMinR();
+					x = mutateGeneNonUniform(oldX, wLimits.getMinX() + margin, 
+							wLimits.getMaxX() - margin, r);
+					y = mutateGeneNonUniform(oldY, wLimits.getMinY() + margin, 
+							wLimits.getMaxY() - margin, r);
+				} else {
+					radius = mutateGeneNonUniform(oldRadius, cLimits.getMinR(), 
+							cLimits.getMaxR(), r);
+				}
+				
+				if (constraint.getStrategy() != RepairStrategy.REJECT 
+						|| checkCircle(x, y, radius)
+						|| attempt == CircleConstraint.MAX_ATTEMPTS) {
+					break;
+				}
+				
+				constraint.countRejection();
+				++attempt;
 			}
-
-		} while(!checkCircle(c));
-
-	}
-
-	private PointXY mutateReference(PointXY oldRef) {
-		
-		double refMinX = wLimits.getMinX() + this.cLimits.getMinR();
-		double refMaxX = wLimits.getMaxX() - this.cLimits.getMinR();
-		double refMinY = wLimits.getMinY() + this.cLimits.getMinR();
-		double refMaxY = wLimits.getMaxY() - this.cLimits.getMinR();
-
-		double newX = mutateGeneNonUniform(oldRef.getX(), refMinX, refMaxX);
-		double newY = mutateGeneNonUniform(oldRef.getY(), refMinY, refMaxY);
-		
-		return new PointXY(newX, newY);
-	}
-	
-	private double mutateRadius(double oldRadius) {
+		}
 		
-		double radMin = cLimits.getMinR();
-		double radMax = cLimits.getMaxR();
-
-		double newRadius = mutateGeneNonUniform(oldRadius, radMin, radMax);
+		// Only needed if the circle was invalid to start with, or if the 
+		// strategy is not SAMPLE.
+		radius = constraint.repair(radius, constraint.minRadius(), constraint.maxRadius());
+		x = constraint.repair(x, constraint.minX(radius), constraint.maxX(radius));
+		y = constraint.repair(y, constraint.minY(radius), constraint.maxY(radius));
 		
-		return newRadius;
+		// Mutate in place rather than allocating a new reference point.
+		ref.setXY(x, y);
+		c.setRadius(radius);
 	}
 	
-	private double mutateGeneNonUniform(double currentVal, double minVal, double maxVal) {
+	private double mutateGeneNonUniform(double currentVal, double minVal, double maxVal, 
+			RandomStream rs) {
 		
 		double genFactor = (1.0 * getCurrentGen()) / maxGen;
 		
-		double r = NumberUtils.randomDouble(0, 1);
+		double r = rs.nextDouble();
 		double tPart = Math.pow(r, (1 - genFactor));
 		double t = Math.pow((1 - tPart), b);
 		
 		double newGeneVal = 0;
-		double tau = NumberUtils.randomDouble(0, 1);
+		double tau = rs.nextDouble();
 		if (tau >= 0.5) {
 			newGeneVal = currentVal + (maxVal - currentVal) * t;
 		} else {
@@ -3,22 +3,131 @@ package geneticAlgorithm.selection;
 import geneticAlgorithm.core.Individual;
 import geneticAlgorithm.core.Population;
 
+import java.util.ArrayList;
+import java.util.List;
+
+import utils.RandomProvider;
+import utils.RandomStream;
+
 /**
- * 
+ * Chooses Individuals from a Population to become parents.
+ *
+ * A GeneticAlgorithm calls prepare(...) once per generation, which copies
+ * the Population into a random-access snapshot (lowest fitness first), and
+ * then selects all of the generation's parents from the snapshot, so that
+ * each choice takes constant time (or O(k) for a tournament) however the
+ * Population is stored. select(Population) can still be used on its own
+ * (e.g. by a steady-state algorithm, whose Population changes after every
+ * choice); unless a sub-class does better, it prepares a new snapshot on
+ * every call.
+ *
+ * A Selector holds per-generation state, so prepare(...) and the methods
+ * which use the snapshot must only be used by one thread at a time.
+ * select(Population) may be called by several threads at once.
+ *
  * @author Simon Dicken
  * @version 2015-02-22
  */
 public abstract class Selector<T> {
 
-	protected int currentGen;
-	
+	// Volatile, since a SteadyStateEngine's workers share the Selector.
+	protected volatile int currentGen;
+	protected RandomProvider rand;
+
+	// The prepared snapshot, in ascending order of fitness.
+	protected final List<Individual<T>> members;
+	protected double[] fitness;
+	protected int size;
+
 	public Selector() {
+		this(RandomProvider.getDefault());
+	}
+
+	public Selector(RandomProvider rand) {
+		this.rand = rand;
+		this.members = new ArrayList<Individual<T>>();
+		this.fitness = new double[16];
+		this.size = 0;
+	}
+
+	/**
+	 * Take a snapshot of the Population to select from. The snapshot is used
+	 * by select() and select(int, List) until prepare(...) is called again.
+	 *
+	 * @param pop - the Population; must not be empty.
+	 */
+	public void prepare(Population<Individual<T>> pop) {
+
+		members.clear();
+		int n = pop.size();
+		if (fitness.length < n) {
+			fitness = new double[Math.max(n, 2 * fitness.length)];
+		}
+
+		for (Individual<T> ind : pop) {
+			fitness[members.size()] = ind.getFitness();
+			members.add(ind);
+		}
+		size = members.size();
+
+		if (size == 0) {
+			throw new IllegalArgumentException("Cannot select from an empty Population.");
+		}
+
+		prepared();
 	}
-	
-	public abstract Individual<T> select(Population<Individual<T>> pop);
-	
+
+	/**
+	 * Called at the end of prepare(...); sub-classes can override it to
+	 * build any tables they need from the snapshot.
+	 */
+	protected void prepared() {
+	}
+
+	/**
+	 * Choose the index of an Individual in the prepared snapshot.
+	 *
+	 * @param r - the source of random numbers.
+	 * @return an index from 0 (least fit) to size - 1 (fittest).
+	 */
+	protected abstract int selectIndex(RandomStream r);
+
+	/**
+	 * Choose an Individual from the prepared snapshot.
+	 *
+	 * @return the chosen Individual.
+	 */
+	public Individual<T> select() {
+		return members.get(selectIndex(rand.current()));
+	}
+
+	/**
+	 * Choose several Individuals from the prepared snapshot. The same
+	 * Individual may be chosen more than once.
+	 *
+	 * @param count - the number of Individuals to choose.
+	 * @param out - the list to add the chosen Individuals to.
+	 */
+	public void select(int count, List<Individual<T>> out) {
+		RandomStream r = rand.current();
+		for (int i=0; i<count; ++i) {
+			out.add(members.get(selectIndex(r)));
+		}
+	}
+
+	/**
+	 * Choose an Individual from the Population.
+	 *
+	 * @param pop - the Population; must not be empty.
+	 * @return the chosen Individual.
+	 */
+	public synchronized Individual<T> select(Population<Individual<T>> pop) {
+		prepare(pop);
+		return select();
+	}
+
 	public void setCurrentGen(int currentGen) {
 		this.currentGen = currentGen;
 	}
-	
+
 }
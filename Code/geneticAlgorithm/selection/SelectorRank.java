@@ -0,0 +1,54 @@
+package geneticAlgorithm.selection;
+
+import utils.RandomProvider;
+
+/**
+ * Linear ranking selection: each Individual is weighted by its rank rather
+ * than its fitness value, so the selection pressure does not depend on how
+ * the fitness values are spread.
+ * 
+ * With selective pressure s (from 1 to 2), the least fit Individual has 
+ * weight 2 - s and the fittest has weight s, with the rest spaced evenly 
+ * between. s = 1 selects uniformly; s = 2 never selects the least fit.
+ * 
+ * @author Simon Dicken
+ * @version 2015-02-22
+ */
+public class SelectorRank<T> extends SelectorRoulette<T> {
+
+	private final double pressure;
+	
+	public SelectorRank(double pressure) {
+		super();
+		this.pressure = checkPressure(pressure);
+	}
+	
+	public SelectorRank(double pressure, RandomProvider rand) {
+		super(rand);
+		this.pressure = checkPressure(pressure);
+	}
+	
+	public double getPressure() {
+		return pressure;
+	}
+	
+	@Override
+	protected void computeWeights() {
+		if (size == 1) {
+			weights[0] = 1;
+			return;
+		}
+		double step = 2 * (pressure - 1) / (size - 1);
+		for (int i=0; i<size; ++i) {
+			weights[i] = (2 - pressure) + step * i;
+		}
+	}
+	
+	private static double checkPressure(double pressure) {
+		if (!(pressure >= 1 && pressure <= 2)) {
+			throw new IllegalArgumentException("Selective pressure must be from 1 to 2.");
+		}
+		return pressure;
+	}
+	
+}
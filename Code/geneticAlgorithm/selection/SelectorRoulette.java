@@ -0,0 +1,78 @@
+package geneticAlgorithm.selection;
+
+import utils.AliasTable;
+import utils.RandomProvider;
+import utils.RandomStream;
+
+/**
+ * Fitness-proportionate ('roulette wheel') selection: each Individual is 
+ * chosen with probability proportional to its weight, which is its fitness
+ * value. If any fitness value is negative, all of them are shifted up so 
+ * that the least fit Individual has a weight of 0.
+ * 
+ * The weights are put into an AliasTable when the snapshot is prepared, so
+ * each choice takes constant time.
+ * 
+ * @author Simon Dicken
+ * @version 2015-02-22
+ */
+public class SelectorRoulette<T> extends Selector<T> {
+
+	protected double[] weights;
+	protected double totalWeight;
+	private final AliasTable table;
+	
+	public SelectorRoulette() {
+		super();
+		this.weights = new double[16];
+		this.table = new AliasTable();
+	}
+	
+	public SelectorRoulette(RandomProvider rand) {
+		super(rand);
+		this.weights = new double[16];
+		this.table = new AliasTable();
+	}
+	
+	@Override
+	protected void prepared() {
+		
+		if (weights.length < size) {
+			weights = new double[fitness.length];
+		}
+		computeWeights();
+		
+		// Keep the total finite, so that the weights can be added up.
+		double maxWeight = Double.MAX_VALUE / size;
+		totalWeight = 0;
+		for (int i=0; i<size; ++i) {
+			double w = weights[i];
+			if (!(w > 0)) {
+				w = 0;
+			} else if (w > maxWeight) {
+				w = maxWeight;
+			}
+			weights[i] = w;
+			totalWeight += w;
+		}
+		
+		table.build(weights, size);
+	}
+	
+	/**
+	 * Fill in weights[0..size-1] from the snapshot. Sub-classes can override
+	 * this method to weight the Individuals differently.
+	 */
+	protected void computeWeights() {
+		double shift = Math.min(0, fitness[0]);
+		for (int i=0; i<size; ++i) {
+			weights[i] = fitness[i] - shift;
+		}
+	}
+	
+	@Override
+	protected int selectIndex(RandomStream r) {
+		return table.sample(r);
+	}
+	
+}
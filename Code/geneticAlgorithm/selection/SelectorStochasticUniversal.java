@@ -0,0 +1,59 @@
+package geneticAlgorithm.selection;
+
+import geneticAlgorithm.core.Individual;
+
+import java.util.List;
+
+import utils.RandomProvider;
+import utils.RandomStream;
+
+/**
+ * Stochastic universal sampling: the weights of SelectorRoulette, but all of
+ * a generation's parents are chosen with a single spin of a wheel with 
+ * equally spaced pointers. Each Individual is then chosen within one of its
+ * expected number of times, which reduces the variance of the selection.
+ * 
+ * Choosing count parents takes O(n + count) time. A single choice (select()
+ * or select(Population)) is an ordinary roulette spin.
+ * 
+ * @author Simon Dicken
+ * @version 2015-02-22
+ */
+public class SelectorStochasticUniversal<T> extends SelectorRoulette<T> {
+
+	public SelectorStochasticUniversal() {
+		super();
+	}
+	
+	public SelectorStochasticUniversal(RandomProvider rand) {
+		super(rand);
+	}
+	
+	@Override
+	public void select(int count, List<Individual<T>> out) {
+		
+		if (count <= 0) {
+			return;
+		}
+		if (!(totalWeight > 0)) {
+			super.select(count, out);
+			return;
+		}
+		
+		RandomStream r = rand.current();
+		double step = totalWeight / count;
+		double pointer = r.nextDouble() * step;
+		
+		int i = 0;
+		double cumulative = weights[0];
+		for (int n=0; n<count; ++n) {
+			while (cumulative <= pointer && i < size - 1) {
+				++i;
+				cumulative += weights[i];
+			}
+			out.add(members.get(i));
+			pointer += step;
+		}
+	}
+	
+}
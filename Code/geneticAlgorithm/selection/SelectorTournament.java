@@ -2,45 +2,96 @@ package geneticAlgorithm.selection;
 
 import geneticAlgorithm.core.Individual;
 import geneticAlgorithm.core.Population;
+import utils.RandomProvider;
+import utils.RandomStream;
 
 /**
- * 
+ * k-way tournament selection: tournSize different Individuals are drawn at
+ * random and the fittest of them wins.
+ *
+ * Since the snapshot (and the Population) is ordered by fitness, the winner
+ * is simply the contestant with the best rank, so no fitness values are
+ * compared and a tournament takes O(k) time. select(Population) draws the
+ * ranks in the same way and then looks up only the winner, so it does not
+ * need a snapshot.
+ *
  * @author Simon Dicken
  * @version 2015-02-22
  */
 public class SelectorTournament<T> extends Selector<T> {
 
 	int tournSize;
-	
+
+	// The ranks drawn so far in a tournament on the prepared snapshot.
+	private final int[] contestants;
+
 	public SelectorTournament(int tournSize) {
-		this.tournSize = tournSize;
+		super();
+		this.tournSize = checkSize(tournSize);
+		this.contestants = new int[tournSize];
+	}
+
+	public SelectorTournament(int tournSize, RandomProvider rand) {
+		super(rand);
+		this.tournSize = checkSize(tournSize);
+		this.contestants = new int[tournSize];
 	}
-	
+
 	public int getTournSize() {
 		return tournSize;
 	}
-	
-	
+
+	@Override
+	protected int selectIndex(RandomStream r) {
+		return bestRank(size, r, contestants);
+	}
+
+	/**
+	 * Unlike the other methods, this may be called by several threads at 
+	 * once.
+	 */
 	@Override
 	public Individual<T> select(Population<Individual<T>> pop) {
-		
-		int rand1 = (int) (Math.random() * pop.size());
-		int rand2 = rand1;
-		
-		while (rand2 == rand1) {
-			rand2 = (int) (Math.random() * pop.size());
+		int n = pop.size();
+		int[] drawn = new int[Math.min(tournSize, n)];
+		return pop.getNthMin(bestRank(n, rand.current(), drawn));
+	}
+
+	/**
+	 * Draws min(tournSize, n) different ranks from 0 to n - 1 and returns
+	 * the highest.
+	 */
+	private int bestRank(int n, RandomStream r, int[] contestants) {
+
+		int k = Math.min(tournSize, n);
+		int best = -1;
+
+		for (int i=0; i<k; ++i) {
+			int rank;
+			boolean repeat;
+			do {
+				rank = r.nextInt(n);
+				repeat = false;
+				for (int j=0; j<i; ++j) {
+					if (contestants[j] == rank) {
+						repeat = true;
+						break;
+					}
+				}
+			} while (repeat);
+
+			contestants[i] = rank;
+			best = Math.max(best, rank);
+		}
+
+		return best;
+	}
+
+	private static int checkSize(int tournSize) {
+		if (tournSize < 1) {
+			throw new IllegalArgumentException("Tournament size must be at least 1.");
 		}
-		
-		Individual<T> ind1 = pop.getNthMax(rand1);
-		Individual<T> ind2 = pop.getNthMax(rand2);
-		
-		int compare = ind1.compareTo(ind2);
-		
-		if (compare >= 0) {
-			return ind1;
-		} else {
-			return ind2;
-		} 
-	}	
-	
+		return tournSize;
+	}
+
 }
@@ -0,0 +1,90 @@
+package geneticAlgorithm.stats;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Writes the statistics to a compact binary file.
+ * 
+ * Layout (big-endian): magic, version, then for each generation: 
+ * generation, global temperature, best fitness, best radius, worst fitness,
+ * worst radius, mean fitness, population size, the number of Individuals 
+ * recorded in full and (fitness, radius, x, y) for each of them.
+ * 
+ * @author Simon Dicken
+ * @version 2015-02-22
+ */
+public class BinarySink implements StatsSink {
+
+	public static final int MAGIC = 0x47415354; // "GAST"
+	public static final int VERSION = 1;
+	
+	private static final int BUFFER_SIZE = 1 << 16;
+	
+	private final FileChannel channel;
+	private ByteBuffer buf;
+	
+	/**
+	 * Constructor for BinarySink.
+	 * 
+	 * @param file - the file to write; it is replaced if it exists.
+	 * @throws IOException - if the file could not be created.
+	 */
+	public BinarySink(Path file) throws IOException {
+		this.channel = FileChannel.open(file, StandardOpenOption.CREATE, 
+				StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+		this.buf = ByteBuffer.allocateDirect(BUFFER_SIZE);
+		buf.putInt(MAGIC);
+		buf.putInt(VERSION);
+	}
+	
+	@Override
+	public void write(GenerationStats stats) throws IOException {
+		
+		int size = 4 + 6 * 8 + 4 + 4 + stats.getTopCount() * 4 * 8;
+		if (buf.remaining() < size) {
+			flush();
+			if (buf.capacity() < size) {
+				buf = ByteBuffer.allocateDirect(size);
+			}
+		}
+		
+		buf.putInt(stats.getGeneration());
+		buf.putDouble(stats.getGlobalTemp());
+		buf.putDouble(stats.getBestFitness());
+		buf.putDouble(stats.getBestRadius());
+		buf.putDouble(stats.getWorstFitness());
+		buf.putDouble(stats.getWorstRadius());
+		buf.putDouble(stats.getMeanFitness());
+		buf.putInt(stats.getPopulationSize());
+		buf.putInt(stats.getTopCount());
+		for (int i=0; i<stats.getTopCount(); ++i) {
+			buf.putDouble(stats.getFitness(i));
+			buf.putDouble(stats.getRadius(i));
+			buf.putDouble(stats.getX(i));
+			buf.putDouble(stats.getY(i));
+		}
+	}
+	
+	@Override
+	public void flush() throws IOException {
+		buf.flip();
+		while (buf.hasRemaining()) {
+			channel.write(buf);
+		}
+		buf.clear();
+	}
+	
+	@Override
+	public void close() throws IOException {
+		try {
+			flush();
+		} finally {
+			channel.close();
+		}
+	}
+	
+}
@@ -0,0 +1,70 @@
+package geneticAlgorithm.stats;
+
+import java.io.PrintStream;
+
+/**
+ * Prints a summary of each generation, and the fittest Individuals, in the
+ * format of the original HeatGeneticAlgorithm output.
+ * 
+ * @author Simon Dicken
+ * @version 2015-02-22
+ */
+public class ConsoleSink implements StatsSink {
+
+	private final PrintStream out;
+	private final StringBuilder sb;
+	
+	/**
+	 * Constructor for ConsoleSink.
+	 * 
+	 * @param out - the stream to print to (e.g. System.out).
+	 */
+	public ConsoleSink(PrintStream out) {
+		this.out = out;
+		this.sb = new StringBuilder();
+	}
+	
+	@Override
+	public void write(GenerationStats stats) {
+		
+		String newLine = System.lineSeparator();
+		sb.setLength(0);
+		
+		sb.append("Epoch: ").append(stats.getGeneration()).append(newLine);
+		if (!Double.isNaN(stats.getGlobalTemp())) {
+			sb.append("Global temperature : ").append(stats.getGlobalTemp()).append(newLine);
+		}
+		sb.append("Best fitness: ").append(stats.getBestFitness()).append(newLine);
+		sb.append("Best radius: ").append(stats.getBestRadius()).append(newLine);
+		sb.append("Worst fitness: ").append(stats.getWorstFitness()).append(newLine);
+		sb.append("Worst radius: ").append(stats.getWorstRadius()).append(newLine);
+		sb.append("Best - worst: ").append(stats.getBestFitness() - stats.getWorstFitness()).append(newLine);
+		sb.append("Population size: ").append(stats.getPopulationSize()).append(newLine);
+		sb.append(" ").append(newLine);
+		
+		if (stats.getTopCount() > 0) {
+			for (int i=0; i<stats.getTopCount(); ++i) {
+				sb.append("Ind ").append(i)
+						.append(": Radius = ").append(stats.getRadius(i))
+						.append(", X coord = ").append(stats.getX(i))
+						.append(", Y coord = ").append(stats.getY(i))
+						.append(newLine);
+			}
+			sb.append(" ").append(newLine);
+		}
+		
+		out.print(sb);
+	}
+	
+	@Override
+	public void flush() {
+		out.flush();
+	}
+	
+	@Override
+	public void close() {
+		// The stream belongs to the caller.
+		out.flush();
+	}
+	
+}
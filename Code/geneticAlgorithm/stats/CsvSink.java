@@ -0,0 +1,79 @@
+package geneticAlgorithm.stats;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Writes one line per generation to a CSV file: the summary columns, then 
+ * the fitness, radius and position of each of the fittest Individuals.
+ * 
+ * @author Simon Dicken
+ * @version 2015-02-22
+ */
+public class CsvSink implements StatsSink {
+
+	private final BufferedWriter out;
+	private final StringBuilder sb;
+	private boolean headerWritten;
+	
+	/**
+	 * Constructor for CsvSink.
+	 * 
+	 * @param file - the file to write; it is replaced if it exists.
+	 * @throws IOException - if the file could not be created.
+	 */
+	public CsvSink(Path file) throws IOException {
+		this.out = Files.newBufferedWriter(file, StandardCharsets.UTF_8);
+		this.sb = new StringBuilder();
+		this.headerWritten = false;
+	}
+	
+	@Override
+	public void write(GenerationStats stats) throws IOException {
+		
+		sb.setLength(0);
+		
+		if (!headerWritten) {
+			sb.append("generation,globalTemp,bestFitness,bestRadius,worstFitness,"
+					+ "worstRadius,meanFitness,populationSize");
+			for (int i=0; i<stats.getTopCount(); ++i) {
+				sb.append(",fitness").append(i).append(",radius").append(i)
+						.append(",x").append(i).append(",y").append(i);
+			}
+			sb.append('\n');
+			headerWritten = true;
+		}
+		
+		sb.append(stats.getGeneration()).append(',')
+				.append(stats.getGlobalTemp()).append(',')
+				.append(stats.getBestFitness()).append(',')
+				.append(stats.getBestRadius()).append(',')
+				.append(stats.getWorstFitness()).append(',')
+				.append(stats.getWorstRadius()).append(',')
+				.append(stats.getMeanFitness()).append(',')
+				.append(stats.getPopulationSize());
+		for (int i=0; i<stats.getTopCount(); ++i) {
+			sb.append(',').append(stats.getFitness(i))
+					.append(',').append(stats.getRadius(i))
+					.append(',').append(stats.getX(i))
+					.append(',').append(stats.getY(i));
+		}
+		sb.append('\n');
+		
+		out.append(sb);
+	}
+	
+	@Override
+	public void flush() throws IOException {
+		out.flush();
+	}
+	
+	@Override
+	public void close() throws IOException {
+		out.close();
+	}
+	
+}
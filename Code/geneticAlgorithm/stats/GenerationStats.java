@@ -0,0 +1,137 @@
+package geneticAlgorithm.stats;
+
+/**
+ * A summary of the Population of one generation, as passed to each
+ * StatsSink: the best, worst and mean fitness, and the fittest few
+ * Individuals. The position and radius of an Individual are given if its
+ * representation is a Shape (the radius being that of a circle with the same
+ * area), and are NaN otherwise.
+ *
+ * Instances are reused by the StatsRecorder once every sink has written
+ * them; a sink which keeps one must keep a copy().
+ *
+ * @author Simon Dicken
+ * @version 2015-02-22
+ */
+public final class GenerationStats {
+
+	private int generation;
+	private double globalTemp;
+	private double bestFitness;
+	private double bestRadius;
+	private double worstFitness;
+	private double worstRadius;
+	private double meanFitness;
+	private int populationSize;
+
+	// The fittest Individuals, fittest first.
+	private int topCount;
+	private final double[] fitness;
+	private final double[] x;
+	private final double[] y;
+	private final double[] radius;
+
+	GenerationStats(int maxTop) {
+		this.fitness = new double[maxTop];
+		this.x = new double[maxTop];
+		this.y = new double[maxTop];
+		this.radius = new double[maxTop];
+	}
+
+	void setSummary(int generation, double globalTemp, double bestFitness, double bestRadius,
+			double worstFitness, double worstRadius, double meanFitness, int populationSize) {
+		this.generation = generation;
+		this.globalTemp = globalTemp;
+		this.bestFitness = bestFitness;
+		this.bestRadius = bestRadius;
+		this.worstFitness = worstFitness;
+		this.worstRadius = worstRadius;
+		this.meanFitness = meanFitness;
+		this.populationSize = populationSize;
+		this.topCount = 0;
+	}
+
+	void addTop(double fitness, double x, double y, double radius) {
+		this.fitness[topCount] = fitness;
+		this.x[topCount] = x;
+		this.y[topCount] = y;
+		this.radius[topCount] = radius;
+		++topCount;
+	}
+
+	/**
+	 * @return an independent copy of these statistics.
+	 */
+	public GenerationStats copy() {
+		GenerationStats copy = new GenerationStats(topCount);
+		copy.setSummary(generation, globalTemp, bestFitness, bestRadius, worstFitness,
+				worstRadius, meanFitness, populationSize);
+		for (int i=0; i<topCount; ++i) {
+			copy.addTop(fitness[i], x[i], y[i], radius[i]);
+		}
+		return copy;
+	}
+
+	public int getGeneration() {
+		return generation;
+	}
+
+	/**
+	 * @return the global temperature, or NaN if the algorithm has none.
+	 */
+	public double getGlobalTemp() {
+		return globalTemp;
+	}
+
+	public double getBestFitness() {
+		return bestFitness;
+	}
+
+	public double getBestRadius() {
+		return bestRadius;
+	}
+
+	public double getWorstFitness() {
+		return worstFitness;
+	}
+
+	public double getWorstRadius() {
+		return worstRadius;
+	}
+
+	public double getMeanFitness() {
+		return meanFitness;
+	}
+
+	public int getPopulationSize() {
+		return populationSize;
+	}
+
+	/**
+	 * @return the number of Individuals recorded in full.
+	 */
+	public int getTopCount() {
+		return topCount;
+	}
+
+	/**
+	 * @param rank - 0 for the fittest Individual, up to getTopCount() - 1.
+	 * @return the fitness of the Individual.
+	 */
+	public double getFitness(int rank) {
+		return fitness[rank];
+	}
+
+	public double getX(int rank) {
+		return x[rank];
+	}
+
+	public double getY(int rank) {
+		return y[rank];
+	}
+
+	public double getRadius(int rank) {
+		return radius[rank];
+	}
+
+}
@@ -0,0 +1,57 @@
+package geneticAlgorithm.stats;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Keeps the statistics of the most recent generations in memory, e.g. for 
+ * plotting or for tests of an experiment.
+ * 
+ * @author Simon Dicken
+ * @version 2015-02-22
+ */
+public class MemorySink implements StatsSink {
+
+	private final int capacity;
+	private final ArrayDeque<GenerationStats> stats;
+	
+	/**
+	 * Constructor for MemorySink.
+	 * 
+	 * @param capacity - the number of generations to keep; older ones are 
+	 * dropped.
+	 */
+	public MemorySink(int capacity) {
+		if (capacity < 1) {
+			throw new IllegalArgumentException("Capacity must be at least 1.");
+		}
+		this.capacity = capacity;
+		this.stats = new ArrayDeque<GenerationStats>();
+	}
+	
+	@Override
+	public synchronized void write(GenerationStats s) {
+		if (stats.size() == capacity) {
+			stats.removeFirst();
+		}
+		stats.addLast(s.copy());
+	}
+	
+	/**
+	 * @return the generations kept, oldest first. May be called from any 
+	 * thread.
+	 */
+	public synchronized List<GenerationStats> getStats() {
+		return new ArrayList<GenerationStats>(stats);
+	}
+	
+	@Override
+	public void flush() {
+	}
+	
+	@Override
+	public void close() {
+	}
+	
+}
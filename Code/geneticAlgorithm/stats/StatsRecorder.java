@@ -0,0 +1,248 @@
+package geneticAlgorithm.stats;
+
+import geneticAlgorithm.core.Individual;
+import geneticAlgorithm.core.Population;
+import geometry.PointXY;
+import geometry.Shape;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Collects the statistics of a GeneticAlgorithm every few generations and
+ * writes them to any number of StatsSinks on a background thread, so that
+ * formatting and I/O do not hold up the algorithm.
+ *
+ * On the algorithm's thread the statistics are copied into one of a fixed
+ * number of reusable GenerationStats; the writer thread passes them to the
+ * sinks and hands them back. If the sinks fall so far behind that none is
+ * free, the algorithm waits. Sinks are flushed whenever the writer catches
+ * up, and when the recorder is closed.
+ *
+ * A sink which fails (with an IOException or a RuntimeException) is 
+ * reported to System.err and not written to again. If the writer thread 
+ * dies nonetheless, later generations are skipped rather than waited for.
+ *
+ * @author Simon Dicken
+ * @version 2015-02-22
+ */
+public class StatsRecorder {
+
+	// The number of GenerationStats which may be waiting to be written.
+	private static final int QUEUE_SIZE = 64;
+
+	private final int interval;
+	private final int topK;
+	private final List<StatsSink> sinks;
+
+	private final BlockingQueue<GenerationStats> free;
+	private final BlockingQueue<GenerationStats> pending;
+	// Put on the pending queue to stop the writer.
+	private final GenerationStats end;
+	private final Thread writer;
+	private volatile boolean writerAlive;
+	private boolean closed;
+
+	/**
+	 * Constructor for StatsRecorder.
+	 *
+	 * @param interval - record every interval-th generation.
+	 * @param topK - the number of the fittest Individuals to record in full;
+	 * 0 records just the summary.
+	 * @param sinks - where to write the statistics.
+	 */
+	public StatsRecorder(int interval, int topK, StatsSink... sinks) {
+
+		if (interval < 1 || topK < 0) {
+			throw new IllegalArgumentException("Interval must be at least 1 and topK must not be negative.");
+		}
+
+		this.interval = interval;
+		this.topK = topK;
+		this.sinks = new ArrayList<StatsSink>(Arrays.asList(sinks));
+		this.free = new ArrayBlockingQueue<GenerationStats>(QUEUE_SIZE);
+		this.pending = new ArrayBlockingQueue<GenerationStats>(QUEUE_SIZE + 1);
+		this.end = new GenerationStats(0);
+		this.writerAlive = true;
+		this.closed = false;
+
+		for (int i=0; i<QUEUE_SIZE; ++i) {
+			free.add(new GenerationStats(topK));
+		}
+
+		this.writer = new Thread(new Runnable() {
+			@Override
+			public void run() {
+				try {
+					writeAll();
+				} finally {
+					writerAlive = false;
+				}
+			}
+		}, "stats-writer");
+		writer.setDaemon(true);
+		writer.start();
+	}
+
+	/**
+	 * @param generation - the generation.
+	 * @return whether the generation should be recorded.
+	 */
+	public boolean isDue(int generation) {
+		return generation % interval == 0;
+	}
+
+	/**
+	 * Record the statistics of a generation.
+	 *
+	 * @param generation - the generation.
+	 * @param pop - the Population at the end of the generation.
+	 * @param globalTemp - the global temperature, or NaN if there is none.
+	 */
+	public <T> void record(int generation, Population<Individual<T>> pop, double globalTemp) {
+
+		if (closed) {
+			throw new IllegalStateException("The recorder has been closed.");
+		}
+
+		GenerationStats stats;
+		try {
+			stats = free.poll();
+			while (stats == null) {
+				if (!writerAlive) {
+					// Nothing will ever be handed back; skip this generation.
+					return;
+				}
+				stats = free.poll(100, TimeUnit.MILLISECONDS);
+			}
+		} catch (InterruptedException e) {
+			// Skip this generation rather than block an interrupted thread.
+			Thread.currentThread().interrupt();
+			return;
+		}
+
+		int size = pop.size();
+		if (size == 0) {
+			stats.setSummary(generation, globalTemp, Double.NaN, Double.NaN, Double.NaN,
+					Double.NaN, Double.NaN, 0);
+		} else {
+			double sum = 0;
+			for (Individual<T> ind : pop) {
+				sum += ind.getFitness();
+			}
+			Individual<T> best = pop.getMax();
+			Individual<T> worst = pop.getMin();
+			stats.setSummary(generation, globalTemp, best.getFitness(), radius(best),
+					worst.getFitness(), radius(worst), sum / size, size);
+
+			int top = Math.min(topK, size);
+			for (int i=0; i<top; ++i) {
+				Individual<T> ind = pop.getNthMax(i);
+				Object rep = ind.getRepresentation();
+				double x = Double.NaN;
+				double y = Double.NaN;
+				if (rep instanceof Shape) {
+					PointXY ref = ((Shape) rep).getReference();
+					x = ref.getX();
+					y = ref.getY();
+				}
+				stats.addTop(ind.getFitness(), x, y, radius(ind));
+			}
+		}
+
+		pending.add(stats);
+	}
+
+	/**
+	 * Write any statistics still waiting, then close the sinks and stop the
+	 * writer thread.
+	 *
+	 * @throws InterruptedException - if interrupted whilst waiting.
+	 */
+	public void close() throws InterruptedException {
+		if (!closed) {
+			closed = true;
+			pending.add(end);
+		}
+		writer.join();
+	}
+
+	public int getInterval() {
+		return interval;
+	}
+
+	public int getTopK() {
+		return topK;
+	}
+
+	private static double radius(Individual<?> ind) {
+		Object rep = ind.getRepresentation();
+		if (rep instanceof Shape) {
+			return Math.sqrt(((Shape) rep).getArea() / Math.PI);
+		}
+		return Double.NaN;
+	}
+
+	private void writeAll() {
+
+		boolean[] failed = new boolean[sinks.size()];
+
+		while (true) {
+
+			GenerationStats stats;
+			try {
+				stats = pending.take();
+			} catch (InterruptedException e) {
+				break;
+			}
+
+			if (stats == end) {
+				break;
+			}
+
+			for (int i=0; i<sinks.size(); ++i) {
+				if (!failed[i]) {
+					try {
+						sinks.get(i).write(stats);
+					} catch (IOException | RuntimeException e) {
+						fail(i, e, failed);
+					}
+				}
+			}
+			free.add(stats);
+
+			if (pending.isEmpty()) {
+				for (int i=0; i<sinks.size(); ++i) {
+					if (!failed[i]) {
+						try {
+							sinks.get(i).flush();
+						} catch (IOException | RuntimeException e) {
+							fail(i, e, failed);
+						}
+					}
+				}
+			}
+		}
+
+		for (int i=0; i<sinks.size(); ++i) {
+			try {
+				sinks.get(i).close();
+			} catch (IOException | RuntimeException e) {
+				if (!failed[i]) {
+					fail(i, e, failed);
+				}
+			}
+		}
+	}
+
+	private void fail(int sink, Exception e, boolean[] failed) {
+		failed[sink] = true;
+		System.err.println("Could not write statistics to " + sinks.get(sink) + ": " + e);
+	}
+
+}
@@ -0,0 +1,28 @@
+package geneticAlgorithm.stats;
+
+import java.io.IOException;
+
+/**
+ * A destination for the statistics of a run (e.g. the console or a file).
+ * 
+ * The methods are only ever called by the StatsRecorder's writer thread, so
+ * a sink does not need to be thread-safe, and may buffer its output until 
+ * flush() is called.
+ * 
+ * @author Simon Dicken
+ * @version 2015-02-22
+ */
+public interface StatsSink {
+
+	/**
+	 * @param stats - the statistics of one generation; reused after this 
+	 * method returns.
+	 * @throws IOException - if the statistics could not be written.
+	 */
+	void write(GenerationStats stats) throws IOException;
+	
+	void flush() throws IOException;
+	
+	void close() throws IOException;
+	
+}
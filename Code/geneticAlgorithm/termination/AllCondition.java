@@ -0,0 +1,65 @@
+package geneticAlgorithm.termination;
+
+import geneticAlgorithm.core.GeneticAlgorithm;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Met once all of its conditions are met in the same generation ('and'), 
+ * e.g. the best fitness has stagnated and the Population has converged.
+ * Every condition is checked each generation.
+ * 
+ * @author Simon Dicken
+ * @version 2015-02-22
+ */
+public class AllCondition<T> implements TerminationCondition<T> {
+
+	private final List<TerminationCondition<T>> conditions;
+	
+	@SafeVarargs
+	public AllCondition(TerminationCondition<T>... conditions) {
+		if (conditions.length == 0) {
+			throw new IllegalArgumentException("At least one condition is required.");
+		}
+		this.conditions = new ArrayList<TerminationCondition<T>>(conditions.length);
+		for (TerminationCondition<T> c : conditions) {
+			this.conditions.add(c);
+		}
+	}
+	
+	public AllCondition(List<TerminationCondition<T>> conditions) {
+		if (conditions.isEmpty()) {
+			throw new IllegalArgumentException("At least one condition is required.");
+		}
+		this.conditions = new ArrayList<TerminationCondition<T>>(conditions);
+	}
+	
+	@Override
+	public void start(GeneticAlgorithm<T> ga) {
+		for (TerminationCondition<T> c : conditions) {
+			c.start(ga);
+		}
+	}
+
+	@Override
+	public TerminationCondition<T> check(GeneticAlgorithm<T> ga) {
+		boolean all = true;
+		for (TerminationCondition<T> c : conditions) {
+			if (c.check(ga) == null) {
+				all = false;
+			}
+		}
+		return all ? this : null;
+	}
+	
+	public List<TerminationCondition<T>> getConditions() {
+		return conditions;
+	}
+	
+	@Override
+	public String toString() {
+		return "all of " + conditions;
+	}
+	
+}
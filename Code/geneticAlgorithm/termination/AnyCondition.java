@@ -0,0 +1,60 @@
+package geneticAlgorithm.termination;
+
+import geneticAlgorithm.core.GeneticAlgorithm;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Met as soon as any of its conditions is met ('or'). Every condition is 
+ * checked each generation, so that those which keep state see every 
+ * generation; the first one met is reported.
+ * 
+ * @author Simon Dicken
+ * @version 2015-02-22
+ */
+public class AnyCondition<T> implements TerminationCondition<T> {
+
+	private final List<TerminationCondition<T>> conditions;
+	
+	@SafeVarargs
+	public AnyCondition(TerminationCondition<T>... conditions) {
+		this.conditions = new ArrayList<TerminationCondition<T>>(conditions.length);
+		for (TerminationCondition<T> c : conditions) {
+			this.conditions.add(c);
+		}
+	}
+	
+	public AnyCondition(List<TerminationCondition<T>> conditions) {
+		this.conditions = new ArrayList<TerminationCondition<T>>(conditions);
+	}
+	
+	@Override
+	public void start(GeneticAlgorithm<T> ga) {
+		for (TerminationCondition<T> c : conditions) {
+			c.start(ga);
+		}
+	}
+
+	@Override
+	public TerminationCondition<T> check(GeneticAlgorithm<T> ga) {
+		TerminationCondition<T> met = null;
+		for (TerminationCondition<T> c : conditions) {
+			TerminationCondition<T> m = c.check(ga);
+			if (met == null) {
+				met = m;
+			}
+		}
+		return met;
+	}
+	
+	public List<TerminationCondition<T>> getConditions() {
+		return conditions;
+	}
+	
+	@Override
+	public String toString() {
+		return "any of " + conditions;
+	}
+	
+}
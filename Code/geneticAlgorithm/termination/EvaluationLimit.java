@@ -0,0 +1,45 @@
+package geneticAlgorithm.termination;
+
+import geneticAlgorithm.core.GeneticAlgorithm;
+
+/**
+ * Met once the algorithm has calculated a number of fitness values, counted
+ * from the first generation the condition is checked for.
+ * 
+ * @author Simon Dicken
+ * @version 2015-02-22
+ */
+public class EvaluationLimit<T> implements TerminationCondition<T> {
+
+	private final long maxEvaluations;
+	private long startEvaluations;
+	
+	/**
+	 * Constructor for EvaluationLimit.
+	 * 
+	 * @param maxEvaluations - the number of fitness evaluations allowed.
+	 */
+	public EvaluationLimit(long maxEvaluations) {
+		this.maxEvaluations = maxEvaluations;
+	}
+	
+	@Override
+	public void start(GeneticAlgorithm<T> ga) {
+		startEvaluations = ga.getEvaluations();
+	}
+
+	@Override
+	public TerminationCondition<T> check(GeneticAlgorithm<T> ga) {
+		return (ga.getEvaluations() - startEvaluations >= maxEvaluations) ? this : null;
+	}
+	
+	public long getMaxEvaluations() {
+		return maxEvaluations;
+	}
+	
+	@Override
+	public String toString() {
+		return maxEvaluations + " fitness evaluations";
+	}
+	
+}
@@ -0,0 +1,71 @@
+package geneticAlgorithm.termination;
+
+import geneticAlgorithm.core.GeneticAlgorithm;
+
+/**
+ * Met once the best fitness of the Population has not improved on the best
+ * so far by more than a tolerance for a number of generations.
+ * 
+ * @author Simon Dicken
+ * @version 2015-02-22
+ */
+public class StagnationCondition<T> implements TerminationCondition<T> {
+
+	private final int generations;
+	private final double tolerance;
+	
+	private double best;
+	private int lastImprovement;
+	
+	/**
+	 * Constructor for StagnationCondition.
+	 * 
+	 * @param generations - the number of generations without improvement.
+	 * @param tolerance - the smallest rise in the best fitness which counts
+	 * as an improvement.
+	 */
+	public StagnationCondition(int generations, double tolerance) {
+		if (generations < 1 || tolerance < 0) {
+			throw new IllegalArgumentException(
+					"generations must be at least 1 and tolerance at least 0.");
+		}
+		this.generations = generations;
+		this.tolerance = tolerance;
+	}
+	
+	@Override
+	public void start(GeneticAlgorithm<T> ga) {
+		// The fitness values are not up to date until the first generation
+		// has been evaluated, so the first check sets the best.
+		best = Double.NEGATIVE_INFINITY;
+		lastImprovement = ga.getCurrentGen();
+	}
+
+	@Override
+	public TerminationCondition<T> check(GeneticAlgorithm<T> ga) {
+		
+		double fitness = ga.getPop().getMax().getFitness();
+		if (fitness > best + tolerance) {
+			best = fitness;
+			lastImprovement = ga.getCurrentGen();
+			return null;
+		}
+		
+		return (ga.getCurrentGen() - lastImprovement >= generations) ? this : null;
+	}
+	
+	public int getGenerations() {
+		return generations;
+	}
+	
+	public double getTolerance() {
+		return tolerance;
+	}
+	
+	@Override
+	public String toString() {
+		return "no improvement in the best fitness (" + best + ") for " + generations 
+				+ " generations";
+	}
+	
+}
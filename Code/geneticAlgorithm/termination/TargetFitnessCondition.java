@@ -0,0 +1,42 @@
+package geneticAlgorithm.termination;
+
+import geneticAlgorithm.core.GeneticAlgorithm;
+
+/**
+ * Met once the best fitness of the Population reaches a target.
+ * 
+ * @author Simon Dicken
+ * @version 2015-02-22
+ */
+public class TargetFitnessCondition<T> implements TerminationCondition<T> {
+
+	private final double target;
+	
+	/**
+	 * Constructor for TargetFitnessCondition.
+	 * 
+	 * @param target - the fitness at which the run ends.
+	 */
+	public TargetFitnessCondition(double target) {
+		this.target = target;
+	}
+	
+	@Override
+	public void start(GeneticAlgorithm<T> ga) {
+	}
+
+	@Override
+	public TerminationCondition<T> check(GeneticAlgorithm<T> ga) {
+		return (ga.getPop().getMax().getFitness() >= target) ? this : null;
+	}
+	
+	public double getTarget() {
+		return target;
+	}
+	
+	@Override
+	public String toString() {
+		return "best fitness reached " + target;
+	}
+	
+}
@@ -0,0 +1,35 @@
+package geneticAlgorithm.termination;
+
+import geneticAlgorithm.core.GeneticAlgorithm;
+
+/**
+ * A condition which ends a run before it reaches its maxIteration (e.g. 
+ * once the best fitness has stopped improving). Conditions can be combined
+ * with AnyCondition and AllCondition.
+ * 
+ * A condition may keep state between generations (e.g. the best fitness 
+ * so far), so each run needs its own instance.
+ * 
+ * @author Simon Dicken
+ * @version 2015-02-22
+ */
+public interface TerminationCondition<T> {
+
+	/**
+	 * Called before the first generation the condition is checked for, so 
+	 * that it can reset its state.
+	 * 
+	 * @param ga - the algorithm.
+	 */
+	void start(GeneticAlgorithm<T> ga);
+	
+	/**
+	 * Called at the end of every generation.
+	 * 
+	 * @param ga - the algorithm.
+	 * @return the condition which was met (this one, or for a combination 
+	 * the part responsible), or null to carry on.
+	 */
+	TerminationCondition<T> check(GeneticAlgorithm<T> ga);
+	
+}
@@ -0,0 +1,46 @@
+package geneticAlgorithm.termination;
+
+import geneticAlgorithm.core.GeneticAlgorithm;
+
+/**
+ * Met once a wall-clock budget has been used up, counted from the first 
+ * generation the condition is checked for. The generation in progress is
+ * always finished, so the run can overrun by up to one generation.
+ * 
+ * @author Simon Dicken
+ * @version 2015-02-22
+ */
+public class TimeLimit<T> implements TerminationCondition<T> {
+
+	private final long nanos;
+	private long startNanos;
+	
+	/**
+	 * Constructor for TimeLimit.
+	 * 
+	 * @param millis - the budget in milliseconds.
+	 */
+	public TimeLimit(long millis) {
+		this.nanos = millis * 1000000;
+	}
+	
+	@Override
+	public void start(GeneticAlgorithm<T> ga) {
+		startNanos = System.nanoTime();
+	}
+
+	@Override
+	public TerminationCondition<T> check(GeneticAlgorithm<T> ga) {
+		return (System.nanoTime() - startNanos >= nanos) ? this : null;
+	}
+	
+	public long getMillis() {
+		return nanos / 1000000;
+	}
+	
+	@Override
+	public String toString() {
+		return "time limit of " + getMillis() + "ms";
+	}
+	
+}
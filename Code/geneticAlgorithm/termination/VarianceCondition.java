@@ -0,0 +1,61 @@
+package geneticAlgorithm.termination;
+
+import geneticAlgorithm.core.GeneticAlgorithm;
+import geneticAlgorithm.core.Individual;
+
+/**
+ * Met once the variance of the fitness values in the Population has fallen
+ * below a threshold, i.e. the Population has converged.
+ * 
+ * @author Simon Dicken
+ * @version 2015-02-22
+ */
+public class VarianceCondition<T> implements TerminationCondition<T> {
+
+	private final double threshold;
+	private double variance;
+	
+	/**
+	 * Constructor for VarianceCondition.
+	 * 
+	 * @param threshold - the variance below which the run ends.
+	 */
+	public VarianceCondition(double threshold) {
+		this.threshold = threshold;
+		this.variance = Double.NaN;
+	}
+	
+	@Override
+	public void start(GeneticAlgorithm<T> ga) {
+		variance = Double.NaN;
+	}
+
+	@Override
+	public TerminationCondition<T> check(GeneticAlgorithm<T> ga) {
+		
+		// Welford's method, in one pass over the Population.
+		int n = 0;
+		double mean = 0;
+		double m2 = 0;
+		for (Individual<T> ind : ga.getPop()) {
+			double x = ind.getFitness();
+			++n;
+			double delta = x - mean;
+			mean += delta / n;
+			m2 += delta * (x - mean);
+		}
+		variance = (n > 0) ? m2 / n : 0;
+		
+		return (variance < threshold) ? this : null;
+	}
+	
+	public double getThreshold() {
+		return threshold;
+	}
+	
+	@Override
+	public String toString() {
+		return "fitness variance (" + variance + ") below " + threshold;
+	}
+	
+}
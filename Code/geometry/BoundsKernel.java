@@ -0,0 +1,33 @@
+package geometry;
+
+/**
+ * Checks a batch of circles, held in parallel arrays, against the world and
+ * radius limits (see ShapeChecker.checkCircles(...)).
+ * Every implementation must give the same results as BoundsKernelScalar.
+ * 
+ * @author Simon Dicken
+ * @version 2015-02-22
+ */
+public interface BoundsKernel {
+
+	/**
+	 * Write whether circle i lies within the limits to valid[i].
+	 * 
+	 * @param x - the x co-ordinates of the circle centres.
+	 * @param y - the y co-ordinates of the circle centres.
+	 * @param radius - the circle radii.
+	 * @param count - the number of circles to check.
+	 * @param minX - the minimum extent of the world in the x-axis.
+	 * @param minY - the minimum extent of the world in the y-axis.
+	 * @param maxX - the maximum extent of the world in the x-axis.
+	 * @param maxY - the maximum extent of the world in the y-axis.
+	 * @param minR - the minimum radius.
+	 * @param maxR - the maximum radius.
+	 * @param valid - receives the result for each circle.
+	 * @return the number of valid circles.
+	 */
+	int check(double[] x, double[] y, double[] radius, int count, 
+			double minX, double minY, double maxX, double maxY, 
+			double minR, double maxR, boolean[] valid);
+	
+}
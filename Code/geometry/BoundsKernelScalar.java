@@ -0,0 +1,41 @@
+package geometry;
+
+/**
+ * The plain Java BoundsKernel, used when the SIMD kernel is unavailable and
+ * for the elements left over at the end of a SIMD loop.
+ * 
+ * @author Simon Dicken
+ * @version 2015-02-22
+ */
+public class BoundsKernelScalar implements BoundsKernel {
+
+	@Override
+	public int check(double[] x, double[] y, double[] radius, int count,
+			double minX, double minY, double maxX, double maxY, 
+			double minR, double maxR, boolean[] valid) {
+		return check(x, y, radius, 0, count, minX, minY, maxX, maxY, minR, maxR, valid);
+	}
+	
+	/**
+	 * As check(...), but only for the circles from index from (inclusive) to
+	 * index to (exclusive).
+	 */
+	public int check(double[] x, double[] y, double[] radius, int from, int to,
+			double minX, double minY, double maxX, double maxY, 
+			double minR, double maxR, boolean[] valid) {
+		
+		int numValid = 0;
+		for (int i=from; i<to; ++i) {
+			double r = radius[i];
+			boolean ok = (x[i] - r >= minX) & (x[i] + r <= maxX) 
+					& (y[i] - r >= minY) & (y[i] + r <= maxY)
+					& (r >= minR) & (r <= maxR);
+			valid[i] = ok;
+			if (ok) {
+				++numValid;
+			}
+		}
+		return numValid;
+	}
+
+}
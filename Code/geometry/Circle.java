@@ -84,8 +84,8 @@ public class Circle implements Shape {
 	 */
 	@Override
 	public double getArea() {
-		double radiusSq = Math.pow(radius, 2);
-		return Math.PI * radiusSq;
+		double radius = getRadius();
+		return Math.PI * (radius * radius);
 	}
 	
 	
@@ -97,8 +97,8 @@ public class Circle implements Shape {
 	@Override
 	public String toString() {
 		return "Shape: Circle, "
-				+ "Reference: " + this.reference.toString()
-				+ ", Radius: " + this.radius
+				+ "Reference: " + getReference().toString()
+				+ ", Radius: " + getRadius()
 				+ ", Area: " + getArea();
 	}
 }
@@ -0,0 +1,165 @@
+package geometry;
+
+import java.util.concurrent.atomic.LongAdder;
+
+import utils.RandomStream;
+
+/**
+ * The feasible region for a circle, gene by gene, together with the 
+ * RepairStrategy used to stay within it and counters of the work done.
+ * 
+ * A circle is valid if its radius is within the CircleLimits and it lies 
+ * entirely within the WorldLimits, so the feasible interval for each gene 
+ * depends on the others: the centre must be at least the radius away from
+ * each edge, and the radius can be no larger than the distance from the 
+ * centre to the nearest edge.
+ * 
+ * The counters are LongAdders, so the object can be shared by operators 
+ * running on several threads.
+ * 
+ * @author Simon Dicken
+ * @version 2015-02-22
+ */
+public class CircleConstraint implements ConstraintStats {
+
+	// The number of attempts made by RepairStrategy.REJECT before repairing.
+	public static final int MAX_ATTEMPTS = 10;
+	
+	private final WorldLimits wLimits;
+	private final CircleLimits cLimits;
+	private final RepairStrategy strategy;
+	
+	private final LongAdder calls;
+	private final LongAdder rejections;
+	private final LongAdder repairs;
+	
+	public CircleConstraint(WorldLimits wLimits, CircleLimits cLimits, 
+			RepairStrategy strategy) {
+		this.wLimits = wLimits;
+		this.cLimits = cLimits;
+		this.strategy = strategy;
+		this.calls = new LongAdder();
+		this.rejections = new LongAdder();
+		this.repairs = new LongAdder();
+	}
+	
+	/**
+	 * @return the largest radius for which a valid circle exists anywhere.
+	 */
+	public double maxRadius() {
+		double halfWidth = (wLimits.getMaxX() - wLimits.getMinX()) / 2;
+		double halfHeight = (wLimits.getMaxY() - wLimits.getMinY()) / 2;
+		return Math.min(cLimits.getMaxR(), Math.min(halfWidth, halfHeight));
+	}
+	
+	/**
+	 * @param x - the x co-ordinate of the centre.
+	 * @param y - the y co-ordinate of the centre.
+	 * @return the largest valid radius for a circle centred at (x, y).
+	 */
+	public double maxRadiusAt(double x, double y) {
+		double toEdgeX = Math.min(x - wLimits.getMinX(), wLimits.getMaxX() - x);
+		double toEdgeY = Math.min(y - wLimits.getMinY(), wLimits.getMaxY() - y);
+		return Math.min(cLimits.getMaxR(), Math.min(toEdgeX, toEdgeY));
+	}
+	
+	public double minRadius() {
+		return cLimits.getMinR();
+	}
+	
+	public double minX(double radius) {
+		return wLimits.getMinX() + radius;
+	}
+	
+	public double maxX(double radius) {
+		return wLimits.getMaxX() - radius;
+	}
+	
+	public double minY(double radius) {
+		return wLimits.getMinY() + radius;
+	}
+	
+	public double maxY(double radius) {
+		return wLimits.getMaxY() - radius;
+	}
+	
+	/**
+	 * Draw a value uniformly from the part of [lo, hi] which is within 
+	 * [min, max]. If the two do not overlap, the nearest feasible value is 
+	 * returned and counted as a repair.
+	 * 
+	 * @param lo - the lower end of the operator's range.
+	 * @param hi - the upper end of the operator's range.
+	 * @param min - the lower limit of the feasible interval.
+	 * @param max - the upper limit of the feasible interval.
+	 * @param r - the source of random numbers.
+	 * @return the value.
+	 */
+	public double sample(double lo, double hi, double min, double max, RandomStream r) {
+		
+		double from = Math.max(lo, min);
+		double to = Math.min(hi, max);
+		
+		if (from <= to) {
+			return r.nextDouble(from, to);
+		}
+		
+		repairs.increment();
+		if (!(max > min)) {
+			return min;
+		}
+		return (hi < min) ? min : max;
+	}
+	
+	/**
+	 * Bring the value within [min, max] using the RepairStrategy, counting a
+	 * repair if it was needed.
+	 * 
+	 * @param value - the value to repair.
+	 * @param min - the lower limit of the feasible interval.
+	 * @param max - the upper limit of the feasible interval.
+	 * @return the repaired value.
+	 */
+	public double repair(double value, double min, double max) {
+		if (value >= min && value <= max) {
+			return value;
+		}
+		repairs.increment();
+		return strategy.repair(value, min, max);
+	}
+	
+	public void countCall() {
+		calls.increment();
+	}
+	
+	public void countRejection() {
+		rejections.increment();
+	}
+	
+	public RepairStrategy getStrategy() {
+		return strategy;
+	}
+	
+	@Override
+	public long getCalls() {
+		return calls.sum();
+	}
+	
+	@Override
+	public long getRejections() {
+		return rejections.sum();
+	}
+	
+	@Override
+	public long getRepairs() {
+		return repairs.sum();
+	}
+	
+	@Override
+	public void resetStats() {
+		calls.reset();
+		rejections.reset();
+		repairs.reset();
+	}
+	
+}
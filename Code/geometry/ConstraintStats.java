@@ -0,0 +1,33 @@
+package geometry;
+
+/**
+ * Counts of how often an operator had to deal with infeasible circles.
+ * The counts may be read whilst the operator is in use; they are not reset
+ * by reading them.
+ * 
+ * @author Simon Dicken
+ * @version 2015-02-22
+ */
+public interface ConstraintStats {
+
+	/**
+	 * @return the number of circles created or mutated.
+	 */
+	long getCalls();
+	
+	/**
+	 * @return the number of candidate circles thrown away (REJECT only).
+	 */
+	long getRejections();
+	
+	/**
+	 * @return the number of genes which had to be repaired.
+	 */
+	long getRepairs();
+	
+	/**
+	 * Set all the counts back to zero.
+	 */
+	void resetStats();
+	
+}
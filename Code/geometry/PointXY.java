@@ -85,8 +85,8 @@ public class PointXY {
 	 * @return distance (double)
 	 */
 	public double getDistance(PointXY point) {
-		double a = point.getX() - this.x;
-		double b = point.getY() - this.y;
+		double a = point.getX() - getX();
+		double b = point.getY() - getY();
 		double result = (a * a) + (b * b);
 		return Math.sqrt(result);
 	}
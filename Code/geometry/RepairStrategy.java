@@ -0,0 +1,81 @@
+package geometry;
+
+/**
+ * How an operator keeps the circles it creates within the WorldLimits and 
+ * CircleLimits.
+ * 
+ * @author Simon Dicken
+ * @version 2015-02-22
+ */
+public enum RepairStrategy {
+
+	/**
+	 * Draw each gene directly from the part of the operator's range which is
+	 * feasible. A gene is only repaired (clamped) if none of its range is 
+	 * feasible.
+	 */
+	SAMPLE,
+	
+	/**
+	 * Draw from the operator's full range and try again if the circle is not
+	 * valid, up to a fixed number of attempts; then clamp.
+	 */
+	REJECT,
+	
+	/**
+	 * Draw from the operator's full range and move an out of range gene to
+	 * the nearest limit.
+	 */
+	CLAMP,
+	
+	/**
+	 * Draw from the operator's full range and reflect an out of range gene 
+	 * back off the limit it crossed.
+	 */
+	REFLECT,
+	
+	/**
+	 * Draw from the operator's full range and wrap an out of range gene 
+	 * round to the opposite limit.
+	 */
+	WRAP;
+	
+	/**
+	 * Bring a value within [min, max]. SAMPLE and REJECT clamp, since they 
+	 * only repair as a last resort. If the interval is empty, min is 
+	 * returned.
+	 * 
+	 * @param value - the value to repair.
+	 * @param min - the lower limit.
+	 * @param max - the upper limit.
+	 * @return the repaired value (or value itself if it is within the limits).
+	 */
+	public double repair(double value, double min, double max) {
+		
+		if (value >= min && value <= max) {
+			return value;
+		}
+		if (!(max > min)) {
+			return min;
+		}
+		
+		double width = max - min;
+		
+		switch (this) {
+		case REFLECT:
+			// Reflecting back and forth repeats every 2 * width.
+			double folded = mod(value - min, 2 * width);
+			return (folded <= width) ? min + folded : max - (folded - width);
+		case WRAP:
+			return min + mod(value - min, width);
+		default:
+			return Math.max(min, Math.min(value, max));
+		}
+	}
+	
+	private static double mod(double value, double period) {
+		double m = value % period;
+		return (m < 0) ? m + period : m;
+	}
+	
+}
@@ -1,6 +1,7 @@
 package geometry;
 
 import geometry.CircleLimits;
+import utils.VectorSupport;
 
 /**
  * 
@@ -9,17 +10,27 @@ import geometry.CircleLimits;
  */
 public class ShapeChecker {
 
+	// The SIMD kernel if it is available, otherwise the scalar one.
+	private static final BoundsKernel KERNEL = VectorSupport.load(BoundsKernel.class, 
+			"geometry.BoundsKernelVector", new BoundsKernelScalar());
+
 	public ShapeChecker() {
 		
 	}
 	
 	public boolean checkCircle(Circle c, CircleLimits cLimits, WorldLimits wLimits){
 		
-		double radius = c.getRadius();
-		double lowX = c.getReference().getX() - radius; // The leftmost part of the circle
-		double highX = c.getReference().getX() + radius; // The rightmost part of the circle
-		double lowY = c.getReference().getY() - radius; // The lowest part of the circle
-		double highY = c.getReference().getY() + radius; // The highest part of the circle
+		PointXY centre = c.getReference();
+		return checkCircle(centre.getX(), centre.getY(), c.getRadius(), cLimits, wLimits);
+	}
+	
+	public boolean checkCircle(double x, double y, double radius, 
+			CircleLimits cLimits, WorldLimits wLimits) {
+		
+		double lowX = x - radius; // The leftmost part of the circle
+		double highX = x + radius; // The rightmost part of the circle
+		double lowY = y - radius; // The lowest part of the circle
+		double highY = y + radius; // The highest part of the circle
 		
 		boolean lowXBool = (lowX >= wLimits.getMinX());
 		boolean highXBool = (highX <= wLimits.getMaxX()); 
@@ -32,4 +43,38 @@ public class ShapeChecker {
 		return lowXBool && highXBool && lowYBool && highYBool && rBool;
 	}
 	
+	/**
+	 * Checks a batch of circles held in parallel arrays, writing the result 
+	 * for circle i into valid[i]. Uses a SIMD kernel if one is available
+	 * (see getKernel()).
+	 * 
+	 * This is for callers which produce circles in bulk. The breeders and 
+	 * mutators check (and repair) each child as they create it, with 
+	 * checkCircle(...), so a GA run does not use this method; at present 
+	 * only KernelBenchmark does.
+	 * 
+	 * @param x - the x co-ordinates of the circle centres (double[])
+	 * @param y - the y co-ordinates of the circle centres (double[])
+	 * @param radius - the circle radii (double[])
+	 * @param count - the number of circles to check (int)
+	 * @param cLimits - the radius limits (CircleLimits)
+	 * @param wLimits - the world limits (WorldLimits)
+	 * @param valid - receives the result for each circle (boolean[])
+	 * @return the number of valid circles (int)
+	 */
+	public int checkCircles(double[] x, double[] y, double[] radius, int count, 
+			CircleLimits cLimits, WorldLimits wLimits, boolean[] valid) {
+		
+		return KERNEL.check(x, y, radius, count, 
+				wLimits.getMinX(), wLimits.getMinY(), wLimits.getMaxX(), wLimits.getMaxY(), 
+				cLimits.getMinR(), cLimits.getMaxR(), valid);
+	}
+	
+	/**
+	 * @return the kernel used by checkCircles(...).
+	 */
+	public static BoundsKernel getKernel() {
+		return KERNEL;
+	}
+	
 }
@@ -0,0 +1,251 @@
+package geometry;
+
+import java.util.Arrays;
+
+/**
+ * A uniform grid spatial index over a WorldLimits area.
+ *
+ * Shapes are bucketed by their reference point into square cells whose side
+ * is the query cutoff, so a query only needs to look at the 3x3 block of
+ * cells around the query point rather than at every Shape. Each Shape is
+ * stored with a weight (its area).
+ *
+ * The index is filled with clear(), add(...) and build(). build() sorts the
+ * Shapes into their cells with a counting sort, so rebuilding the index
+ * each generation is O(n); the arrays are kept and reused between builds.
+ * Reference points outside the WorldLimits are put in the nearest edge cell.
+ *
+ * Once built, the index may be queried by several threads at once; it must
+ * not be modified whilst any query is in progress.
+ *
+ * @author Simon Dicken
+ * @version 2015-02-22
+ */
+public class UniformGrid {
+
+	// Limit the number of cells when the cutoff is tiny compared to the world.
+	private static final int MAX_CELLS_PER_AXIS = 1024;
+
+	private final double minX;
+	private final double minY;
+	private final double cellSize;
+	private final int numCols;
+	private final int numRows;
+
+	// The Shapes in the order they were added.
+	private Shape[] shapes;
+	private double[] addedX;
+	private double[] addedY;
+	private double[] addedWeight;
+	private int[] addedCell;
+	private int size;
+
+	// The same Shapes grouped by cell: the Shapes in cell c are found at
+	// indices cellStart[c] (inclusive) to cellStart[c+1] (exclusive).
+	private Shape[] cellShapes;
+	private double[] cellX;
+	private double[] cellY;
+	private double[] cellWeight;
+	private final int[] cellStart;
+
+	/**
+	 * Constructor for UniformGrid.
+	 *
+	 * @param wLimits - the area covered by the grid.
+	 * @param cellSize - the side of a cell; this is the largest cutoff that
+	 * can be used in a query.
+	 */
+	public UniformGrid(WorldLimits wLimits, double cellSize) {
+
+		if (!(cellSize > 0)) {
+			throw new IllegalArgumentException("Cell size must be positive.");
+		}
+
+		double width = wLimits.getMaxX() - wLimits.getMinX();
+		double height = wLimits.getMaxY() - wLimits.getMinY();
+
+		this.minX = wLimits.getMinX();
+		this.minY = wLimits.getMinY();
+		this.numCols = numCells(width, cellSize);
+		this.numRows = numCells(height, cellSize);
+		this.cellSize = Math.max(cellSize,
+				Math.max(width / numCols, height / numRows));
+
+		this.cellStart = new int[numCols * numRows + 1];
+		allocate(16);
+	}
+
+	/**
+	 * Removes all the Shapes from the index.
+	 */
+	public void clear() {
+		for (int i=0; i<size; ++i) {
+			shapes[i] = null;
+			cellShapes[i] = null;
+		}
+		size = 0;
+	}
+
+	/**
+	 * Adds a Shape to the index, weighted by its area. The Shape is not
+	 * visible to queries until build() is called.
+	 *
+	 * @param shape - the Shape to add.
+	 */
+	public void add(Shape shape) {
+
+		if (size == shapes.length) {
+			grow();
+		}
+
+		PointXY ref = shape.getReference();
+		double x = ref.getX();
+		double y = ref.getY();
+
+		shapes[size] = shape;
+		addedX[size] = x;
+		addedY[size] = y;
+		addedWeight[size] = shape.getArea();
+		addedCell[size] = cellIndex(x, y);
+		++size;
+	}
+
+	/**
+	 * Groups the added Shapes by cell so that the index can be queried.
+	 */
+	public void build() {
+
+		int numCells = numCols * numRows;
+
+		for (int c=0; c<=numCells; ++c) {
+			cellStart[c] = 0;
+		}
+
+		// Count the Shapes in each cell and turn the counts into offsets.
+		for (int i=0; i<size; ++i) {
+			++cellStart[addedCell[i] + 1];
+		}
+		for (int c=0; c<numCells; ++c) {
+			cellStart[c + 1] += cellStart[c];
+		}
+
+		// Fill each cell from its end, using cellStart[c+1] as the cursor.
+		for (int i=0; i<size; ++i) {
+			int c = addedCell[i];
+			int dest = cellStart[c + 1] - 1;
+			--cellStart[c + 1];
+			cellShapes[dest] = shapes[i];
+			cellX[dest] = addedX[i];
+			cellY[dest] = addedY[i];
+			cellWeight[dest] = addedWeight[i];
+		}
+
+		// Each cellStart[c+1] has been moved back to the start of cell c;
+		// shift them along so cellStart[c] is the start of cell c again.
+		for (int c=0; c<numCells; ++c) {
+			cellStart[c] = cellStart[c + 1];
+		}
+		cellStart[numCells] = size;
+	}
+
+	/**
+	 * Sums the weights of the Shapes whose reference points lie within the
+	 * cutoff distance of (x, y), each scaled by a linear falloff: a Shape at
+	 * distance d contributes weight * (1 - d / cutoff).
+	 *
+	 * @param x - the x-coordinate of the query point.
+	 * @param y - the y-coordinate of the query point.
+	 * @param cutoff - the query distance; at most the cell size.
+	 * @param exclude - a Shape to leave out of the sum (e.g. the Shape at the
+	 * query point itself), or null.
+	 * @return the weighted sum.
+	 */
+	public double sumWithin(double x, double y, double cutoff, Shape exclude) {
+
+		if (cutoff > cellSize) {
+			throw new IllegalArgumentException("Cutoff is larger than the cell size.");
+		}
+
+		int col = column(x);
+		int row = row(y);
+
+		int minCol = Math.max(col - 1, 0);
+		int maxCol = Math.min(col + 1, numCols - 1);
+		int minRow = Math.max(row - 1, 0);
+		int maxRow = Math.min(row + 1, numRows - 1);
+
+		double cutoffSq = cutoff * cutoff;
+		double sum = 0;
+
+		for (int r=minRow; r<=maxRow; ++r) {
+
+			// The cells in one row are contiguous.
+			int from = cellStart[r * numCols + minCol];
+			int to = cellStart[r * numCols + maxCol + 1];
+
+			for (int i=from; i<to; ++i) {
+				double dx = cellX[i] - x;
+				double dy = cellY[i] - y;
+				double distSq = dx*dx + dy*dy;
+				if (distSq < cutoffSq && cellShapes[i] != exclude) {
+					sum += cellWeight[i] * (1 - Math.sqrt(distSq) / cutoff);
+				}
+			}
+		}
+
+		return sum;
+	}
+
+	public int size() {
+		return size;
+	}
+
+	public double getCellSize() {
+		return cellSize;
+	}
+
+	private static int numCells(double extent, double cellSize) {
+		double cells = Math.ceil(extent / cellSize);
+		return (int) Math.max(1, Math.min(cells, MAX_CELLS_PER_AXIS));
+	}
+
+	private int column(double x) {
+		int col = (int) Math.floor((x - minX) / cellSize);
+		return Math.max(0, Math.min(col, numCols - 1));
+	}
+
+	private int row(double y) {
+		int row = (int) Math.floor((y - minY) / cellSize);
+		return Math.max(0, Math.min(row, numRows - 1));
+	}
+
+	private int cellIndex(double x, double y) {
+		return row(y) * numCols + column(x);
+	}
+
+	private void allocate(int capacity) {
+		shapes = new Shape[capacity];
+		addedX = new double[capacity];
+		addedY = new double[capacity];
+		addedWeight = new double[capacity];
+		addedCell = new int[capacity];
+		cellShapes = new Shape[capacity];
+		cellX = new double[capacity];
+		cellY = new double[capacity];
+		cellWeight = new double[capacity];
+	}
+
+	private void grow() {
+		int capacity = shapes.length * 2;
+		shapes = Arrays.copyOf(shapes, capacity);
+		addedX = Arrays.copyOf(addedX, capacity);
+		addedY = Arrays.copyOf(addedY, capacity);
+		addedWeight = Arrays.copyOf(addedWeight, capacity);
+		addedCell = Arrays.copyOf(addedCell, capacity);
+		cellShapes = new Shape[capacity];
+		cellX = new double[capacity];
+		cellY = new double[capacity];
+		cellWeight = new double[capacity];
+	}
+
+}
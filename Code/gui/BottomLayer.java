@@ -1,8 +1,15 @@
 package gui;
 
+import java.awt.event.ActionEvent;
+import java.awt.event.ActionListener;
+
 import javax.swing.BoxLayout;
 import javax.swing.JButton;
+import javax.swing.JLabel;
 import javax.swing.JPanel;
+import javax.swing.JSlider;
+import javax.swing.event.ChangeEvent;
+import javax.swing.event.ChangeListener;
 
 
 /*
@@ -11,35 +18,181 @@ import javax.swing.JPanel;
  * ---------------------------------------
  */
 /**
- * 
+ * The playback controls below the canvas.
+ *
+ * Whilst playing, the live frames of the algorithm are shown and the seek
+ * bar follows the most recent generation in the GenerationHistory. Pausing,
+ * moving the seek bar or stepping with << and >> pauses the algorithm (via
+ * its PlaybackControl) and shows the chosen generation from the history
+ * instead; playing again returns to the live frames.
+ *
+ * All the methods must be called on the event dispatch thread.
+ *
  * @author Paulius Balasevicius
  * @version 2015-02-22
  */
 public class BottomLayer extends JPanel {
-	
+
 	private static final long serialVersionUID = 1L;
 	private JButton buttonPlayPause;
 	private JButton buttonPrevious;
 	private JButton buttonNext;
-	// Seekbar?
-	
-	public BottomLayer(){
+	private JSlider seekBar;
+	private JLabel labelGeneration;
+
+	private final Renderer rend;
+	private GenerationHistory history;
+	private PlaybackControl control;
+
+	private boolean replaying;
+	// The frame of the history shown whilst replaying, and its circles.
+	private int frameIndex;
+	private final PopulationSnapshot replayFrame;
+	// Set whilst the seek bar is being moved by the code, not the user.
+	private boolean updatingSeekBar;
+
+	public BottomLayer(Renderer rend){
+		this.rend = rend;
+		this.replaying = false;
+		this.replayFrame = new PopulationSnapshot();
 		setupButtons();
 	}
-	
+
 	public void setupButtons(){
-		buttonPlayPause = new JButton("PP");
+		buttonPlayPause = new JButton("||");
 		buttonPrevious = new JButton("<<");
 		buttonNext = new JButton(">>");
-		
-		String dashRow = "--------------------------------------------";
-		dashRow += dashRow + "------O---------------";
-		JButton progressBar = new JButton(dashRow);
-		
+
+		seekBar = new JSlider(0, 0, 0);
+		labelGeneration = new JLabel(" - ");
+
+		buttonPlayPause.addActionListener(new ActionListener() {
+			@Override
+			public void actionPerformed(ActionEvent e) {
+				if (replaying) {
+					play();
+				} else if (history != null && history.size() > 0) {
+					showFrame(history.size() - 1);
+				} else {
+					pause();
+				}
+			}
+		});
+
+		buttonPrevious.addActionListener(new ActionListener() {
+			@Override
+			public void actionPerformed(ActionEvent e) {
+				step(-1);
+			}
+		});
+
+		buttonNext.addActionListener(new ActionListener() {
+			@Override
+			public void actionPerformed(ActionEvent e) {
+				step(1);
+			}
+		});
+
+		seekBar.addChangeListener(new ChangeListener() {
+			@Override
+			public void stateChanged(ChangeEvent e) {
+				if (!updatingSeekBar && history != null && history.size() > 0) {
+					showFrame(Math.max(history.indexOf(seekBar.getValue()), 0));
+				}
+			}
+		});
+
 		this.setLayout( new BoxLayout(this, BoxLayout.X_AXIS) );
 		this.add( buttonPlayPause );
-		this.add( progressBar );
+		this.add( seekBar );
+		this.add( labelGeneration );
 		this.add( buttonPrevious );
 		this.add( buttonNext );
+
+		enableHistoryControls();
+	}
+
+	/**
+	 * Connect the controls to a run.
+	 *
+	 * @param history - the history to replay, or null if none is kept.
+	 * @param control - used to pause the run, or null if it can't be paused.
+	 */
+	public void setPlayback(GenerationHistory history, PlaybackControl control){
+		this.history = history;
+		this.control = control;
+		enableHistoryControls();
+		refresh();
+	}
+
+	/**
+	 * Move the seek bar to the most recent generation; called when a live
+	 * frame is shown.
+	 */
+	public void refresh(){
+		if (history == null || replaying) {
+			return;
+		}
+		int last = history.getLastGeneration();
+		if (last >= 0) {
+			setSeekBar(history.getFirstGeneration(), last, last);
+		}
+	}
+
+	private void play(){
+		replaying = false;
+		buttonPlayPause.setText("||");
+		if (control != null) {
+			control.setPaused(false);
+		}
+		rend.showLive();
+		refresh();
+	}
+
+	private void pause(){
+		if (!replaying) {
+			replaying = true;
+			buttonPlayPause.setText(">");
+			if (control != null) {
+				control.setPaused(true);
+			}
+		}
+	}
+
+	private void step(int frames){
+		if (history == null || history.size() == 0) {
+			return;
+		}
+		int from = replaying ? frameIndex : history.size() - 1;
+		showFrame(from + frames);
+	}
+
+	private void showFrame(int index){
+		pause();
+
+		// Older frames may have been dropped since the last one was shown.
+		int size = history.size();
+		frameIndex = Math.max(0, Math.min(index, size - 1));
+
+		history.getFrame(frameIndex, replayFrame);
+		int generation = replayFrame.getGeneration();
+		rend.showReplay(replayFrame);
+		setSeekBar(history.getFirstGeneration(), history.getLastGeneration(), generation);
+	}
+
+	private void setSeekBar(int min, int max, int value){
+		updatingSeekBar = true;
+		seekBar.setMinimum(min);
+		seekBar.setMaximum(max);
+		seekBar.setValue(value);
+		updatingSeekBar = false;
+		labelGeneration.setText(" " + value + " ");
+	}
+
+	private void enableHistoryControls(){
+		boolean enabled = (history != null);
+		seekBar.setEnabled(enabled);
+		buttonPrevious.setEnabled(enabled);
+		buttonNext.setEnabled(enabled);
 	}
-}
\ No newline at end of file
+}
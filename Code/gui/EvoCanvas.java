@@ -1,83 +1,72 @@
 package gui;
 
-import geometry.Circle;
-import geometry.Shape;
-
 import java.awt.Color;
 import java.awt.Graphics;
-import java.awt.Graphics2D;
-import java.util.List;
 
 import javax.swing.JPanel;
 
 /**
- * 
+ * Shows a PopulationSnapshot as an image drawn by a RasterRenderer. The 
+ * snapshot is only rasterised again when it changes or the canvas is 
+ * resized; any other repaint just copies the image. Like any component, it 
+ * must only be used on the event dispatch thread.
+ *
  * @author Paulius Balasevicius
  * @version 2015-02-22
  */
 public class EvoCanvas extends JPanel {
-	
+
 	private static final long serialVersionUID = 1L;
 
-	private List<Shape> mShapes;
+	private PopulationSnapshot mSnapshot;
 
-	private final double UNITS_TO_PIXELS;
+	private final RasterRenderer raster;
 
 	private boolean explicitCall;
 
 	public EvoCanvas(double unitsToPixels){
-		//mShapes = new ArrayList<Shape>();
-		UNITS_TO_PIXELS = unitsToPixels;
-		this.setBackground(Color.DARK_GRAY);
+		raster = new RasterRenderer(1, 1, unitsToPixels);
 
 		this.setBackground(Color.BLACK);
-		
+
 	}
 
 	@Override
 	public void paintComponent(Graphics g){
 		super.paintComponent(g);
 
-		Graphics2D g2 = (Graphics2D) g;
-
-		if( explicitCall && mShapes != null){
-			
-			for(Shape shape: mShapes){
-				if(shape instanceof Circle) {
-					renderCircle((Circle) shape, g2);
-				} 
-//				else if (shape instanceof EvoPolygon) {
-//					//renderPolygon(shape);
-//				}
-			}
-			
-		} else {
-
+		int width = getWidth();
+		int height = getHeight();
+		if (width <= 0 || height <= 0) {
+			return;
+		}
 
+		if (explicitCall || width != raster.getWidth() || height != raster.getHeight()) {
+			raster.setSize(width, height);
+			raster.render(mSnapshot);
 		}
+		g.drawImage(raster.getImage(), 0, 0, null);
 
 		setExplicitCall(false);
 	}
 
 	/**
-	 * 
-	 * @param circle - The circle to be rendered.
-	 * @param g - The graphics context object needed for drawing.
+	 * Set the number of circles above which a heat map of their positions is
+	 * drawn instead of the outlines (see RasterRenderer).
+	 *
+	 * @param densityThreshold - the number of circles.
 	 */
-	public void renderCircle(Circle circle, Graphics2D g){		
-		
-		int radius = (int) (circle.getRadius() * UNITS_TO_PIXELS);
-		int posX = (int) ( (circle.getReference().getX() - radius) * UNITS_TO_PIXELS);
-		int posY = (int) ( (circle.getReference().getY() - radius) * UNITS_TO_PIXELS);
-
-		g.setColor(Color.CYAN);
-//		g.fillOval(posX, posY, radius, radius);
-		g.drawOval(posX, posY, radius, radius);
+	public void setDensityThreshold(int densityThreshold){
+		raster.setDensityThreshold(densityThreshold);
 	}
 
-	public void updateShapes(List<Shape> lst){
-		mShapes = lst;
-	}   
+	/**
+	 * @param snapshot - the circles to draw; must not change until the next
+	 * call.
+	 */
+	public void updateSnapshot(PopulationSnapshot snapshot){
+		mSnapshot = snapshot;
+	}
 
 	public boolean isExplicitCall(){
 		return this.explicitCall;
@@ -86,5 +75,5 @@ public class EvoCanvas extends JPanel {
 	public void setExplicitCall(boolean tf){
 		this.explicitCall = tf;
 	}
-	
-}
\ No newline at end of file
+
+}
@@ -0,0 +1,196 @@
+package gui;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import javax.imageio.ImageIO;
+
+/**
+ * Renders generations to numbered PNG files on a background thread, so that
+ * a run can produce pictures without a display (it only uses a
+ * RasterRenderer, never a window).
+ *
+ * The circles are copied into one of two reusable buffers on the caller's
+ * thread; the writer thread rasterises and encodes the other. If both are
+ * in use, submit(...) waits for the writer, so no frame is lost.
+ *
+ * The files are called frame-&lt;generation&gt;.png, with the generation
+ * padded to six digits. A frame which cannot be written (an IOException or
+ * a RuntimeException) is reported to System.err and the exporter stops 
+ * writing. If the writer thread dies nonetheless, later frames are dropped 
+ * rather than waited for.
+ *
+ * @author Simon Dicken
+ * @version 2015-02-22
+ */
+public class FrameExporter {
+
+	private final Path directory;
+	private final RasterRenderer raster;
+
+	private final BlockingQueue<PopulationSnapshot> free;
+	private final BlockingQueue<PopulationSnapshot> pending;
+	// Put on the pending queue to stop the writer.
+	private final PopulationSnapshot end;
+	private final Thread writer;
+	private volatile boolean writerAlive;
+	private boolean closed;
+	private volatile Exception failure;
+
+	/**
+	 * Constructor for FrameExporter.
+	 *
+	 * @param directory - where to write the frames; created if need be.
+	 * @param width - the width of the frames in pixels.
+	 * @param height - the height of the frames in pixels.
+	 * @param unitsToPixels - the number of pixels per unit of the world.
+	 * @throws IOException - if the directory cannot be created.
+	 */
+	public FrameExporter(Path directory, int width, int height, double unitsToPixels)
+			throws IOException {
+
+		Files.createDirectories(directory);
+
+		this.directory = directory;
+		this.raster = new RasterRenderer(width, height, unitsToPixels);
+		this.free = new ArrayBlockingQueue<PopulationSnapshot>(2);
+		this.pending = new ArrayBlockingQueue<PopulationSnapshot>(3);
+		this.end = new PopulationSnapshot();
+		this.writerAlive = true;
+		this.closed = false;
+		this.failure = null;
+
+		free.add(new PopulationSnapshot());
+		free.add(new PopulationSnapshot());
+
+		this.writer = new Thread(new Runnable() {
+			@Override
+			public void run() {
+				try {
+					writeAll();
+				} finally {
+					writerAlive = false;
+				}
+			}
+		}, "frame-writer");
+		writer.setDaemon(true);
+		writer.start();
+	}
+
+	/**
+	 * Set the number of circles above which a heat map is drawn. Must be
+	 * called before the first frame is submitted.
+	 *
+	 * @param densityThreshold - the number of circles.
+	 */
+	public void setDensityThreshold(int densityThreshold) {
+		raster.setDensityThreshold(densityThreshold);
+	}
+
+	/**
+	 * Render a generation to a file. The arrays are copied, so they can be
+	 * reused as soon as this returns.
+	 *
+	 * @param generation - the generation, used to name the file.
+	 * @param x - the x coordinates of the centres.
+	 * @param y - the y coordinates of the centres.
+	 * @param r - the radii.
+	 * @param count - the number of circles.
+	 */
+	public void submit(int generation, double[] x, double[] y, double[] r, int count) {
+
+		if (closed) {
+			throw new IllegalStateException("The exporter has been closed.");
+		}
+		if (failure != null) {
+			return;
+		}
+
+		PopulationSnapshot frame;
+		try {
+			frame = free.poll();
+			while (frame == null) {
+				if (!writerAlive) {
+					// Nothing will ever be handed back; drop this frame.
+					return;
+				}
+				frame = free.poll(100, TimeUnit.MILLISECONDS);
+			}
+		} catch (InterruptedException e) {
+			// Skip this frame rather than block an interrupted thread.
+			Thread.currentThread().interrupt();
+			return;
+		}
+
+		frame.set(generation, x, y, r, count);
+		pending.add(frame);
+	}
+
+	/**
+	 * Write any frames still waiting, then stop the writer thread.
+	 *
+	 * @throws InterruptedException - if interrupted whilst waiting.
+	 */
+	public void close() throws InterruptedException {
+		if (!closed) {
+			closed = true;
+			pending.add(end);
+		}
+		writer.join();
+	}
+
+	/**
+	 * @return the error which stopped the exporter, or null if there has
+	 * been none.
+	 */
+	public Exception getFailure() {
+		return failure;
+	}
+
+	public Path getDirectory() {
+		return directory;
+	}
+
+	private void writeAll() {
+
+		while (true) {
+
+			PopulationSnapshot frame;
+			try {
+				frame = pending.take();
+			} catch (InterruptedException e) {
+				break;
+			}
+
+			if (frame == end) {
+				break;
+			}
+
+			try {
+				if (failure == null) {
+					write(frame);
+				}
+			} finally {
+				free.add(frame);
+			}
+		}
+	}
+
+	private void write(PopulationSnapshot frame) {
+		Path file = directory.resolve(String.format("frame-%06d.png", frame.getGeneration()));
+		try {
+			raster.render(frame);
+			if (!ImageIO.write(raster.getImage(), "png", file.toFile())) {
+				throw new IOException("No PNG writer is available.");
+			}
+		} catch (IOException | RuntimeException e) {
+			failure = e;
+			System.err.println("Could not write frame " + file + ": " + e);
+		}
+	}
+
+}
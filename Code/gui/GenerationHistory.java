@@ -0,0 +1,426 @@
+package gui;
+
+import java.util.Arrays;
+
+/**
+ * A bounded record of the circles in past generations, so that a run can be
+ * replayed and searched (see BottomLayer) without holding every generation
+ * in memory.
+ *
+ * Coordinates and radii are quantised to multiples of a fixed quantum and
+ * each generation is stored as a variable-length 'frame' in a fixed-size
+ * ring of bytes. Every keyframeInterval frames a keyframe holds every circle
+ * in full; the frames in between only hold the circles which are new since
+ * the previous frame, and refer to the others by their position in the
+ * previous frame (survivors are usually most of a population). Reading a
+ * frame therefore decodes at most keyframeInterval frames.
+ *
+ * When the ring is full (or the maximum number of frames is reached), the
+ * oldest keyframe and the frames which depend on it are dropped, so the
+ * memory used never grows beyond the limits given to the constructor.
+ *
+ * Frames are recorded by the algorithm's thread and read by the display;
+ * all the methods are synchronized.
+ *
+ * @author Simon Dicken
+ * @version 2015-02-22
+ */
+public class GenerationHistory {
+
+	private final byte[] data;
+	private final int keyframeInterval;
+	private final double quantum;
+
+	// The frames, oldest first, starting at index 'head'. Positions in the
+	// data are absolute; the byte at position p is data[p % data.length].
+	private final int[] frameGeneration;
+	private final long[] frameStart;
+	private final boolean[] frameKey;
+	private int head;
+	private int numFrames;
+	private long dataStart;
+	private long dataEnd;
+	private int sinceKeyframe;
+
+	// The quantised circles of the most recent frame, which the next frame
+	// is encoded against, and of the frame being recorded.
+	private int[] lastX;
+	private int[] lastY;
+	private int[] lastR;
+	private int lastCount;
+	private int[] curX;
+	private int[] curY;
+	private int[] curR;
+
+	// Open-addressing table from a quantised circle to (its index + 1) in
+	// the most recent frame.
+	private int[] table;
+
+	private byte[] scratch;
+	private int scratchLength;
+	private long readPos;
+
+	/**
+	 * Constructor for GenerationHistory.
+	 *
+	 * @param capacityBytes - the size of the ring the frames are stored in.
+	 * @param maxFrames - the largest number of frames to keep.
+	 * @param keyframeInterval - the number of frames from one keyframe to the
+	 * next; 1 stores every frame in full.
+	 * @param quantum - the precision to which coordinates and radii are kept.
+	 */
+	public GenerationHistory(int capacityBytes, int maxFrames, int keyframeInterval,
+			double quantum) {
+
+		if (capacityBytes < 1 || maxFrames < 1 || keyframeInterval < 1) {
+			throw new IllegalArgumentException("Capacity, frames and keyframe interval must be positive.");
+		}
+		if (!(quantum > 0)) {
+			throw new IllegalArgumentException("Quantum must be positive.");
+		}
+
+		this.data = new byte[capacityBytes];
+		this.keyframeInterval = keyframeInterval;
+		this.quantum = quantum;
+		this.frameGeneration = new int[maxFrames];
+		this.frameStart = new long[maxFrames];
+		this.frameKey = new boolean[maxFrames];
+		this.head = 0;
+		this.numFrames = 0;
+		this.dataStart = 0;
+		this.dataEnd = 0;
+		this.sinceKeyframe = 0;
+
+		allocate(16);
+		this.lastCount = 0;
+	}
+
+	/**
+	 * Records the circles of a generation.
+	 *
+	 * @param generation - the generation number; must be greater than that
+	 * of the previous frame.
+	 * @param x - the x-coordinates of the centres.
+	 * @param y - the y-coordinates of the centres.
+	 * @param r - the radii.
+	 * @param count - the number of circles.
+	 */
+	public synchronized void record(int generation, double[] x, double[] y, double[] r,
+			int count) {
+
+		if (numFrames > 0 && generation <= getLastGeneration()) {
+			throw new IllegalArgumentException("Generations must be recorded in increasing order.");
+		}
+
+		if (count > curX.length) {
+			allocate(Math.max(count, 2 * curX.length));
+		}
+		for (int i=0; i<count; ++i) {
+			curX[i] = quantise(x[i]);
+			curY[i] = quantise(y[i]);
+			curR[i] = quantise(r[i]);
+		}
+
+		boolean key = (numFrames == 0 || sinceKeyframe + 1 >= keyframeInterval);
+		encode(count, key);
+
+		// Make room, oldest group first. If that drops the frame this one was
+		// encoded against, store it as a keyframe instead.
+		makeRoom(scratchLength);
+		if (!key && numFrames == 0) {
+			key = true;
+			encode(count, key);
+		}
+		if (scratchLength > data.length) {
+			throw new IllegalArgumentException("A frame is larger than the history capacity.");
+		}
+
+		append(generation, key);
+
+		int[] swap = lastX; lastX = curX; curX = swap;
+		swap = lastY; lastY = curY; curY = swap;
+		swap = lastR; lastR = curR; curR = swap;
+		lastCount = count;
+	}
+
+	/**
+	 * @return the number of frames held.
+	 */
+	public synchronized int size() {
+		return numFrames;
+	}
+
+	/**
+	 * @param index - the frame, from 0 (the oldest) to size() - 1.
+	 * @return the generation recorded in the frame.
+	 */
+	public synchronized int getGeneration(int index) {
+		checkIndex(index);
+		return frameGeneration[slot(index)];
+	}
+
+	/**
+	 * @return the oldest generation held, or -1 if there are no frames.
+	 */
+	public synchronized int getFirstGeneration() {
+		return (numFrames == 0) ? -1 : frameGeneration[slot(0)];
+	}
+
+	/**
+	 * @return the most recent generation held, or -1 if there are no frames.
+	 */
+	public synchronized int getLastGeneration() {
+		return (numFrames == 0) ? -1 : frameGeneration[slot(numFrames - 1)];
+	}
+
+	/**
+	 * Finds the frame to show for a generation: the most recent frame at or
+	 * before it.
+	 *
+	 * @param generation - the generation to look for.
+	 * @return the index of the frame, or -1 if every frame is later (or
+	 * there are no frames).
+	 */
+	public synchronized int indexOf(int generation) {
+		int lo = 0;
+		int hi = numFrames - 1;
+		int found = -1;
+		while (lo <= hi) {
+			int mid = (lo + hi) >>> 1;
+			if (frameGeneration[slot(mid)] <= generation) {
+				found = mid;
+				lo = mid + 1;
+			} else {
+				hi = mid - 1;
+			}
+		}
+		return found;
+	}
+
+	/**
+	 * Rebuilds the circles of a frame, by decoding its keyframe and each
+	 * frame after it in turn.
+	 *
+	 * @param index - the frame, from 0 (the oldest) to size() - 1.
+	 * @param out - the snapshot to fill in with the circles in the frame, to 
+	 * the precision of the quantum.
+	 */
+	public synchronized void getFrame(int index, PopulationSnapshot out) {
+
+		checkIndex(index);
+
+		int first = index;
+		while (!frameKey[slot(first)]) {
+			--first;
+		}
+
+		int[][] prev = new int[3][0];
+		int[][] cur = new int[3][0];
+		int prevCount = 0;
+		int count = 0;
+
+		for (int f=first; f<=index; ++f) {
+
+			readPos = frameStart[slot(f)];
+			count = readVarint();
+			if (cur[0].length < count) {
+				cur = new int[3][count];
+			}
+
+			for (int i=0; i<count; ++i) {
+				int token = readVarint();
+				if (token == 0) {
+					cur[0][i] = unzigzag(readVarint());
+					cur[1][i] = unzigzag(readVarint());
+					cur[2][i] = unzigzag(readVarint());
+				} else {
+					int j = i + unzigzag(token >>> 1);
+					if (j < 0 || j >= prevCount) {
+						throw new IllegalStateException("History frame is corrupt.");
+					}
+					cur[0][i] = prev[0][j];
+					cur[1][i] = prev[1][j];
+					cur[2][i] = prev[2][j];
+				}
+			}
+
+			int[][] swap = prev; prev = cur; cur = swap;
+			prevCount = count;
+		}
+
+		out.clear(frameGeneration[slot(index)]);
+		for (int i=0; i<count; ++i) {
+			out.add(prev[0][i] * quantum, prev[1][i] * quantum, prev[2][i] * quantum);
+		}
+	}
+
+	/**
+	 * @return the number of bytes of the ring in use.
+	 */
+	public synchronized long getBytesUsed() {
+		return dataEnd - dataStart;
+	}
+
+	public int getCapacityBytes() {
+		return data.length;
+	}
+
+	public int getMaxFrames() {
+		return frameGeneration.length;
+	}
+
+	public int getKeyframeInterval() {
+		return keyframeInterval;
+	}
+
+	public double getQuantum() {
+		return quantum;
+	}
+
+	private void encode(int count, boolean key) {
+
+		scratchLength = 0;
+		writeVarint(count);
+
+		if (!key) {
+			buildTable();
+		}
+
+		for (int i=0; i<count; ++i) {
+			int j = key ? -1 : find(curX[i], curY[i], curR[i]);
+			if (j >= 0) {
+				writeVarint((zigzag(j - i) << 1) | 1);
+			} else {
+				writeVarint(0);
+				writeVarint(zigzag(curX[i]));
+				writeVarint(zigzag(curY[i]));
+				writeVarint(zigzag(curR[i]));
+			}
+		}
+	}
+
+	private void makeRoom(int length) {
+		while (numFrames > 0 && (numFrames == frameGeneration.length
+				|| dataEnd + length - dataStart > data.length)) {
+			// Drop the oldest frame and the frames which depend on it.
+			do {
+				head = (head + 1) % frameGeneration.length;
+				--numFrames;
+			} while (numFrames > 0 && !frameKey[head]);
+			dataStart = (numFrames > 0) ? frameStart[head] : dataEnd;
+		}
+	}
+
+	private void append(int generation, boolean key) {
+
+		int s = slot(numFrames);
+		frameGeneration[s] = generation;
+		frameStart[s] = dataEnd;
+		frameKey[s] = key;
+		++numFrames;
+
+		int pos = (int) (dataEnd % data.length);
+		int firstPart = Math.min(scratchLength, data.length - pos);
+		System.arraycopy(scratch, 0, data, pos, firstPart);
+		System.arraycopy(scratch, firstPart, data, 0, scratchLength - firstPart);
+		dataEnd += scratchLength;
+
+		sinceKeyframe = key ? 0 : sinceKeyframe + 1;
+	}
+
+	private void buildTable() {
+
+		int size = Integer.highestOneBit(Math.max(2 * lastCount, 8) - 1) << 1;
+		if (table == null || table.length < size) {
+			table = new int[size];
+		} else {
+			Arrays.fill(table, 0);
+		}
+
+		int mask = table.length - 1;
+		for (int j=0; j<lastCount; ++j) {
+			int h = hash(lastX[j], lastY[j], lastR[j]) & mask;
+			while (table[h] != 0) {
+				h = (h + 1) & mask;
+			}
+			table[h] = j + 1;
+		}
+	}
+
+	private int find(int x, int y, int r) {
+		int mask = table.length - 1;
+		int h = hash(x, y, r) & mask;
+		while (table[h] != 0) {
+			int j = table[h] - 1;
+			if (lastX[j] == x && lastY[j] == y && lastR[j] == r) {
+				return j;
+			}
+			h = (h + 1) & mask;
+		}
+		return -1;
+	}
+
+	private static int hash(int x, int y, int r) {
+		int h = x * 0x9e3779b1 + y;
+		h = h * 0x85ebca6b + r;
+		return h ^ (h >>> 16);
+	}
+
+	private int quantise(double v) {
+		return (int) Math.round(v / quantum);
+	}
+
+	private static int zigzag(int v) {
+		return (v << 1) ^ (v >> 31);
+	}
+
+	private static int unzigzag(int v) {
+		return (v >>> 1) ^ -(v & 1);
+	}
+
+	private void writeVarint(int v) {
+		if (scratchLength + 5 > scratch.length) {
+			scratch = Arrays.copyOf(scratch, 2 * scratch.length);
+		}
+		while ((v & ~0x7f) != 0) {
+			scratch[scratchLength++] = (byte) ((v & 0x7f) | 0x80);
+			v >>>= 7;
+		}
+		scratch[scratchLength++] = (byte) v;
+	}
+
+	private int readVarint() {
+		int v = 0;
+		int shift = 0;
+		int b;
+		do {
+			b = data[(int) (readPos++ % data.length)];
+			v |= (b & 0x7f) << shift;
+			shift += 7;
+		} while ((b & 0x80) != 0);
+		return v;
+	}
+
+	private int slot(int index) {
+		return (head + index) % frameGeneration.length;
+	}
+
+	private void checkIndex(int index) {
+		if (index < 0 || index >= numFrames) {
+			throw new IndexOutOfBoundsException("Frame " + index + " of " + numFrames);
+		}
+	}
+
+	private void allocate(int capacity) {
+		lastX = Arrays.copyOf(lastX == null ? new int[0] : lastX, capacity);
+		lastY = Arrays.copyOf(lastY == null ? new int[0] : lastY, capacity);
+		lastR = Arrays.copyOf(lastR == null ? new int[0] : lastR, capacity);
+		curX = new int[capacity];
+		curY = new int[capacity];
+		curR = new int[capacity];
+		if (scratch == null) {
+			scratch = new byte[64];
+		}
+	}
+
+}
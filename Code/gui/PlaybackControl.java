@@ -0,0 +1,17 @@
+package gui;
+
+/**
+ * Lets the display pause and resume whatever is producing its frames (e.g. 
+ * the thread running a GeneticAlgorithm), so that past generations can be 
+ * inspected.
+ * 
+ * @author Simon Dicken
+ * @version 2015-02-22
+ */
+public interface PlaybackControl {
+
+	void setPaused(boolean paused);
+	
+	boolean isPaused();
+	
+}
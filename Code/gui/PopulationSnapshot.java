@@ -0,0 +1,129 @@
+package gui;
+
+/**
+ * A copy of the circles of one generation, packed into arrays of primitives
+ * so that the display never touches the algorithm's (mutable) Shapes.
+ *
+ * A snapshot is filled in by one thread and then handed over (see
+ * SnapshotExchange); from then on it is only read, until it is handed back
+ * to be filled in again. Its arrays grow as needed and are otherwise
+ * reused, so filling in a snapshot does not allocate.
+ *
+ * @author Simon Dicken
+ * @version 2015-02-22
+ */
+public class PopulationSnapshot {
+
+	private int generation;
+	private int count;
+	private double[] x;
+	private double[] y;
+	private double[] r;
+
+	// Whether the snapshot has been published but not yet taken by the
+	// reader; only used by SnapshotExchange.
+	volatile boolean fresh;
+
+	public PopulationSnapshot() {
+		this.generation = -1;
+		this.count = 0;
+		this.x = new double[16];
+		this.y = new double[16];
+		this.r = new double[16];
+		this.fresh = false;
+	}
+
+	/**
+	 * Empty the snapshot, ready to add the circles of a generation.
+	 *
+	 * @param generation - the generation.
+	 */
+	public void clear(int generation) {
+		this.generation = generation;
+		this.count = 0;
+	}
+
+	/**
+	 * Add a circle.
+	 *
+	 * @param cx - the x coordinate of the centre.
+	 * @param cy - the y coordinate of the centre.
+	 * @param radius - the radius.
+	 */
+	public void add(double cx, double cy, double radius) {
+		if (count == x.length) {
+			int capacity = 2 * count;
+			x = copyOf(x, capacity);
+			y = copyOf(y, capacity);
+			r = copyOf(r, capacity);
+		}
+		x[count] = cx;
+		y[count] = cy;
+		r[count] = radius;
+		++count;
+	}
+
+	/**
+	 * Replace the contents with count circles from the given arrays.
+	 *
+	 * @param generation - the generation.
+	 * @param x - the x coordinates of the centres.
+	 * @param y - the y coordinates of the centres.
+	 * @param r - the radii.
+	 * @param count - the number of circles.
+	 */
+	public void set(int generation, double[] x, double[] y, double[] r, int count) {
+		if (this.x.length < count) {
+			this.x = new double[count];
+			this.y = new double[count];
+			this.r = new double[count];
+		}
+		System.arraycopy(x, 0, this.x, 0, count);
+		System.arraycopy(y, 0, this.y, 0, count);
+		System.arraycopy(r, 0, this.r, 0, count);
+		this.generation = generation;
+		this.count = count;
+	}
+
+	public int getGeneration() {
+		return generation;
+	}
+
+	public int getCount() {
+		return count;
+	}
+
+	public double getX(int i) {
+		return x[i];
+	}
+
+	public double getY(int i) {
+		return y[i];
+	}
+
+	public double getRadius(int i) {
+		return r[i];
+	}
+
+	// The arrays themselves, for the RasterRenderer; only the first count
+	// entries are in use.
+
+	double[] xs() {
+		return x;
+	}
+
+	double[] ys() {
+		return y;
+	}
+
+	double[] rs() {
+		return r;
+	}
+
+	private static double[] copyOf(double[] a, int length) {
+		double[] copy = new double[length];
+		System.arraycopy(a, 0, copy, 0, a.length);
+		return copy;
+	}
+
+}
@@ -0,0 +1,259 @@
+package gui;
+
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.util.Arrays;
+
+/**
+ * Rasterises circles into a reusable image by writing its pixels directly,
+ * rather than drawing them one at a time through a Graphics2D.
+ *
+ * Up to the density threshold, each circle is drawn as an outline (midpoint
+ * circle algorithm), which takes time proportional to its circumference.
+ * Above it, the image is a heat map of how many circle centres fall in each
+ * cell of a coarse grid, which takes O(number of circles + pixels) time
+ * however large the circles are.
+ *
+ * The image is only re-allocated when its size changes. A RasterRenderer
+ * does not depend on a display, so it can be used headless (see
+ * FrameExporter); it must only be used by one thread at a time.
+ *
+ * @author Simon Dicken
+ * @version 2015-02-22
+ */
+public class RasterRenderer {
+
+	// Circle outlines are cyan on black, as they always have been.
+	private static final int BACKGROUND = 0x000000;
+	private static final int OUTLINE = 0x00FFFF;
+
+	public static final int DEFAULT_DENSITY_THRESHOLD = 5000;
+	public static final int DEFAULT_CELL_SIZE = 4;
+
+	private final double unitsToPixels;
+	private int densityThreshold;
+	private int cellSize;
+
+	private BufferedImage image;
+	private int[] pixels;
+	private int width;
+	private int height;
+
+	private int[] counts;
+	private final int[] palette;
+
+	/**
+	 * Constructor for RasterRenderer.
+	 *
+	 * @param width - the width of the image in pixels.
+	 * @param height - the height of the image in pixels.
+	 * @param unitsToPixels - the number of pixels per unit of the world.
+	 */
+	public RasterRenderer(int width, int height, double unitsToPixels) {
+		this.unitsToPixels = unitsToPixels;
+		this.densityThreshold = DEFAULT_DENSITY_THRESHOLD;
+		this.cellSize = DEFAULT_CELL_SIZE;
+		this.palette = createPalette();
+		setSize(width, height);
+	}
+
+	/**
+	 * Set the number of circles above which a heat map is drawn instead of
+	 * the outlines.
+	 *
+	 * @param densityThreshold - the number of circles; 0 always draws a
+	 * heat map.
+	 */
+	public void setDensityThreshold(int densityThreshold) {
+		this.densityThreshold = densityThreshold;
+	}
+
+	public int getDensityThreshold() {
+		return densityThreshold;
+	}
+
+	/**
+	 * Set the size of the heat map's cells.
+	 *
+	 * @param cellSize - the width and height of a cell in pixels.
+	 */
+	public void setCellSize(int cellSize) {
+		if (cellSize < 1) {
+			throw new IllegalArgumentException("Cell size must be at least 1.");
+		}
+		this.cellSize = cellSize;
+	}
+
+	public int getCellSize() {
+		return cellSize;
+	}
+
+	/**
+	 * Resize the image. Does nothing if the size has not changed.
+	 *
+	 * @param width - the width in pixels (at least 1).
+	 * @param height - the height in pixels (at least 1).
+	 */
+	public void setSize(int width, int height) {
+		width = Math.max(1, width);
+		height = Math.max(1, height);
+		if (image != null && width == this.width && height == this.height) {
+			return;
+		}
+		this.width = width;
+		this.height = height;
+		this.image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+		this.pixels = ((DataBufferInt) image.getRaster().getDataBuffer()).getData();
+	}
+
+	public int getWidth() {
+		return width;
+	}
+
+	public int getHeight() {
+		return height;
+	}
+
+	/**
+	 * @return the image drawn by the last call to render(...). It is drawn
+	 * over by the next call.
+	 */
+	public BufferedImage getImage() {
+		return image;
+	}
+
+	/**
+	 * Render the circles in a snapshot.
+	 *
+	 * @param snapshot - the snapshot, or null to clear the image.
+	 * @return the image.
+	 */
+	public BufferedImage render(PopulationSnapshot snapshot) {
+		if (snapshot == null) {
+			return render(null, null, null, 0);
+		}
+		return render(snapshot.xs(), snapshot.ys(), snapshot.rs(), snapshot.getCount());
+	}
+
+	/**
+	 * Render count circles, given in world units.
+	 *
+	 * @param x - the x coordinates of the centres.
+	 * @param y - the y coordinates of the centres.
+	 * @param r - the radii.
+	 * @param count - the number of circles.
+	 * @return the image.
+	 */
+	public BufferedImage render(double[] x, double[] y, double[] r, int count) {
+		Arrays.fill(pixels, BACKGROUND);
+		if (count > densityThreshold) {
+			renderDensity(x, y, count);
+		} else {
+			for (int i=0; i<count; ++i) {
+				drawOutline((int) Math.round(x[i] * unitsToPixels),
+						(int) Math.round(y[i] * unitsToPixels),
+						(int) Math.round(r[i] * unitsToPixels));
+			}
+		}
+		return image;
+	}
+
+	private void drawOutline(int cx, int cy, int radius) {
+
+		if (cx + radius < 0 || cx - radius >= width
+				|| cy + radius < 0 || cy - radius >= height) {
+			return;
+		}
+
+		// Midpoint circle algorithm: walk one octant, plotting all eight.
+		int dx = radius;
+		int dy = 0;
+		int err = 1 - radius;
+		while (dx >= dy) {
+			plot(cx + dx, cy + dy);
+			plot(cx - dx, cy + dy);
+			plot(cx + dx, cy - dy);
+			plot(cx - dx, cy - dy);
+			plot(cx + dy, cy + dx);
+			plot(cx - dy, cy + dx);
+			plot(cx + dy, cy - dx);
+			plot(cx - dy, cy - dx);
+			++dy;
+			if (err < 0) {
+				err += 2 * dy + 1;
+			} else {
+				--dx;
+				err += 2 * (dy - dx) + 1;
+			}
+		}
+	}
+
+	private void plot(int px, int py) {
+		if (px >= 0 && px < width && py >= 0 && py < height) {
+			pixels[py * width + px] = OUTLINE;
+		}
+	}
+
+	private void renderDensity(double[] x, double[] y, int count) {
+
+		int cols = (width + cellSize - 1) / cellSize;
+		int rows = (height + cellSize - 1) / cellSize;
+		int cells = cols * rows;
+		if (counts == null || counts.length < cells) {
+			counts = new int[cells];
+		} else {
+			Arrays.fill(counts, 0, cells, 0);
+		}
+
+		double scale = unitsToPixels / cellSize;
+		int max = 0;
+		for (int i=0; i<count; ++i) {
+			int col = (int) Math.floor(x[i] * scale);
+			int row = (int) Math.floor(y[i] * scale);
+			if (col >= 0 && col < cols && row >= 0 && row < rows) {
+				int c = ++counts[row * cols + col];
+				if (c > max) {
+					max = c;
+				}
+			}
+		}
+		if (max == 0) {
+			return;
+		}
+
+		// Map the counts onto the palette on a log scale, so that sparse
+		// cells are still visible next to dense ones.
+		double toIndex = (palette.length - 1) / Math.log(1 + max);
+		for (int row=0; row<rows; ++row) {
+			int y0 = row * cellSize;
+			int y1 = Math.min(height, y0 + cellSize);
+			for (int col=0; col<cols; ++col) {
+				int c = counts[row * cols + col];
+				if (c == 0) {
+					continue;
+				}
+				int colour = palette[(int) (Math.log(1 + c) * toIndex)];
+				int x0 = col * cellSize;
+				int x1 = Math.min(width, x0 + cellSize);
+				for (int py=y0; py<y1; ++py) {
+					Arrays.fill(pixels, py * width + x0, py * width + x1, colour);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Dark blue through cyan to white.
+	 */
+	private static int[] createPalette() {
+		int[] palette = new int[256];
+		for (int i=0; i<256; ++i) {
+			int red = Math.max(0, 2 * i - 256);
+			int green = Math.min(255, 2 * i);
+			int blue = Math.min(255, 64 + i);
+			palette[i] = (red << 16) | (green << 8) | blue;
+		}
+		return palette;
+	}
+
+}
@@ -1,13 +1,12 @@
 package gui;
 
-import geometry.Shape;
-
 import java.awt.Color;
-import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import javax.swing.BoxLayout;
 import javax.swing.JFrame;
 import javax.swing.JPanel;
+import javax.swing.SwingUtilities;
 
 /**
  * 
@@ -18,6 +17,16 @@ public class Renderer extends JFrame {
 	
 	private static final long serialVersionUID = 1L;
 	private EvoCanvas canvas;
+	private BottomLayer botLayer;
+	
+	// Snapshots passed from the algorithm's thread to the event dispatch
+	// thread, and whether an update of the canvas is already queued.
+	private final SnapshotExchange snapshots = new SnapshotExchange();
+	private final AtomicBoolean updateQueued = new AtomicBoolean(false);
+	
+	// Whether the canvas is showing a frame from the history rather than 
+	// the latest shapes. Only used on the event dispatch thread.
+	private boolean replaying;
 	
 	public Renderer(int width, int height, double unitsToPixels){
 		this.setSize(width, height);
@@ -25,7 +34,7 @@ public class Renderer extends JFrame {
 		this.setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
 		
 		canvas = new EvoCanvas(unitsToPixels);
-		BottomLayer botLayer = new BottomLayer();
+		botLayer = new BottomLayer(this);
 		JPanel mainPanel  = new JPanel();
 		
 		/*
@@ -65,8 +74,78 @@ public class Renderer extends JFrame {
 		}
 	}
 	
-	public void renderShapes(List<Shape> shapes){
-		canvas.updateShapes(shapes);
+	/**
+	 * Get the snapshot to fill in with the next frame, then call 
+	 * publishFrame(). Both must only be called by one thread (the 
+	 * algorithm's), but need not be called on the event dispatch thread.
+	 * 
+	 * @return the snapshot to fill in.
+	 */
+	public PopulationSnapshot beginFrame(){
+		return snapshots.getBack();
+	}
+	
+	/**
+	 * Publish the snapshot filled in since beginFrame(). Requests are 
+	 * coalesced: if several frames are published before the event dispatch 
+	 * thread gets round to updating the canvas, only the latest is drawn.
+	 * Nothing is allocated, and the snapshot being drawn is never written to.
+	 */
+	public void publishFrame(){
+		snapshots.publish();
+		
+		if (updateQueued.compareAndSet(false, true)) {
+			SwingUtilities.invokeLater(new Runnable() {
+				@Override
+				public void run() {
+					updateQueued.set(false);
+					if (!replaying) {
+						showSnapshot(snapshots.acquire());
+						botLayer.refresh();
+					}
+				}
+			});
+		}
+	}
+	
+	/**
+	 * Connect the playback controls to a run. May be called from any thread.
+	 * 
+	 * @param history - the history to replay, or null if none is kept.
+	 * @param control - used to pause the run, or null if it can't be paused.
+	 */
+	public void setPlayback(final GenerationHistory history, final PlaybackControl control){
+		SwingUtilities.invokeLater(new Runnable() {
+			@Override
+			public void run() {
+				botLayer.setPlayback(history, control);
+			}
+		});
+	}
+	
+	/**
+	 * Show a frame from the history instead of the published frames, until
+	 * showLive() is called. Must be called on the event dispatch thread.
+	 * 
+	 * @param frame - the frame to draw; must not change until the next 
+	 * frame is shown.
+	 */
+	void showReplay(PopulationSnapshot frame){
+		replaying = true;
+		showSnapshot(frame);
+	}
+	
+	/**
+	 * Go back to showing the published frames. Must be called on the event 
+	 * dispatch thread.
+	 */
+	void showLive(){
+		replaying = false;
+		showSnapshot(snapshots.acquire());
+	}
+	
+	private void showSnapshot(PopulationSnapshot frame){
+		canvas.updateSnapshot(frame);
 		canvas.setExplicitCall(true);
 		canvas.repaint();
 	}
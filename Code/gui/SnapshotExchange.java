@@ -0,0 +1,68 @@
+package gui;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Passes PopulationSnapshots from one writer thread (the algorithm) to one
+ * reader thread (the display) through three reusable buffers, without
+ * locks and without either thread waiting for the other.
+ *
+ * The writer fills in its back buffer and publishes it, which swaps it with
+ * the middle buffer. The reader takes the middle buffer in exchange for its
+ * front buffer, but only when something new has been published, so it
+ * always has the latest complete snapshot and the writer never writes to a
+ * snapshot which is being read. If the writer publishes several times
+ * before the reader looks, the snapshots in between are simply overwritten.
+ *
+ * @author Simon Dicken
+ * @version 2015-02-22
+ */
+public class SnapshotExchange {
+
+	// Only touched by the writer.
+	private PopulationSnapshot back;
+	// Only touched by the reader.
+	private PopulationSnapshot front;
+	private final AtomicReference<PopulationSnapshot> middle;
+
+	public SnapshotExchange() {
+		this.back = new PopulationSnapshot();
+		this.front = new PopulationSnapshot();
+		this.middle = new AtomicReference<PopulationSnapshot>(new PopulationSnapshot());
+	}
+
+	/**
+	 * Writer only.
+	 *
+	 * @return the snapshot to fill in before the next publish().
+	 */
+	public PopulationSnapshot getBack() {
+		return back;
+	}
+
+	/**
+	 * Writer only. Make the back snapshot available to the reader, and take
+	 * another to fill in next time.
+	 */
+	public void publish() {
+		back.fresh = true;
+		back = middle.getAndSet(back);
+		back.fresh = false;
+	}
+
+	/**
+	 * Reader only.
+	 *
+	 * @return the most recently published snapshot, which stays unchanged
+	 * until the next call (an empty one if nothing has been published).
+	 */
+	public PopulationSnapshot acquire() {
+		if (middle.get().fresh) {
+			front = middle.getAndSet(front);
+			// So that it isn't taken again once it is handed back.
+			front.fresh = false;
+		}
+		return front;
+	}
+
+}
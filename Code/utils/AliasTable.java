@@ -0,0 +1,120 @@
+package utils;
+
+/**
+ * Draws indices at random with given (non-negative) weights in constant time,
+ * using Vose's alias method.
+ *
+ * build(...) takes O(n) time and reuses the table's arrays, so a table can be
+ * rebuilt cheaply for each generation. Each index i is then drawn with
+ * probability weights[i] / (sum of the weights); if every weight is zero,
+ * the indices are drawn uniformly.
+ *
+ * @author Simon Dicken
+ * @version 2015-02-22
+ */
+public class AliasTable {
+
+	private double[] prob;
+	private int[] alias;
+	private int[] small;
+	private int[] large;
+	private int size;
+
+	public AliasTable() {
+		allocate(16);
+		this.size = 0;
+	}
+
+	/**
+	 * Rebuilds the table for the first n weights.
+	 *
+	 * @param weights - the weights; each must be finite and not negative.
+	 * @param n - the number of weights to use (at least 1).
+	 */
+	public void build(double[] weights, int n) {
+
+		if (n < 1) {
+			throw new IllegalArgumentException("At least one weight is required.");
+		}
+		if (n > prob.length) {
+			allocate(Math.max(n, 2 * prob.length));
+		}
+		size = n;
+
+		double sum = 0;
+		for (int i=0; i<n; ++i) {
+			sum += weights[i];
+		}
+
+		if (!(sum > 0) || Double.isInfinite(sum)) {
+			for (int i=0; i<n; ++i) {
+				prob[i] = 1;
+				alias[i] = i;
+			}
+			return;
+		}
+
+		// Scale so the mean weight is 1, and split into the indices with
+		// less and more than their share.
+		int numSmall = 0;
+		int numLarge = 0;
+		double scale = n / sum;
+		for (int i=0; i<n; ++i) {
+			prob[i] = weights[i] * scale;
+			alias[i] = i;
+			if (prob[i] < 1) {
+				small[numSmall++] = i;
+			} else {
+				large[numLarge++] = i;
+			}
+		}
+
+		// Top up each small column from a large one.
+		while (numSmall > 0 && numLarge > 0) {
+			int s = small[--numSmall];
+			int l = large[--numLarge];
+			alias[s] = l;
+			prob[l] = (prob[l] + prob[s]) - 1;
+			if (prob[l] < 1) {
+				small[numSmall++] = l;
+			} else {
+				large[numLarge++] = l;
+			}
+		}
+
+		// Whatever is left is (up to rounding) exactly full.
+		while (numLarge > 0) {
+			prob[large[--numLarge]] = 1;
+		}
+		while (numSmall > 0) {
+			prob[small[--numSmall]] = 1;
+		}
+	}
+
+	/**
+	 * Draws an index; uses a single random number.
+	 *
+	 * @param r - the source of random numbers.
+	 * @return an index from 0 to size() - 1.
+	 */
+	public int sample(RandomStream r) {
+		double u = r.nextDouble() * size;
+		int i = (int) u;
+		if (i >= size) {
+			i = size - 1;
+		}
+		return (u - i < prob[i]) ? i : alias[i];
+	}
+
+	public int size() {
+		return size;
+	}
+
+	private void allocate(int capacity) {
+		prob = new double[capacity];
+		alias = new int[capacity];
+		small = new int[capacity];
+		large = new int[capacity];
+	}
+
+}
@@ -1,8 +1,5 @@
 package utils;
 
-import java.util.Arrays;
-import java.util.Random;
-
 /**
  * Class with static methods for random number generation and
  * number manipulation.
@@ -20,49 +17,34 @@ public class NumberUtils {
 	 * @return sorted numbers (double[])
 	 */
 	public static double[] sortAscending(double num1, double num2) {
-		double[] sorted = new double[]{num1, num2};
-		Arrays.sort(sorted);
-		return sorted;
+		if (num2 < num1) {
+			return new double[]{num2, num1};
+		}
+		return new double[]{num1, num2};
 	}
 	
 	/**
 	 * Generates a random int in the range: num1 (inclusive) to num2 (inclusive).
+	 * Uses the calling thread's stream from the default RandomProvider.
 	 * 
 	 * @param num1 (int)
 	 * @param num2 (int)
 	 * @return random int in range (int)
 	 */
 	public static int randomInt(int num1, int num2) {
-		int min = num1;
-		int max = num2;
-		
-		if (num1 > num2) {
-			min = num2;
-			max = num1;
-		}
-		
-		Random r = new Random();
-		return r.nextInt((max - min) + 1) + min; // + 1 for inclusive
+		return RandomProvider.getDefault().current().nextInt(num1, num2);
 	}
 	
 	/**
 	 * Generates a random double in the range: num1 (inclusive) to num2 (inclusive).
+	 * Uses the calling thread's stream from the default RandomProvider.
 	 * 
 	 * @param num1 (double)
 	 * @param num2 (double)
 	 * @return random double in range (double)
 	 */
 	public static double randomDouble(double num1, double num2) {
-		double min = num1;
-		double max = num2;
-		
-		if (num1 > num2) {
-			min = num2;
-			max = num1;
-		}
-		
-		Random r = new Random();
-		return r.nextDouble() * (max - min) + min;
+		return RandomProvider.getDefault().current().nextDouble(num1, num2);
 	}
 	
 	
@@ -0,0 +1,171 @@
+package utils;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Hands out RandomStreams which are all derived from a single master seed.
+ * 
+ * Each thread which asks a provider for its current() stream is given its 
+ * own RandomStream, split from the master stream the first time it asks, so
+ * drawing random numbers never contends on a lock. Components which need a
+ * private, reproducible sequence (e.g. one island of a parallel algorithm) 
+ * should take their own provider with split().
+ * 
+ * A run which only uses the provider from a single thread, and which is 
+ * started from the same seed, is reproduced exactly.
+ * 
+ * @author Martin Wong, Simon Dicken
+ * @version 2015-02-22
+ */
+public class RandomProvider {
+
+	private static volatile RandomProvider defaultProvider = 
+			new RandomProvider(System.nanoTime() ^ 0x5deece66dL);
+	
+	// Overrides the default provider on threads which run a self-contained 
+	// piece of work (e.g. one run of an experiment).
+	private static final ThreadLocal<RandomProvider> threadDefault = 
+			new ThreadLocal<RandomProvider>();
+	
+	/**
+	 * The number of bytes written by saveState(...).
+	 */
+	public static final int STATE_BYTES = 2 * RandomStream.STATE_BYTES;
+	
+	private final long seed;
+	private final RandomStream master;
+	private final ThreadLocal<RandomStream> streams;
+	
+	/**
+	 * Creates a RandomProvider from the given master seed.
+	 * 
+	 * @param seed (long)
+	 */
+	public RandomProvider(long seed) {
+		this.seed = seed;
+		this.master = new RandomStream(seed);
+		this.streams = new ThreadLocal<RandomStream>() {
+			@Override
+			protected RandomStream initialValue() {
+				return newStream();
+			}
+		};
+	}
+	
+	/**
+	 * Returns the RandomStream owned by the calling thread. The stream must 
+	 * not be passed to other threads.
+	 * 
+	 * @return the calling thread's RandomStream (RandomStream)
+	 */
+	public RandomStream current() {
+		return streams.get();
+	}
+	
+	/**
+	 * Creates a new RandomStream split from the master stream.
+	 * 
+	 * @return a new RandomStream (RandomStream)
+	 */
+	public RandomStream newStream() {
+		synchronized (master) {
+			return master.split();
+		}
+	}
+	
+	/**
+	 * Creates a new RandomProvider whose master seed is drawn from this 
+	 * provider's master stream.
+	 * 
+	 * @return a new RandomProvider (RandomProvider)
+	 */
+	public RandomProvider split() {
+		synchronized (master) {
+			return new RandomProvider(master.nextLong());
+		}
+	}
+	
+	/**
+	 * Writes the state of the master stream and of the calling thread's 
+	 * stream to the buffer. The streams of other threads are not saved.
+	 * 
+	 * @param buf - the buffer to write STATE_BYTES bytes to.
+	 */
+	public void saveState(ByteBuffer buf) {
+		synchronized (master) {
+			master.saveState(buf);
+		}
+		current().saveState(buf);
+	}
+	
+	/**
+	 * Replaces the state of the master stream and of the calling thread's 
+	 * stream with one written by saveState(...). A single-threaded run 
+	 * which is restored on the thread that will continue it then draws the
+	 * same numbers as the saved run would have done.
+	 * 
+	 * @param buf - the buffer to read STATE_BYTES bytes from.
+	 */
+	public void restoreState(ByteBuffer buf) {
+		// Create the calling thread's stream (which splits the master) 
+		// before the master is restored.
+		RandomStream stream = current();
+		synchronized (master) {
+			master.restoreState(buf);
+		}
+		stream.restoreState(buf);
+	}
+	
+	/**
+	 * Returns the master seed this provider was created with.
+	 * 
+	 * @return the master seed (long)
+	 */
+	public long getSeed() {
+		return seed;
+	}
+	
+	/**
+	 * Returns the provider used by components which have not been given one
+	 * explicitly (including the static methods of NumberUtils). 
+	 * This is the calling thread's own default, if it has been given one 
+	 * with setThreadDefault(...); otherwise the global default, which is
+	 * seeded from the clock unless setDefault(...) is called.
+	 * 
+	 * @return the default RandomProvider (RandomProvider)
+	 */
+	public static RandomProvider getDefault() {
+		RandomProvider provider = threadDefault.get();
+		return (provider != null) ? provider : defaultProvider;
+	}
+	
+	/**
+	 * Replace the default provider on the calling thread only, so that 
+	 * several seeded runs can share a JVM (each on its own thread) and 
+	 * still be reproduced exactly.
+	 * 
+	 * @param provider - the provider, or null to go back to the global 
+	 * default.
+	 */
+	public static void setThreadDefault(RandomProvider provider) {
+		if (provider == null) {
+			threadDefault.remove();
+		} else {
+			threadDefault.set(provider);
+		}
+	}
+	
+	/**
+	 * Replace the default provider, e.g. with a seeded one so that a run can
+	 * be reproduced.
+	 * 
+	 * @param provider (RandomProvider)
+	 */
+	public static void setDefault(RandomProvider provider) {
+		if (provider == null) {
+			throw new IllegalArgumentException("provider must not be null.");
+		}
+		defaultProvider = provider;
+	}
+	
+}
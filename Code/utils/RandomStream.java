@@ -0,0 +1,218 @@
+package utils;
+
+import java.nio.ByteBuffer;
+
+/**
+ * A fast, splittable pseudo-random number generator (SplitMix64, the 
+ * algorithm behind java.util.SplittableRandom).
+ * 
+ * A RandomStream is not thread-safe, and is intended to be owned by a single
+ * thread. Independent streams for other threads (or islands, workers etc.) 
+ * are created with split(). None of the methods allocate.
+ * 
+ * @author Martin Wong, Simon Dicken
+ * @version 2015-02-22
+ */
+public class RandomStream {
+
+	private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+	private static final double DOUBLE_UNIT = 0x1.0p-53;
+	
+	/**
+	 * The number of bytes written by saveState(...).
+	 */
+	public static final int STATE_BYTES = 8 + 8 + 8 + 1;
+	
+	private long seed;
+	private long gamma;
+	
+	// The second value produced by the polar method, if it has not been used.
+	private double nextGaussian;
+	private boolean haveNextGaussian;
+	
+	/**
+	 * Creates a RandomStream from the given seed. Two streams created with 
+	 * the same seed produce the same sequence of values.
+	 * 
+	 * @param seed (long)
+	 */
+	public RandomStream(long seed) {
+		this(seed, GOLDEN_GAMMA);
+	}
+	
+	private RandomStream(long seed, long gamma) {
+		this.seed = seed;
+		this.gamma = gamma;
+		this.haveNextGaussian = false;
+	}
+	
+	/**
+	 * Creates a new RandomStream which is statistically independent of this
+	 * one. This stream is advanced as a result.
+	 * 
+	 * @return a new RandomStream (RandomStream)
+	 */
+	public RandomStream split() {
+		return new RandomStream(nextLong(), mixGamma(nextSeed()));
+	}
+	
+	/**
+	 * Generates a random long.
+	 * 
+	 * @return random long (long)
+	 */
+	public long nextLong() {
+		return mix64(nextSeed());
+	}
+	
+	/**
+	 * Generates a random double in the range: 0 (inclusive) to 1 (exclusive).
+	 * 
+	 * @return random double in range (double)
+	 */
+	public double nextDouble() {
+		return (nextLong() >>> 11) * DOUBLE_UNIT;
+	}
+	
+	/**
+	 * Generates a random double in the range: num1 (inclusive) to num2 
+	 * (exclusive). The arguments may be given in either order.
+	 * 
+	 * @param num1 (double)
+	 * @param num2 (double)
+	 * @return random double in range (double)
+	 */
+	public double nextDouble(double num1, double num2) {
+		double min = Math.min(num1, num2);
+		double max = Math.max(num1, num2);
+		return nextDouble() * (max - min) + min;
+	}
+	
+	/**
+	 * Generates a random int in the range: 0 (inclusive) to bound (exclusive).
+	 * 
+	 * @param bound (int)
+	 * @return random int in range (int)
+	 * @throws IllegalArgumentException - if bound is not positive.
+	 */
+	public int nextInt(int bound) {
+		if (bound <= 0) {
+			throw new IllegalArgumentException("bound must be positive.");
+		}
+		
+		int r = mix32(nextSeed());
+		int m = bound - 1;
+		if ((bound & m) == 0) {
+			// Power of two.
+			return r & m;
+		}
+		
+		// Reject values from the incomplete final interval to avoid bias.
+		int u = r >>> 1;
+		while (u + m - (r = u % bound) < 0) {
+			u = mix32(nextSeed()) >>> 1;
+		}
+		return r;
+	}
+	
+	/**
+	 * Generates a random int in the range: num1 (inclusive) to num2 
+	 * (inclusive). The arguments may be given in either order.
+	 * 
+	 * @param num1 (int)
+	 * @param num2 (int)
+	 * @return random int in range (int)
+	 */
+	public int nextInt(int num1, int num2) {
+		int min = Math.min(num1, num2);
+		int max = Math.max(num1, num2);
+		return nextInt((max - min) + 1) + min; // + 1 for inclusive
+	}
+	
+	/**
+	 * Generates a random boolean.
+	 * 
+	 * @return random boolean (boolean)
+	 */
+	public boolean nextBoolean() {
+		return mix32(nextSeed()) < 0;
+	}
+	
+	/**
+	 * Generates a normally distributed random double, with mean 0 and 
+	 * standard deviation 1 (Marsaglia polar method).
+	 * 
+	 * @return random Gaussian double (double)
+	 */
+	public double nextGaussian() {
+		if (haveNextGaussian) {
+			haveNextGaussian = false;
+			return nextGaussian;
+		}
+		
+		double v1;
+		double v2;
+		double s;
+		do {
+			v1 = 2 * nextDouble() - 1;
+			v2 = 2 * nextDouble() - 1;
+			s = v1 * v1 + v2 * v2;
+		} while (s >= 1 || s == 0);
+		
+		double multiplier = Math.sqrt(-2 * Math.log(s) / s);
+		nextGaussian = v2 * multiplier;
+		haveNextGaussian = true;
+		return v1 * multiplier;
+	}
+	
+	/**
+	 * Writes the complete state of this stream to the buffer, so that the 
+	 * sequence can later be continued with restoreState(...).
+	 * 
+	 * @param buf - the buffer to write STATE_BYTES bytes to.
+	 */
+	public void saveState(ByteBuffer buf) {
+		buf.putLong(seed);
+		buf.putLong(gamma);
+		buf.putDouble(nextGaussian);
+		buf.put((byte) (haveNextGaussian ? 1 : 0));
+	}
+	
+	/**
+	 * Replaces the state of this stream with one written by saveState(...);
+	 * the stream then produces the same values as the saved stream would 
+	 * have done.
+	 * 
+	 * @param buf - the buffer to read STATE_BYTES bytes from.
+	 */
+	public void restoreState(ByteBuffer buf) {
+		seed = buf.getLong();
+		gamma = buf.getLong();
+		nextGaussian = buf.getDouble();
+		haveNextGaussian = (buf.get() != 0);
+	}
+	
+	private long nextSeed() {
+		return seed += gamma;
+	}
+	
+	private static long mix64(long z) {
+		z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+		z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+		return z ^ (z >>> 31);
+	}
+	
+	private static int mix32(long z) {
+		z = (z ^ (z >>> 33)) * 0x62a9d9ed799705f5L;
+		return (int) (((z ^ (z >>> 28)) * 0xcb24d0a5c88c35b3L) >>> 32);
+	}
+	
+	private static long mixGamma(long z) {
+		z = (z ^ (z >>> 33)) * 0xff51afd7ed558ccdL;
+		z = (z ^ (z >>> 33)) * 0xc4ceb9fe1a85ec53L;
+		z = (z ^ (z >>> 33)) | 1L;
+		int n = Long.bitCount(z ^ (z >>> 1));
+		return (n < 24) ? z ^ 0xaaaaaaaaaaaaaaaaL : z;
+	}
+	
+}
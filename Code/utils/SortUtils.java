@@ -0,0 +1,137 @@
+package utils;
+
+/**
+ * Class with static methods for sorting primitive arrays.
+ *
+ * The methods in this class sort an array of indices by the values those
+ * indices refer to in a separate array of keys, so parallel arrays of data
+ * can be ordered without moving (or boxing) the data itself.
+ *
+ * @author Simon Dicken
+ * @version 2015-02-22
+ */
+public class SortUtils {
+
+	// Ranges smaller than this are sorted with an insertion sort.
+	private static final int INSERTION_THRESHOLD = 16;
+
+	/**
+	 * Sort the indices in idx[from] to idx[to - 1] into ascending order of
+	 * keys[idx[i]]. The keys array is not modified.
+	 *
+	 * @param idx - the indices to sort (int[])
+	 * @param keys - the sort key of each index (double[])
+	 * @param from - the first position to sort, inclusive (int)
+	 * @param to - the last position to sort, exclusive (int)
+	 */
+	public static void sortIndices(int[] idx, double[] keys, int from, int to) {
+
+		int lo = from;
+		int hi = to - 1;
+
+		while (hi - lo >= INSERTION_THRESHOLD) {
+			int p = partition(idx, keys, lo, hi);
+
+			// Recurse into the smaller side to bound the stack depth.
+			if (p - lo < hi - p) {
+				sortIndices(idx, keys, lo, p + 1);
+				lo = p + 1;
+			} else {
+				sortIndices(idx, keys, p + 1, hi + 1);
+				hi = p;
+			}
+		}
+
+		insertionSort(idx, keys, lo, hi);
+	}
+
+	/**
+	 * Partially order the indices in idx[from] to idx[to - 1] so that the k 
+	 * indices with the largest keys occupy positions (to - k) to (to - 1), 
+	 * in no particular order. Runs in expected O(n) time (quickselect).
+	 * 
+	 * @param idx - the indices to partition (int[])
+	 * @param keys - the sort key of each index (double[])
+	 * @param from - the first position to consider, inclusive (int)
+	 * @param to - the last position to consider, exclusive (int)
+	 * @param k - the number of largest keys to move to the end (int)
+	 */
+	public static void selectTop(int[] idx, double[] keys, int from, int to, int k) {
+		
+		int target = to - k;
+		if (k <= 0 || target <= from) {
+			return;
+		}
+		
+		int lo = from;
+		int hi = to - 1;
+		
+		while (hi - lo >= INSERTION_THRESHOLD) {
+			int p = partition(idx, keys, lo, hi);
+			if (target <= p) {
+				hi = p;
+			} else {
+				lo = p + 1;
+			}
+		}
+		
+		insertionSort(idx, keys, lo, hi);
+	}
+
+	/*
+	 * Hoare partition around a median-of-three pivot. On return every key in 
+	 * [lo, p] is <= every key in [p + 1, hi]. Runs of equal keys are split 
+	 * evenly, so a converged population (many equal fitness values) does not 
+	 * degrade to quadratic time.
+	 */
+	private static int partition(int[] idx, double[] keys, int lo, int hi) {
+
+		int mid = (lo + hi) >>> 1;
+		if (keys[idx[mid]] < keys[idx[lo]]) {
+			swap(idx, mid, lo);
+		}
+		if (keys[idx[hi]] < keys[idx[lo]]) {
+			swap(idx, hi, lo);
+		}
+		if (keys[idx[hi]] < keys[idx[mid]]) {
+			swap(idx, hi, mid);
+		}
+		double pivot = keys[idx[mid]];
+
+		int i = lo - 1;
+		int j = hi + 1;
+		while (true) {
+			do {
+				++i;
+			} while (keys[idx[i]] < pivot);
+			do {
+				--j;
+			} while (keys[idx[j]] > pivot);
+
+			if (i >= j) {
+				return j;
+			}
+			swap(idx, i, j);
+		}
+	}
+
+	private static void insertionSort(int[] idx, double[] keys, int lo, int hi) {
+		for (int i=lo+1; i<=hi; ++i) {
+			int value = idx[i];
+			double key = keys[value];
+			int j = i - 1;
+			while (j >= lo && keys[idx[j]] > key) {
+				idx[j + 1] = idx[j];
+				--j;
+			}
+			idx[j + 1] = value;
+		}
+	}
+
+	private static void swap(int[] idx, int i, int j) {
+		int tmp = idx[i];
+		idx[i] = idx[j];
+		idx[j] = tmp;
+	}
+
+}
@@ -0,0 +1,59 @@
+package utils;
+
+/**
+ * Loads the optional SIMD kernels.
+ * 
+ * The kernels written against the jdk.incubator.vector module live in a 
+ * separate source folder (../Vector), since they need a recent JDK and the 
+ * --add-modules jdk.incubator.vector flag both to compile and to run. 
+ * They are therefore only ever referred to by name: if the class is not on
+ * the classpath, or the module is not present at run time, the scalar 
+ * kernel is used instead.
+ * 
+ * Setting the system property ec.vector to false forces the scalar kernels.
+ * 
+ * @author Simon Dicken
+ * @version 2015-02-22
+ */
+public class VectorSupport {
+
+	private static final String PROPERTY = "ec.vector";
+	
+	private VectorSupport() {
+	}
+	
+	/**
+	 * Create an instance of the named SIMD kernel if possible.
+	 * 
+	 * @param type - the kernel interface.
+	 * @param className - the fully qualified name of the SIMD implementation.
+	 * @param fallback - the (scalar) kernel to use if the SIMD one cannot be 
+	 * loaded.
+	 * @return the SIMD kernel, or the fallback.
+	 */
+	public static <K> K load(Class<K> type, String className, K fallback) {
+		
+		if (!isEnabled()) {
+			return fallback;
+		}
+		
+		try {
+			Class<?> c = Class.forName(className);
+			return type.cast(c.getDeclaredConstructor().newInstance());
+		} catch (Exception e) {
+			return fallback;
+		} catch (LinkageError e) {
+			// The class is present but jdk.incubator.vector is not.
+			return fallback;
+		}
+	}
+	
+	/**
+	 * @return false if the SIMD kernels have been disabled with the ec.vector
+	 * system property.
+	 */
+	public static boolean isEnabled() {
+		return !"false".equalsIgnoreCase(System.getProperty(PROPERTY));
+	}
+	
+}
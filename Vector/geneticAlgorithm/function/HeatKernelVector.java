@@ -0,0 +1,62 @@
+package geneticAlgorithm.function;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * A HeatKernel using the jdk.incubator.vector API, so the arithmetic is done
+ * several circles at a time in SIMD lanes (e.g. 4 doubles with AVX2, 8 with
+ * AVX-512). The operations are the same IEEE operations, in the same order,
+ * as HeatKernelScalar, so the results are identical.
+ * 
+ * Loaded by name through utils.VectorSupport; requires
+ * --add-modules jdk.incubator.vector to compile and run.
+ * 
+ * @author Simon Dicken
+ * @version 2015-02-22
+ */
+public class HeatKernelVector implements HeatKernel {
+
+	private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+	
+	private final HeatKernelScalar tail = new HeatKernelScalar();
+	
+	@Override
+	public void fitness(double[] heat, double[] fitness, int from, int to,
+			double globalTemp, double optimumTemp) {
+		
+		int i = from;
+		int bound = from + SPECIES.loopBound(to - from);
+		
+		for (; i<bound; i+=SPECIES.length()) {
+			DoubleVector h = DoubleVector.fromArray(SPECIES, heat, i);
+			store(h, fitness, i, globalTemp, optimumTemp);
+		}
+		
+		tail.fitness(heat, fitness, i, to, globalTemp, optimumTemp);
+	}
+
+	@Override
+	public void fitnessFromRadii(double[] radii, double[] fitness, int from,
+			int to, double globalTemp, double optimumTemp) {
+		
+		int i = from;
+		int bound = from + SPECIES.loopBound(to - from);
+		
+		for (; i<bound; i+=SPECIES.length()) {
+			DoubleVector r = DoubleVector.fromArray(SPECIES, radii, i);
+			DoubleVector area = r.mul(r).mul(Math.PI);
+			store(area, fitness, i, globalTemp, optimumTemp);
+		}
+		
+		tail.fitnessFromRadii(radii, fitness, i, to, globalTemp, optimumTemp);
+	}
+	
+	private static void store(DoubleVector heat, double[] fitness, int i, 
+			double globalTemp, double optimumTemp) {
+		DoubleVector temp = heat.div(5).add(globalTemp);
+		DoubleVector f = DoubleVector.broadcast(SPECIES, 50.0).div(temp.sub(optimumTemp).abs());
+		f.intoArray(fitness, i);
+	}
+	
+}
@@ -0,0 +1,54 @@
+package geometry;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * A BoundsKernel using the jdk.incubator.vector API: the six comparisons 
+ * are made for several circles at once and combined into a single mask.
+ * 
+ * Loaded by name through utils.VectorSupport; requires
+ * --add-modules jdk.incubator.vector to compile and run.
+ * 
+ * @author Simon Dicken
+ * @version 2015-02-22
+ */
+public class BoundsKernelVector implements BoundsKernel {
+
+	private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+	
+	private final BoundsKernelScalar tail = new BoundsKernelScalar();
+	
+	@Override
+	public int check(double[] x, double[] y, double[] radius, int count,
+			double minX, double minY, double maxX, double maxY, 
+			double minR, double maxR, boolean[] valid) {
+		
+		int numValid = 0;
+		int i = 0;
+		int bound = SPECIES.loopBound(count);
+		
+		for (; i<bound; i+=SPECIES.length()) {
+			DoubleVector vx = DoubleVector.fromArray(SPECIES, x, i);
+			DoubleVector vy = DoubleVector.fromArray(SPECIES, y, i);
+			DoubleVector vr = DoubleVector.fromArray(SPECIES, radius, i);
+			
+			VectorMask<Double> ok = vx.sub(vr).compare(VectorOperators.GE, minX)
+					.and(vx.add(vr).compare(VectorOperators.LE, maxX))
+					.and(vy.sub(vr).compare(VectorOperators.GE, minY))
+					.and(vy.add(vr).compare(VectorOperators.LE, maxY))
+					.and(vr.compare(VectorOperators.GE, minR))
+					.and(vr.compare(VectorOperators.LE, maxR));
+			
+			ok.intoArray(valid, i);
+			numValid += ok.trueCount();
+		}
+		
+		numValid += tail.check(x, y, radius, i, count, minX, minY, maxX, maxY, 
+				minR, maxR, valid);
+		return numValid;
+	}
+
+}